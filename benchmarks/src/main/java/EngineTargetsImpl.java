@@ -0,0 +1,80 @@
+import bench.EngineTargets;
+
+/**
+ * This is the implementation of the targets of the benchmarks, which calls the engine in the default package
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class EngineTargetsImpl implements EngineTargets {
+
+    // The game the benchmarks run on
+    private Game game;
+    // The board the mines are placed on, without the rest of the game
+    private Board board;
+    // The field the prepared round is revealed from, which is a free field
+    private int freeField;
+
+    @Override
+    public void setUp(int mapHeight, int mapWidth, double density, long seed) {
+        int amountOfMines = (int) Math.min((long) mapHeight * mapWidth - 1, Math.round(mapHeight * mapWidth * density));
+        game = new Game(mapHeight, mapWidth, amountOfMines, amountOfMines, seed);
+        // the benchmarks measure the engine, not the histograms and the flight recorder events
+        game.setInstrumented(false);
+        game.walkOnField(mapHeight / 2, mapWidth / 2);
+        board = new Board(mapHeight, mapWidth, amountOfMines);
+        board.placeMinesRandomly(seed);
+    }
+
+    @Override
+    public long placeMinesRandomly(long seed) {
+        board.clear();
+        board.placeMinesRandomly(seed);
+        return board.isMine(0) ? 1 : 0;
+    }
+
+    @Override
+    public long calculateFreeFields() {
+        board.calculateNeighbourCounts();
+        return board.getNeighbourCount(board.getSize() / 2);
+    }
+
+    @Override
+    public void prepareReveal(long seed) {
+        game.startNewGame(seed);
+        game.placeMinesAfterClick(0, 0, seed);
+        // the first free field is searched for, so the reveal opens a whole area instead of a single number
+        Board board = game.getBoard();
+        freeField = 0;
+        for (int field = 0; field < board.getSize(); field++) {
+            if (!board.isMine(field) && board.getNeighbourCount(field) == 0) {
+                freeField = field;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public int revealAdjacentFreeCells() {
+        game.walkOnField(freeField / game.getMapWidth(), freeField % game.getMapWidth());
+        return game.getRevealedCount();
+    }
+
+    @Override
+    public boolean checkIfFinished() {
+        return game.checkIfFinished();
+    }
+
+    @Override
+    public int showOrHideHint() {
+        game.showOrHideHint(true);
+        int revealedCount = game.getRevealedCount();
+        game.showOrHideHint(false);
+        return revealedCount;
+    }
+
+    @Override
+    public int toFieldContent(int count) {
+        return FieldContent.toFieldContent(count).ordinal();
+    }
+}
@@ -0,0 +1,80 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is the class for the benchmarks of the engine methods, that run on a game in the middle of a round
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    // The size of the map, given as height x width
+    @Param({"9x9", "16x30", "1000x1000"})
+    public String size;
+    // The share of the fields with a mine on them
+    @Param({"0.12", "0.2"})
+    public double density;
+
+    // The engine the benchmarks run on
+    private EngineTargets targets;
+    // The seed of the next placement, so every placement places other mines
+    private long seed;
+    // The count that is turned into a field-content next
+    private int count;
+
+    /**
+     * This method creates the game the benchmarks run on
+     */
+    @Setup
+    public void setUp() {
+        String[] heightAndWidth = size.split("x");
+        targets = EngineTargets.load();
+        targets.setUp(Integer.parseInt(heightAndWidth[0]), Integer.parseInt(heightAndWidth[1]), density, 42);
+    }
+
+    @Benchmark
+    public long placeMinesRandomly() {
+        return targets.placeMinesRandomly(seed++);
+    }
+
+    @Benchmark
+    public long calculateFreeFields() {
+        return targets.calculateFreeFields();
+    }
+
+    @Benchmark
+    public boolean checkIfFinished() {
+        return targets.checkIfFinished();
+    }
+
+    @Benchmark
+    public int showOrHideHint() {
+        return targets.showOrHideHint();
+    }
+
+    @Benchmark
+    public int toFieldContent() {
+        count = count == 8 ? 0 : count + 1;
+        return targets.toFieldContent(count);
+    }
+}
@@ -0,0 +1,85 @@
+package bench;
+
+import java.util.ServiceLoader;
+
+/**
+ * This is the interface the benchmarks call the engine through
+ * JMH doesn't allow benchmarks in the default package and classes of a named package can't use the classes of the default package,
+ * so the engine is called through this interface, which is implemented by EngineTargetsImpl in the default package and loaded as a service
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public interface EngineTargets {
+
+    /**
+     * This method creates a game with the given size and density, the first round is started with the given seed
+     *
+     * @param mapHeight The height of the map
+     * @param mapWidth  The width of the map
+     * @param density   The share of the fields with a mine on them
+     * @param seed      The seed of the first round
+     */
+    void setUp(int mapHeight, int mapWidth, double density, long seed);
+
+    /**
+     * This method places the mines for the given seed on a cleared board
+     *
+     * @param seed The seed
+     * @return A value depending on the mines, so the placement can't be optimized away
+     */
+    long placeMinesRandomly(long seed);
+
+    /**
+     * This method calculates the counts of every field from the mines that were placed
+     *
+     * @return A value depending on the counts, so the calculation can't be optimized away
+     */
+    long calculateFreeFields();
+
+    /**
+     * This method starts a new round with the given seed and places the mines, so the next reveal opens a whole area
+     *
+     * @param seed The seed
+     */
+    void prepareReveal(long seed);
+
+    /**
+     * This method steps on a free field of the prepared round, which reveals the whole area of adjacent free fields
+     *
+     * @return The amount of revealed fields
+     */
+    int revealAdjacentFreeCells();
+
+    /**
+     * This method checks whether or not the round is won
+     *
+     * @return Whether or not every safe field is revealed
+     */
+    boolean checkIfFinished();
+
+    /**
+     * This method shows a hint and hides it again
+     *
+     * @return The amount of revealed fields while the hint is shown
+     */
+    int showOrHideHint();
+
+    /**
+     * This method turns the given count into its field-content
+     *
+     * @param count The count
+     * @return The ordinal of the field-content
+     */
+    int toFieldContent(int count);
+
+    /**
+     * This method loads the implementation in the default package, which is registered as a service in META-INF/services
+     *
+     * @return The implementation
+     */
+    static EngineTargets load() {
+        return ServiceLoader.load(EngineTargets.class).findFirst()
+                .orElseThrow(() -> new IllegalStateException("EngineTargetsImpl is missing from the classpath"));
+    }
+}
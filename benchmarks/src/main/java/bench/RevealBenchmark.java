@@ -0,0 +1,67 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is the class for the benchmark of revealing a whole area of free fields with a single step
+ * Every step needs a new round, which is prepared outside of the measured time
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevealBenchmark {
+
+    // The size of the map, given as height x width
+    @Param({"16x30", "100x100", "1000x1000"})
+    public String size;
+    // The share of the fields with a mine on them
+    @Param({"0.05", "0.12"})
+    public double density;
+
+    // The engine the benchmark runs on
+    private EngineTargets targets;
+    // The seed of the next round
+    private long seed;
+
+    /**
+     * This method creates the game the benchmark runs on
+     */
+    @Setup
+    public void setUp() {
+        String[] heightAndWidth = size.split("x");
+        targets = EngineTargets.load();
+        targets.setUp(Integer.parseInt(heightAndWidth[0]), Integer.parseInt(heightAndWidth[1]), density, 42);
+    }
+
+    /**
+     * This method prepares a new round before every step
+     */
+    @Setup(Level.Invocation)
+    public void prepareRound() {
+        targets.prepareReveal(seed++);
+    }
+
+    @Benchmark
+    public int revealAdjacentFreeCells() {
+        return targets.revealAdjacentFreeCells();
+    }
+}
@@ -0,0 +1,1017 @@
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This is the class for the compact storage of a map
+ * Every field is stored as a bit in the mine, revealed and flag planes and as four bits in the neighbour-count plane,
+ * so a map only needs a little more than two bytes per field, no matter how big it is
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class Board {
+
+    /**
+     * The amount of fields stored in one word of a bit plane
+     */
+    private static final int FIELDS_PER_WORD = 64;
+    /**
+     * The amount of fields stored in one word of the neighbour-count plane
+     */
+    private static final int COUNTS_PER_WORD = 16;
+    /**
+     * The amount of bits a single neighbour-count takes up
+     */
+    private static final int BITS_PER_COUNT = 4;
+    /**
+     * The mask of a single neighbour-count
+     */
+    private static final long COUNT_MASK = 0xFL;
+    /**
+     * The amount of words of the mine plane a single task calculates the counts of at most, when they are calculated in parallel
+     */
+    private static final int PARALLEL_COUNT_WORDS = 1 << 14;
+
+    /**
+     * The height of the map
+     */
+    private final int height;
+    /**
+     * The width of the map
+     */
+    private final int width;
+    /**
+     * The amount of mines on the map
+     */
+    private final int amountOfMines;
+    /**
+     * The amount of fields on the map
+     */
+    private final int size;
+    /**
+     * The plane that has a bit set for every field with a mine on it
+     */
+    private final long[] mines;
+    /**
+     * The plane that has a bit set for every field the player can see
+     */
+    private final long[] revealed;
+    /**
+     * The plane that has a bit set for every field with a flag on it
+     */
+    private final long[] flags;
+    /**
+     * The plane that holds the amount of adjacent mines for every field
+     */
+    private final long[] counts;
+    /**
+     * The plane that has a bit set for every word of the mine plane, whose counts are calculated, or null if every count is always calculated
+     */
+    private long[] countedWords;
+    /**
+     * The amount of fields that are revealed, kept up to date with the revealed plane
+     */
+    private int revealedCount;
+    /**
+     * The amount of fields without a mine, that are revealed, which decides whether or not the round is won
+     */
+    private int revealedSafeCount;
+    /**
+     * The amount of fields with a flag on them, kept up to date with the flag plane
+     */
+    private int flaggedCount;
+    /**
+     * Whether or not the changed fields are collected
+     */
+    private boolean trackingChanges;
+    /**
+     * The plane that has a bit set for every field that changed since the changes were cleared the last time
+     */
+    private long[] changed;
+    /**
+     * The indices of the fields that changed, in the order they changed in
+     */
+    private int[] changedFields = new int[64];
+    /**
+     * The amount of fields that changed
+     */
+    private int changedCount;
+    /**
+     * Whether or not the whole map changed at once
+     */
+    private boolean allChanged;
+    /**
+     * The history every flipped revealed and flag bit is recorded in, or null if the moves can't be undone
+     */
+    private MoveHistory history;
+    /**
+     * The set of the fields without a mine, that aren't revealed yet, or null until a hint needs it
+     */
+    private SafeCellIndex safeCells;
+    /**
+     * Whether or not the set of the fields without a mine has to be collected from the planes again, since many fields changed at once
+     */
+    private boolean safeCellsStale;
+
+    /**
+     * This is the constructor method, which creates an empty map
+     *
+     * @param height        The height of the map
+     * @param width         The width of the map
+     * @param amountOfMines The amount of mines that are getting placed on the map
+     */
+    public Board(int height, int width, int amountOfMines) {
+        this.height = height;
+        this.width = width;
+        this.amountOfMines = amountOfMines;
+        this.size = height * width;
+        int planeLength = (size + FIELDS_PER_WORD - 1) / FIELDS_PER_WORD;
+        mines = new long[planeLength];
+        revealed = new long[planeLength];
+        flags = new long[planeLength];
+        counts = new long[(size + COUNTS_PER_WORD - 1) / COUNTS_PER_WORD];
+    }
+
+    /**
+     * This method removes every mine, flag, number and revealed field from the map
+     */
+    public void clear() {
+        Arrays.fill(mines, 0L);
+        Arrays.fill(revealed, 0L);
+        Arrays.fill(flags, 0L);
+        Arrays.fill(counts, 0L);
+        if (countedWords != null) {
+            Arrays.fill(countedWords, 0L);
+        }
+        revealedCount = 0;
+        revealedSafeCount = 0;
+        flaggedCount = 0;
+        safeCellsStale = true;
+        markAllChanged();
+    }
+
+    // coordinate methods
+
+    /**
+     * This method turns the given coordinates into the index of the field in the planes
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The index of the field
+     */
+    public int toIndex(int x, int y) {
+        return x * width + y;
+    }
+
+    /**
+     * This method checks, whether or not a given coordinate is on the map or not
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return Is in bounds
+     */
+    public boolean isInBounds(int x, int y) {
+        boolean outOfBoundsHeight = x < 0 || x > height - 1;
+        boolean outOfBoundsWidth = y < 0 || y > width - 1;
+        return !outOfBoundsHeight && !outOfBoundsWidth;
+    }
+
+    // plane methods
+
+    /**
+     * This method checks, whether or not a mine is on the field with the given index
+     *
+     * @param index The index of the field
+     * @return Whether or not a mine is on the field
+     */
+    public boolean isMine(int index) {
+        return (mines[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method places a mine on the field with the given index
+     *
+     * @param index The index of the field
+     */
+    public void placeMine(int index) {
+        if (isRevealed(index) && !isMine(index)) {
+            revealedSafeCount--;
+        }
+        mines[index >>> 6] |= 1L << index;
+        if (isTrackingSafeCells()) {
+            safeCells.remove(index);
+        }
+    }
+
+    /**
+     * This method checks, whether or not the field with the given index can be seen by the player
+     *
+     * @param index The index of the field
+     * @return Whether or not the field is revealed
+     */
+    public boolean isRevealed(int index) {
+        return (revealed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method reveals or hides the field with the given index
+     *
+     * @param index    The index of the field
+     * @param revealed Whether the field is getting revealed or hidden
+     */
+    public void setRevealed(int index, boolean revealed) {
+        // the counter is only changed, if the bit actually changes
+        if (revealed != isRevealed(index)) {
+            // the count of a revealed field is read over and over, so it is calculated in the plane, while the board is changed anyway
+            if (revealed) {
+                ensureCounted(index);
+            }
+            this.revealed[index >>> 6] ^= 1L << index;
+            revealedCount += revealed ? 1 : -1;
+            if (!isMine(index)) {
+                revealedSafeCount += revealed ? 1 : -1;
+            }
+            markChanged(index);
+            if (isTrackingSafeCells() && !isMine(index)) {
+                if (revealed) {
+                    safeCells.remove(index);
+                } else {
+                    safeCells.add(index);
+                }
+            }
+            if (history != null) {
+                history.recordRevealed(index);
+            }
+        }
+    }
+
+    /**
+     * This method checks, whether or not a flag is placed on the field with the given index
+     *
+     * @param index The index of the field
+     * @return Whether or not a flag is on the field
+     */
+    public boolean isFlagged(int index) {
+        return (flags[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method places or removes the flag on the field with the given index
+     *
+     * @param index   The index of the field
+     * @param flagged Whether the flag is getting placed or removed
+     */
+    public void setFlagged(int index, boolean flagged) {
+        // the counter is only changed, if the bit actually changes
+        if (flagged != isFlagged(index)) {
+            flags[index >>> 6] ^= 1L << index;
+            flaggedCount += flagged ? 1 : -1;
+            markChanged(index);
+            if (history != null) {
+                history.recordFlagged(index);
+            }
+        }
+    }
+
+    /**
+     * This method gives back the amount of mines adjacent to the field with the given index
+     * Reading a count never changes the board, a count that isn't calculated yet is counted from the mines around the field instead,
+     * so the board can be read without being changed, only the methods that change the board calculate the counts of the lazy plane
+     *
+     * @param index The index of the field
+     * @return The amount of adjacent mines
+     */
+    public int getNeighbourCount(int index) {
+        if (!isCounted(index)) {
+            return countAdjacentMines(index);
+        }
+        return (int) ((counts[index / COUNTS_PER_WORD] >>> ((index % COUNTS_PER_WORD) * BITS_PER_COUNT)) & COUNT_MASK);
+    }
+
+    /**
+     * This method checks, whether or not the count of the field with the given index is calculated in the neighbour-count plane
+     *
+     * @param index The index of the field
+     * @return Whether or not the count is calculated
+     */
+    private boolean isCounted(int index) {
+        return countedWords == null || (countedWords[index >>> 12] & (1L << (index >>> 6))) != 0;
+    }
+
+    /**
+     * This method calculates the counts of the word of the mine plane with the field with the given index, if they aren't calculated yet
+     *
+     * @param index The index of the field
+     */
+    private void ensureCounted(int index) {
+        if (!isCounted(index)) {
+            calculateCountWord(index >>> 6);
+            countedWords[index >>> 12] |= 1L << (index >>> 6);
+        }
+    }
+
+    /**
+     * This method counts the mines around the field with the given index from the mine plane
+     *
+     * @param index The index of the field
+     * @return The amount of adjacent mines
+     */
+    private int countAdjacentMines(int index) {
+        int x = index / width;
+        int y = index % width;
+        int number = 0;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l) && isMine(index + k * width + l)) {
+                    number++;
+                }
+            }
+        }
+        return number;
+    }
+
+    /**
+     * This method sets the amount of mines adjacent to the field with the given index
+     *
+     * @param index The index of the field
+     * @param count The amount of adjacent mines
+     */
+    public void setNeighbourCount(int index, int count) {
+        int shift = (index % COUNTS_PER_WORD) * BITS_PER_COUNT;
+        int word = index / COUNTS_PER_WORD;
+        counts[word] = (counts[word] & ~(COUNT_MASK << shift)) | ((long) count << shift);
+    }
+
+    // mine placement methods
+
+    /**
+     * This method places the mines on random fields, that only depend on the given seed
+     * Floyd's algorithm picks the mines with a single random number per mine and the mine plane is used as the set of chosen fields,
+     * so no list of every field is needed: in the j-th step a random location up to j is chosen and if it already has a mine, j itself is chosen
+     *
+     * @param seed The seed
+     */
+    public void placeMinesRandomly(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int j = size - amountOfMines; j < size; j++) {
+            int mineLocation = random.nextInt(j + 1);
+            if (isMine(mineLocation)) {
+                mineLocation = j;
+            }
+            placeMine(mineLocation);
+        }
+    }
+
+    /**
+     * This method calculates the amount of adjacent mines of every field, including the fields with a mine on them
+     * The counts of 64 fields are calculated at once from the mine plane, see calculateCountWord, and big maps are split up into stripes of rows,
+     * which are calculated in parallel
+     * If the counts are calculated lazily, they are only forgotten here, and every word is calculated when one of its fields is revealed
+     */
+    public void calculateNeighbourCounts() {
+        if (countedWords != null) {
+            Arrays.fill(countedWords, 0L);
+        } else {
+            calculateAllCountWords();
+        }
+    }
+
+    /**
+     * This method calculates the counts of every word of the mine plane, in parallel on big maps
+     */
+    private void calculateAllCountWords() {
+        if (mines.length > PARALLEL_COUNT_WORDS) {
+            ForkJoinPool.commonPool().invoke(new CountTask(0, mines.length));
+        } else {
+            for (int word = 0; word < mines.length; word++) {
+                calculateCountWord(word);
+            }
+        }
+    }
+
+    /**
+     * This method turns the lazy calculation of the counts on or off
+     * While it is on, the counts of a word of the mine plane are calculated the first time one of its fields is revealed,
+     * so the first click on a huge map doesn't have to wait for the counts of fields, that might never be revealed
+     * The counts are only calculated by the methods that change the board, so a board is never changed by reading it from another thread
+     *
+     * @param lazyCounts Whether or not the counts are calculated lazily
+     */
+    public void setLazyCounts(boolean lazyCounts) {
+        if (lazyCounts == (countedWords != null)) {
+            return;
+        }
+        // the counts only depend on the mines, so they can always be calculated again from them
+        countedWords = lazyCounts ? new long[(mines.length + FIELDS_PER_WORD - 1) / FIELDS_PER_WORD] : null;
+        calculateNeighbourCounts();
+    }
+
+    /**
+     * This method calculates the counts of the 64 fields of the given word of the mine plane
+     * For each of the eight directions the mine plane is read shifted by the offset of the neighbour in that direction,
+     * which gives a word with a bit set for every field, whose neighbour in that direction has a mine on it
+     * The neighbours to the left and right are masked out in the first and last column, since they would be on the other side of the map,
+     * and the eight words are added up bit-sliced, so every field gets its four bit count at once
+     *
+     * @param word The index of the word
+     */
+    private void calculateCountWord(int word) {
+        long firstField = (long) word * FIELDS_PER_WORD;
+        // the fields of the word, that are in the first or last column of their row
+        long firstColumn = 0;
+        long lastColumn = 0;
+        int column = (int) (firstField % width);
+        for (int bit = column == 0 ? 0 : width - column; bit < FIELDS_PER_WORD; bit += width) {
+            firstColumn |= 1L << bit;
+        }
+        for (int bit = width - 1 - column; bit < FIELDS_PER_WORD; bit += width) {
+            lastColumn |= 1L << bit;
+        }
+        long hasLeft = ~firstColumn;
+        long hasRight = ~lastColumn;
+        long upLeft = minesAt(firstField - width - 1) & hasLeft;
+        long up = minesAt(firstField - width);
+        long upRight = minesAt(firstField - width + 1) & hasRight;
+        long left = minesAt(firstField - 1) & hasLeft;
+        long right = minesAt(firstField + 1) & hasRight;
+        long downLeft = minesAt(firstField + width - 1) & hasLeft;
+        long down = minesAt(firstField + width);
+        long downRight = minesAt(firstField + width + 1) & hasRight;
+
+        // the eight words are added with full adders, every adder turns three bits of the same weight into a sum bit and a carry bit of twice the weight
+        long sumA = upLeft ^ up ^ upRight;
+        long carryA = (upLeft & up) | (upRight & (upLeft ^ up));
+        long sumB = left ^ right ^ downLeft;
+        long carryB = (left & right) | (downLeft & (left ^ right));
+        long sumC = sumA ^ sumB ^ down;
+        long carryC = (sumA & sumB) | (down & (sumA ^ sumB));
+        long ones = sumC ^ downRight;
+        long carryD = sumC & downRight;
+        long sumE = carryA ^ carryB ^ carryC;
+        long carryE = (carryA & carryB) | (carryC & (carryA ^ carryB));
+        long twos = sumE ^ carryD;
+        long carryF = sumE & carryD;
+        long fours = carryE ^ carryF;
+        long eights = carryE & carryF;
+
+        // the fields after the last one don't get a count
+        if (firstField + FIELDS_PER_WORD > size) {
+            long usedBits = (1L << (size - firstField)) - 1;
+            ones &= usedBits;
+            twos &= usedBits;
+            fours &= usedBits;
+            eights &= usedBits;
+        }
+        // every bit of the four words is spread out to the four bit count of its field
+        int countWord = word * (FIELDS_PER_WORD / COUNTS_PER_WORD);
+        for (int shift = 0; shift < FIELDS_PER_WORD && countWord < counts.length; shift += COUNTS_PER_WORD, countWord++) {
+            counts[countWord] = spreadToCounts(ones >>> shift)
+                    | spreadToCounts(twos >>> shift) << 1
+                    | spreadToCounts(fours >>> shift) << 2
+                    | spreadToCounts(eights >>> shift) << 3;
+        }
+    }
+
+    /**
+     * This method reads 64 bits of the mine plane, starting at the given field, fields outside of the map read as having no mine
+     *
+     * @param firstField The index of the first field, which may be outside of the map
+     * @return The bits of the 64 fields
+     */
+    private long minesAt(long firstField) {
+        // the arithmetic shift rounds down, so fields before the first one end up in the words before the plane
+        int word = (int) (firstField >> 6);
+        int shift = (int) (firstField & (FIELDS_PER_WORD - 1));
+        long low = word >= 0 && word < mines.length ? mines[word] : 0L;
+        if (shift == 0) {
+            return low;
+        }
+        long high = word + 1 >= 0 && word + 1 < mines.length ? mines[word + 1] : 0L;
+        return (low >>> shift) | (high << (FIELDS_PER_WORD - shift));
+    }
+
+    /**
+     * This method moves each of the lowest 16 bits of the given value to the lowest bit of its four bit count
+     *
+     * @param bits The bits, only the lowest 16 are used
+     * @return The word of counts, with every count being either zero or one
+     */
+    private static long spreadToCounts(long bits) {
+        bits &= 0xFFFFL;
+        bits = (bits | (bits << 24)) & 0x000000FF000000FFL;
+        bits = (bits | (bits << 12)) & 0x000F000F000F000FL;
+        bits = (bits | (bits << 6)) & 0x0303030303030303L;
+        return (bits | (bits << 3)) & 0x1111111111111111L;
+    }
+
+    /**
+     * This method moves the mine on the field with the given index to the next field without a mine, if there is a mine on the field
+     * Only the counts of the fields around the old and the new location of the mine are changed
+     *
+     * @param index The index of the field
+     */
+    public void moveMineAwayFrom(int index) {
+        if (!isMine(index)) {
+            return;
+        }
+        // the next field without a mine is searched for in reading order, so the new location only depends on the mines and the field
+        int newLocation = index;
+        do {
+            newLocation = newLocation + 1 == size ? 0 : newLocation + 1;
+        } while (isMine(newLocation));
+        mines[index >>> 6] &= ~(1L << index);
+        if (isRevealed(index)) {
+            revealedSafeCount++;
+        } else if (isTrackingSafeCells()) {
+            safeCells.add(index);
+        }
+        placeMine(newLocation);
+        changeNeighbourCounts(index, -1);
+        changeNeighbourCounts(newLocation, 1);
+    }
+
+    /**
+     * This method adds the given value to the counts of the fields around the field with the given index
+     *
+     * @param index The index of the field
+     * @param value The value that is added
+     */
+    private void changeNeighbourCounts(int index, int value) {
+        int x = index / width;
+        int y = index % width;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l)) {
+                    int neighbour = toIndex(x + k, y + l);
+                    // counts that aren't calculated yet are calculated from the mines, which already include the change
+                    if (countedWords == null || (countedWords[neighbour >>> 12] & (1L << (neighbour >>> 6))) != 0) {
+                        setNeighbourCount(neighbour, getNeighbourCount(neighbour) + value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method copies the mines and the counts of the given board, which has to be of the same size, into this board
+     * The revealed fields and the flags of this board stay as they are
+     * The counts are only copied, if every count they need is calculated in the other board, otherwise they are calculated from the copied mines
+     *
+     * @param other The other board
+     */
+    public void copyMinesAndCountsFrom(Board other) {
+        System.arraycopy(other.mines, 0, mines, 0, mines.length);
+        if (other.countedWords == null) {
+            System.arraycopy(other.counts, 0, counts, 0, counts.length);
+            if (countedWords != null) {
+                Arrays.fill(countedWords, -1L);
+            }
+        } else if (countedWords != null) {
+            System.arraycopy(other.counts, 0, counts, 0, counts.length);
+            System.arraycopy(other.countedWords, 0, countedWords, 0, countedWords.length);
+        } else {
+            calculateNeighbourCounts();
+        }
+        countRevealedSafeFields();
+        safeCellsStale = true;
+    }
+
+    // storage methods
+
+    /**
+     * This method returns the amount of words every bit plane has
+     *
+     * @return The amount of words of a bit plane
+     */
+    public int getPlaneLength() {
+        return mines.length;
+    }
+
+    /**
+     * This method writes the mine, revealed and flag planes into the given buffer, one after another
+     *
+     * @param buffer The buffer, which needs room for three bit planes
+     */
+    public void writePlanes(LongBuffer buffer) {
+        buffer.put(mines);
+        buffer.put(revealed);
+        buffer.put(flags);
+    }
+
+    /**
+     * This method reads the mine, revealed and flag planes from the given buffer and calculates everything else from them
+     *
+     * @param buffer The buffer, which holds three bit planes
+     */
+    public void readPlanes(LongBuffer buffer) {
+        buffer.get(mines);
+        buffer.get(revealed);
+        buffer.get(flags);
+        revealedCount = 0;
+        flaggedCount = 0;
+        for (int i = 0; i < mines.length; i++) {
+            revealedCount += Long.bitCount(revealed[i]);
+            flaggedCount += Long.bitCount(flags[i]);
+        }
+        countRevealedSafeFields();
+        calculateNeighbourCounts();
+        safeCellsStale = true;
+        markAllChanged();
+    }
+
+    /**
+     * This method reveals every field of the map at once
+     * The flag plane is left untouched, so it can still be seen which fields had a flag on them
+     */
+    public void revealAll() {
+        // the move, that reveals the whole map, keeps the plane from before, instead of every field it changed
+        if (history != null && history.isRecording()) {
+            history.recordRevealedPlane(revealed.clone());
+        }
+        // every count is shown now, so the counts, that weren't needed yet, are all calculated at once
+        if (countedWords != null) {
+            calculateAllCountWords();
+            Arrays.fill(countedWords, -1L);
+        }
+        Arrays.fill(revealed, -1L);
+        // the bits after the last field are cleared again, so they aren't counted as fields
+        int usedBitsOfLastWord = size % FIELDS_PER_WORD;
+        if (usedBitsOfLastWord != 0) {
+            revealed[revealed.length - 1] = (1L << usedBitsOfLastWord) - 1;
+        }
+        revealedCount = size;
+        countRevealedSafeFields();
+        safeCellsStale = true;
+        markAllChanged();
+    }
+
+    /**
+     * This method replaces the revealed plane with the given one, which is used to undo revealing the whole map
+     *
+     * @param plane The revealed plane
+     */
+    public void setRevealedPlane(long[] plane) {
+        System.arraycopy(plane, 0, revealed, 0, revealed.length);
+        revealedCount = 0;
+        for (long word : revealed) {
+            revealedCount += Long.bitCount(word);
+        }
+        countRevealedSafeFields();
+        safeCellsStale = true;
+        markAllChanged();
+    }
+
+    /**
+     * This method removes every mine and number from the map, which is used to undo the first click
+     */
+    public void removeMines() {
+        Arrays.fill(mines, 0L);
+        Arrays.fill(counts, 0L);
+        if (countedWords != null) {
+            Arrays.fill(countedWords, 0L);
+        }
+        countRevealedSafeFields();
+        safeCellsStale = true;
+        markAllChanged();
+    }
+
+    /**
+     * This method counts the revealed fields without a mine again from the planes, after many fields changed at once
+     */
+    private void countRevealedSafeFields() {
+        revealedSafeCount = 0;
+        for (int i = 0; i < mines.length; i++) {
+            revealedSafeCount += Long.bitCount(revealed[i] & ~mines[i]);
+        }
+    }
+
+    /**
+     * This method sets the history every flipped revealed and flag bit is recorded in from then on
+     *
+     * @param history The history, or null to stop recording
+     */
+    public void setHistory(MoveHistory history) {
+        this.history = history;
+    }
+
+    // safe cell methods
+
+    /**
+     * This method returns the set of the fields without a mine, that aren't revealed yet
+     * The set is only created the first time it is needed, and from then on every placed mine and revealed or hidden field changes it,
+     * only when many fields change at once, like when the mines are placed or the whole map is revealed, it is collected from the planes again
+     *
+     * @return The set of the fields
+     */
+    public SafeCellIndex getSafeCells() {
+        if (safeCells == null) {
+            safeCells = new SafeCellIndex(size);
+            safeCellsStale = true;
+        }
+        if (safeCellsStale) {
+            safeCells.clear();
+            for (int word = 0; word < mines.length; word++) {
+                long safeBits = ~mines[word] & ~revealed[word];
+                // the bits after the last field aren't fields
+                if (word == mines.length - 1 && size % FIELDS_PER_WORD != 0) {
+                    safeBits &= (1L << size) - 1;
+                }
+                while (safeBits != 0) {
+                    safeCells.add(word * FIELDS_PER_WORD + Long.numberOfTrailingZeros(safeBits));
+                    safeBits &= safeBits - 1;
+                }
+            }
+            safeCellsStale = false;
+        }
+        return safeCells;
+    }
+
+    /**
+     * This method checks, whether or not the set of the fields without a mine is kept up to date with every single change
+     *
+     * @return Whether or not the set is kept up to date
+     */
+    private boolean isTrackingSafeCells() {
+        return safeCells != null && !safeCellsStale;
+    }
+
+    /**
+     * This method calculates the 3BV of the map, which is the least amount of clicks needed to reveal every field without a mine
+     * Every free area counts as one click, since it reveals its border as well, every other field without a mine counts as one click on its own
+     *
+     * @return The 3BV
+     */
+    public int calculateThreeBV() {
+        // the plane that has a bit set for every field, that is revealed by a click on a free area
+        long[] opened = new long[mines.length];
+        int[] fieldsToCheck = new int[64];
+        int threeBV = 0;
+        for (int index = 0; index < size; index++) {
+            if (isMine(index) || (opened[index >>> 6] & (1L << index)) != 0 || getNeighbourCount(index) != 0) {
+                continue;
+            }
+            // a free area, that wasn't opened yet, is opened with a single click
+            threeBV++;
+            opened[index >>> 6] |= 1L << index;
+            fieldsToCheck[0] = index;
+            int amountToCheck = 1;
+            while (amountToCheck > 0) {
+                int field = fieldsToCheck[--amountToCheck];
+                int fieldX = field / width;
+                int fieldY = field % width;
+                for (int k = -1; k < 2; k++) {
+                    for (int l = -1; l < 2; l++) {
+                        int neighbour = field + k * width + l;
+                        if (!isInBounds(fieldX + k, fieldY + l) || (opened[neighbour >>> 6] & (1L << neighbour)) != 0) {
+                            continue;
+                        }
+                        opened[neighbour >>> 6] |= 1L << neighbour;
+                        if (getNeighbourCount(neighbour) == 0) {
+                            if (amountToCheck == fieldsToCheck.length) {
+                                fieldsToCheck = Arrays.copyOf(fieldsToCheck, amountToCheck * 2);
+                            }
+                            fieldsToCheck[amountToCheck++] = neighbour;
+                        }
+                    }
+                }
+            }
+        }
+        // every number, that isn't on the border of a free area, needs a click of its own
+        for (int index = 0; index < size; index++) {
+            if (!isMine(index) && (opened[index >>> 6] & (1L << index)) == 0) {
+                threeBV++;
+            }
+        }
+        return threeBV;
+    }
+
+    // change methods
+
+    /**
+     * This method turns the collection of the changed fields on or off
+     *
+     * @param trackingChanges Whether or not the changed fields are collected
+     */
+    public void setTrackingChanges(boolean trackingChanges) {
+        this.trackingChanges = trackingChanges;
+        if (trackingChanges && changed == null) {
+            changed = new long[mines.length];
+        }
+        clearChanges();
+    }
+
+    /**
+     * This method remembers, that the field with the given index changed
+     *
+     * @param index The index of the field
+     */
+    private void markChanged(int index) {
+        if (!trackingChanges || allChanged || (changed[index >>> 6] & (1L << index)) != 0) {
+            return;
+        }
+        changed[index >>> 6] |= 1L << index;
+        if (changedCount == changedFields.length) {
+            changedFields = Arrays.copyOf(changedFields, changedCount * 2);
+        }
+        changedFields[changedCount++] = index;
+    }
+
+    /**
+     * This method remembers, that the whole map changed
+     */
+    private void markAllChanged() {
+        if (trackingChanges) {
+            allChanged = true;
+        }
+    }
+
+    /**
+     * This method forgets all the changes, after they have been handed over
+     */
+    public void clearChanges() {
+        if (changed == null) {
+            return;
+        }
+        if (allChanged) {
+            Arrays.fill(changed, 0L);
+        } else {
+            // only the words of the fields that changed are cleared, so small changes don't have to go over the whole plane
+            for (int i = 0; i < changedCount; i++) {
+                changed[changedFields[i] >>> 6] = 0L;
+            }
+        }
+        changedCount = 0;
+        allChanged = false;
+    }
+
+    /**
+     * This method checks, whether or not any field changed since the changes were cleared the last time
+     *
+     * @return Whether or not there are changes
+     */
+    public boolean hasChanges() {
+        return allChanged || changedCount > 0;
+    }
+
+    /**
+     * This method checks, whether or not the whole map changed at once
+     *
+     * @return Whether or not the whole map changed
+     */
+    public boolean isAllChanged() {
+        return allChanged;
+    }
+
+    /**
+     * This method returns the indices of the changed fields, the array is reused, so it is only valid until the changes are cleared
+     *
+     * @return The indices of the changed fields
+     */
+    public int[] getChangedFields() {
+        return changedFields;
+    }
+
+    /**
+     * This method returns the amount of changed fields
+     *
+     * @return The amount of changed fields
+     */
+    public int getChangedCount() {
+        return changedCount;
+    }
+
+    // content methods
+
+    /**
+     * This method gives back the content of the field on the given coordinates, as it is seen by the player
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The content of the field
+     */
+    public FieldContent getShownContent(int x, int y) {
+        int index = toIndex(x, y);
+        if (isRevealed(index)) {
+            return getHiddenContent(index);
+        }
+        if (isFlagged(index)) {
+            return FieldContent.FLAG;
+        }
+        return FieldContent.UNDISCOVERED;
+    }
+
+    /**
+     * This method gives back the content of the field with the given index, as if it was revealed
+     *
+     * @param index The index of the field
+     * @return The content of the field
+     */
+    public FieldContent getHiddenContent(int index) {
+        if (isMine(index)) {
+            return FieldContent.MINE;
+        }
+        return FieldContent.toFieldContent(getNeighbourCount(index));
+    }
+
+    // getter methods
+
+    /**
+     * This method returns the height of the map
+     *
+     * @return The height of the map
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * This method returns the width of the map
+     *
+     * @return The width of the map
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * This method returns the amount of mines on the map
+     *
+     * @return The amount of mines
+     */
+    public int getAmountOfMines() {
+        return amountOfMines;
+    }
+
+    /**
+     * This method returns the amount of fields on the map
+     *
+     * @return The amount of fields
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * This method returns the amount of revealed fields, without scanning the map
+     *
+     * @return The amount of revealed fields
+     */
+    public int getRevealedCount() {
+        return revealedCount;
+    }
+
+    /**
+     * This method returns the amount of revealed fields without a mine, without scanning the map
+     *
+     * @return The amount of revealed fields without a mine
+     */
+    public int getRevealedSafeCount() {
+        return revealedSafeCount;
+    }
+
+    /**
+     * This method returns the amount of fields with a flag on them, without scanning the map
+     *
+     * @return The amount of flagged fields
+     */
+    public int getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    /**
+     * This is the task, which calculates the counts of a stripe of rows, or splits it up into smaller stripes
+     * The stripes are ranges of words of the mine plane, every word only writes its own counts, so the stripes don't have to wait for each other
+     */
+    private class CountTask extends RecursiveAction {
+        // The index of the first word of the stripe
+        private final int from;
+        // The index after the last word of the stripe
+        private final int to;
+
+        /**
+         * This is the constructor method
+         *
+         * @param from The index of the first word of the stripe
+         * @param to   The index after the last word of the stripe
+         */
+        CountTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_COUNT_WORDS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CountTask(from, middle), new CountTask(middle, to));
+                return;
+            }
+            for (int word = from; word < to; word++) {
+                calculateCountWord(word);
+            }
+        }
+    }
+}
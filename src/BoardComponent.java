@@ -0,0 +1,483 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+/**
+ * This is the class for the component that draws the map of a game
+ * Instead of a button per field, the fields are drawn from pre-rendered images and only the fields inside the visible part of the map are drawn,
+ * so the size of the map doesn't matter for how long it takes to create, lay out or draw the window
+ * The fields are drawn from a view of the map, which is changed by the batches of the engine thread, so the game is never read while it changes
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class BoardComponent extends JComponent implements Scrollable {
+
+    /**
+     * The index of the image with the default text color
+     */
+    private static final int TEXT_DEFAULT = 0;
+    /**
+     * The index of the image with the contrasting text color, for fields that had a flag on them when the game ended
+     */
+    private static final int TEXT_CONTRAST = 1;
+    /**
+     * The index of the image with the text color of the mine that exploded
+     */
+    private static final int TEXT_EXPLOSION = 2;
+    /**
+     * The alpha value of the colors of the heatmap
+     */
+    private static final int HEATMAP_ALPHA = 110;
+    /**
+     * The colors of the heatmap, one for every percent
+     */
+    private static final Color[] HEATMAP_COLORS = new Color[101];
+
+    static {
+        for (int percent = 0; percent <= 100; percent++) {
+            HEATMAP_COLORS[percent] = mixColors(Constants.COLOR_HEATMAP_SAFE, Constants.COLOR_HEATMAP_MINE, percent / 100.0);
+        }
+    }
+
+    /**
+     * The game that is drawn, which is only used for the size of its map
+     */
+    private final Game game;
+    /**
+     * The view of every field, which holds its shown content and whether or not a flag is placed on it
+     */
+    private final byte[] shownFields;
+    /**
+     * Whether or not the game is over
+     */
+    private boolean gameOver;
+    /**
+     * The width and height of a single field in pixels
+     */
+    private final int fieldSize;
+    /**
+     * The pre-rendered images of every field-content in every text color
+     */
+    private final BufferedImage[][] fieldImages;
+    /**
+     * The pre-rendered image of a free field that had a flag on it when the game ended
+     */
+    private final BufferedImage flaggedFreeFieldImage;
+    /**
+     * The index of the field with the mine that exploded, or -1 if none exploded
+     */
+    private int explodedField = -1;
+    /**
+     * The chance of every field to have a mine on it, which is drawn as a heatmap, or null if no heatmap is shown
+     */
+    private double[] mineProbabilities;
+
+    /**
+     * This is the constructor method
+     *
+     * @param game      The game that is drawn
+     * @param fieldSize The width and height of a single field in pixels
+     */
+    public BoardComponent(Game game, int fieldSize) {
+        this.game = game;
+        this.fieldSize = fieldSize;
+        // the game isn't handed to the engine thread yet, so it can still be read here
+        this.shownFields = ViewUpdate.snapshot(game);
+        this.gameOver = game.getGameState() == GameState.LOST || game.getGameState() == GameState.WON;
+        this.explodedField = game.getExplodedField();
+        setFont(new Font(Font.SANS_SERIF, Font.BOLD, fieldSize / 2));
+        // every field-content is rendered once in every text color, so drawing a field is just copying an image
+        FieldContent[] fieldContents = FieldContent.values();
+        fieldImages = new BufferedImage[fieldContents.length][];
+        for (FieldContent fieldContent : fieldContents) {
+            fieldImages[fieldContent.ordinal()] = new BufferedImage[]{
+                    renderField(toBackgroundColor(fieldContent), toDisplayText(fieldContent), Constants.COLOR_TEXT_DEFAULT),
+                    renderField(toBackgroundColor(fieldContent), toDisplayText(fieldContent), Constants.COLOR_TEXT_CONTRAST),
+                    renderField(toBackgroundColor(fieldContent), toDisplayText(fieldContent), Constants.COLOR_TEXT_EXPLOSION)
+            };
+        }
+        flaggedFreeFieldImage = renderField(Constants.COLOR_FIELD_FREE, Constants.DISPLAY_FLAG, Constants.COLOR_TEXT_DEFAULT);
+        setPreferredSize(new Dimension(game.getMapWidth() * fieldSize, game.getMapHeight() * fieldSize));
+        setOpaque(true);
+    }
+
+    /**
+     * This method adds a listener for the mouse to the map, which is told the coordinates of the field that was pressed and released
+     * A single listener is used for the whole map, the field is found from the position of the mouse
+     *
+     * @param listener The listener
+     */
+    public void addFieldMouseListener(FieldMouseListener listener) {
+        addMouseListener(new MouseAdapter() {
+            // The field the mouse was pressed on, the release belongs to this field, just like with a button
+            private int pressedField = -1;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pressedField = toField(e.getX(), e.getY());
+                if (pressedField >= 0) {
+                    listener.fieldPressed(e, pressedField / game.getMapWidth(), pressedField % game.getMapWidth());
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (pressedField >= 0) {
+                    listener.fieldReleased(e, pressedField / game.getMapWidth(), pressedField % game.getMapWidth());
+                }
+                pressedField = -1;
+            }
+        });
+    }
+
+    /**
+     * This method draws every field inside the area that needs to be drawn
+     *
+     * @param g The graphics to draw with
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        RepaintEvent event = new RepaintEvent();
+        event.begin();
+        long start = Instrumentation.start();
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        // only the rows and columns that are at least partly inside the area are drawn
+        int firstRow = Math.max(0, clip.y / fieldSize);
+        int lastRow = Math.min(game.getMapHeight() - 1, (clip.y + clip.height - 1) / fieldSize);
+        int firstColumn = Math.max(0, clip.x / fieldSize);
+        int lastColumn = Math.min(game.getMapWidth() - 1, (clip.x + clip.width - 1) / fieldSize);
+        for (int x = firstRow; x <= lastRow; x++) {
+            for (int y = firstColumn; y <= lastColumn; y++) {
+                g.drawImage(selectFieldImage(x, y), y * fieldSize, x * fieldSize, null);
+            }
+        }
+        if (mineProbabilities != null && !gameOver) {
+            paintHeatmap(g, firstRow, lastRow, firstColumn, lastColumn);
+        }
+        Instrumentation.record(Instrumentation.Operation.REPAINT, start);
+        if (event.shouldCommit()) {
+            event.fieldsPainted = Math.max(0, lastRow - firstRow + 1) * Math.max(0, lastColumn - firstColumn + 1);
+            event.commit();
+        }
+    }
+
+    /**
+     * This method draws the chance of every undiscovered field inside the given area as a translucent color over the field
+     *
+     * @param g           The graphics to draw with
+     * @param firstRow    The first row of the area
+     * @param lastRow     The last row of the area
+     * @param firstColumn The first column of the area
+     * @param lastColumn  The last column of the area
+     */
+    private void paintHeatmap(Graphics g, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        for (int x = firstRow; x <= lastRow; x++) {
+            for (int y = firstColumn; y <= lastColumn; y++) {
+                if (getShownContent(x, y).toInteger() < 0) {
+                    g.setColor(HEATMAP_COLORS[(int) Math.round(mineProbabilities[x * game.getMapWidth() + y] * 100)]);
+                    g.fillRect(y * fieldSize, x * fieldSize, fieldSize, fieldSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method chooses the image of the field with the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The image of the field
+     */
+    private BufferedImage selectFieldImage(int x, int y) {
+        byte view = shownFields[x * game.getMapWidth() + y];
+        FieldContent fieldContent = ViewUpdate.toFieldContent(view);
+        int textColor = TEXT_DEFAULT;
+        // if the game is over, every flag that was placed is indicated by
+        // either a white text color of the numbers and the mines or a black text color in case of free fields
+        if (gameOver) {
+            if (ViewUpdate.isFlagPlaced(view)) {
+                if (fieldContent == FieldContent.FREE) {
+                    return flaggedFreeFieldImage;
+                }
+                textColor = TEXT_CONTRAST;
+            }
+            if (x * game.getMapWidth() + y == explodedField) {
+                textColor = TEXT_EXPLOSION;
+            }
+        }
+        return fieldImages[fieldContent.ordinal()][textColor];
+    }
+
+    // update methods
+
+    /**
+     * This method changes the view of the map by the given batch of the engine thread and draws the changed fields again
+     *
+     * @param update The batch
+     */
+    public void applyUpdate(ViewUpdate update) {
+        boolean wasGameOver = gameOver;
+        gameOver = update.getGameState() == GameState.LOST || update.getGameState() == GameState.WON;
+        if (update.getExplodedField() != explodedField) {
+            repaintField(explodedField);
+            explodedField = update.getExplodedField();
+            repaintField(explodedField);
+        }
+        if (update.getWholeMap() != null) {
+            System.arraycopy(update.getWholeMap(), 0, shownFields, 0, shownFields.length);
+            repaint();
+            return;
+        }
+        int[] fields = update.getFields();
+        byte[] views = update.getViews();
+        for (int i = 0; i < update.getAmountOfFields(); i++) {
+            shownFields[fields[i]] = views[i];
+        }
+        // the fields with flags are drawn differently, once the game is over
+        if (gameOver != wasGameOver) {
+            repaint();
+        } else {
+            repaintFields(fields, update.getAmountOfFields());
+        }
+    }
+
+    /**
+     * This method gives back the shown content of the field on the given coordinates, as it is in the view of the map
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The shown content of the field
+     */
+    public FieldContent getShownContent(int x, int y) {
+        return ViewUpdate.toFieldContent(shownFields[x * game.getMapWidth() + y]);
+    }
+
+    /**
+     * This method draws the given fields again
+     *
+     * @param fields         The indices of the fields
+     * @param amountOfFields The amount of fields
+     */
+    private void repaintFields(int[] fields, int amountOfFields) {
+        if (amountOfFields == 0) {
+            return;
+        }
+        int mapWidth = game.getMapWidth();
+        // the area around all the fields is drawn at once, the fields outside the visible part are skipped while drawing anyway
+        int firstRow = Integer.MAX_VALUE;
+        int lastRow = 0;
+        int firstColumn = Integer.MAX_VALUE;
+        int lastColumn = 0;
+        for (int i = 0; i < amountOfFields; i++) {
+            int x = fields[i] / mapWidth;
+            int y = fields[i] % mapWidth;
+            firstRow = Math.min(firstRow, x);
+            lastRow = Math.max(lastRow, x);
+            firstColumn = Math.min(firstColumn, y);
+            lastColumn = Math.max(lastColumn, y);
+        }
+        repaint(firstColumn * fieldSize, firstRow * fieldSize, (lastColumn - firstColumn + 1) * fieldSize, (lastRow - firstRow + 1) * fieldSize);
+    }
+
+    /**
+     * This method draws the field with the given index again
+     *
+     * @param field The index of the field, or -1 for none
+     */
+    private void repaintField(int field) {
+        if (field >= 0) {
+            repaint(field % game.getMapWidth() * fieldSize, field / game.getMapWidth() * fieldSize, fieldSize, fieldSize);
+        }
+    }
+
+    /**
+     * This method sets the chances that are drawn as a heatmap over the undiscovered fields, or removes the heatmap
+     *
+     * @param mineProbabilities The chance of every field to have a mine on it, or null to remove the heatmap
+     */
+    public void setMineProbabilities(double[] mineProbabilities) {
+        this.mineProbabilities = mineProbabilities;
+        repaint();
+    }
+
+    // rendering methods
+
+    /**
+     * This method renders the image of a single field
+     *
+     * @param backgroundColor The background color of the field
+     * @param text            The text of the field
+     * @param textColor       The color of the text
+     * @return The image of the field
+     */
+    private BufferedImage renderField(Color backgroundColor, String text, Color textColor) {
+        return renderField(fieldSize, getFont(), backgroundColor, text, textColor);
+    }
+
+    /**
+     * This method renders the image of a single field of the given size
+     *
+     * @param fieldSize       The width and height of the field in pixels
+     * @param font            The font of the text
+     * @param backgroundColor The background color of the field
+     * @param text            The text of the field
+     * @param textColor       The color of the text
+     * @return The image of the field
+     */
+    static BufferedImage renderField(int fieldSize, Font font, Color backgroundColor, String text, Color textColor) {
+        BufferedImage image = new BufferedImage(fieldSize, fieldSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setColor(backgroundColor);
+        graphics.fillRect(0, 0, fieldSize, fieldSize);
+        graphics.setColor(backgroundColor.darker());
+        graphics.drawRect(0, 0, fieldSize - 1, fieldSize - 1);
+        // the text is centered on the field
+        graphics.setFont(font);
+        graphics.setColor(textColor);
+        FontMetrics fontMetrics = graphics.getFontMetrics();
+        String trimmedText = text.trim();
+        int textX = (fieldSize - fontMetrics.stringWidth(trimmedText)) / 2;
+        int textY = (fieldSize - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
+        graphics.drawString(trimmedText, textX, textY);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * This method gives back the background color of the given field-content
+     *
+     * @param fieldContent The field-content
+     * @return The background color
+     */
+    public static Color toBackgroundColor(FieldContent fieldContent) {
+        return switch (fieldContent) {
+            case MINE -> Constants.COLOR_FIELD_MINE;
+            case FREE -> Constants.COLOR_FIELD_FREE;
+            case ONE -> Constants.COLOR_FIELD_ONE;
+            case TWO -> Constants.COLOR_FIELD_TWO;
+            case THREE -> Constants.COLOR_FIELD_THREE;
+            case FOUR -> Constants.COLOR_FIELD_FOUR;
+            case FIVE -> Constants.COLOR_FIELD_FIVE;
+            case SIX -> Constants.COLOR_FIELD_SIX;
+            case SEVEN -> Constants.COLOR_FIELD_SEVEN;
+            case EIGHT -> Constants.COLOR_FIELD_EIGHT;
+            case FLAG -> Constants.COLOR_FIELD_FLAG;
+            default -> Constants.COLOR_FIELD_UNDISCOVERED;
+        };
+    }
+
+    /**
+     * This method gives back the text that is displayed for the given field-content
+     *
+     * @param fieldContent The field-content
+     * @return The text of the field
+     */
+    public static String toDisplayText(FieldContent fieldContent) {
+        return switch (fieldContent) {
+            case MINE -> Constants.DISPLAY_MINE;
+            case FREE -> Constants.DISPLAY_FREE;
+            case ONE -> Constants.DISPLAY_ONE;
+            case TWO -> Constants.DISPLAY_TWO;
+            case THREE -> Constants.DISPLAY_THREE;
+            case FOUR -> Constants.DISPLAY_FOUR;
+            case FIVE -> Constants.DISPLAY_FIVE;
+            case SIX -> Constants.DISPLAY_SIX;
+            case SEVEN -> Constants.DISPLAY_SEVEN;
+            case EIGHT -> Constants.DISPLAY_EIGHT;
+            case FLAG -> Constants.DISPLAY_FLAG;
+            default -> Constants.DISPLAY_UNDISCOVERED;
+        };
+    }
+
+    /**
+     * This method mixes two colors and gives back a translucent color
+     *
+     * @param first  The first color
+     * @param second The second color
+     * @param ratio  The share of the second color, between 0 and 1
+     * @return The mixed color
+     */
+    private static Color mixColors(Color first, Color second, double ratio) {
+        return new Color(
+                (int) Math.round(first.getRed() + (second.getRed() - first.getRed()) * ratio),
+                (int) Math.round(first.getGreen() + (second.getGreen() - first.getGreen()) * ratio),
+                (int) Math.round(first.getBlue() + (second.getBlue() - first.getBlue()) * ratio),
+                HEATMAP_ALPHA);
+    }
+
+    // Miscellaneous methods
+
+    /**
+     * This method gives back the index of the field at the given position in pixels
+     *
+     * @param pixelX The horizontal position
+     * @param pixelY The vertical position
+     * @return The index of the field, or -1 if the position is not on the map
+     */
+    private int toField(int pixelX, int pixelY) {
+        int x = pixelY / fieldSize;
+        int y = pixelX / fieldSize;
+        if (pixelX < 0 || pixelY < 0 || x >= game.getMapHeight() || y >= game.getMapWidth()) {
+            return -1;
+        }
+        return x * game.getMapWidth() + y;
+    }
+
+    // scrolling methods
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return fieldSize;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height - fieldSize : visibleRect.width - fieldSize;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    /**
+     * This is the interface for the listeners of the presses and releases of the mouse on the fields of the map
+     */
+    public interface FieldMouseListener {
+
+        /**
+         * This method is called when a mouse button is pressed on a field
+         *
+         * @param e The event of the mouse
+         * @param x The x-coordinate of the field
+         * @param y The y-coordinate of the field
+         */
+        void fieldPressed(MouseEvent e, int x, int y);
+
+        /**
+         * This method is called when a mouse button is released, after it was pressed on a field
+         *
+         * @param e The event of the mouse
+         * @param x The x-coordinate of the field the mouse was pressed on
+         * @param y The y-coordinate of the field the mouse was pressed on
+         */
+        void fieldReleased(MouseEvent e, int x, int y);
+    }
+}
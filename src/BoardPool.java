@@ -0,0 +1,255 @@
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is the class for the pool of boards, that are prepared by a background thread before the player clicks
+ * A prepared board holds the mines of a seed on the whole map and the counts of every field,
+ * so on the first click only the mine on the clicked field has to be moved away and the counts around it have to be changed
+ * Every difficulty has its own bounded queue, which is filled up again in the background as soon as a board is taken out of it
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class BoardPool {
+
+    // The queues of prepared boards of every difficulty
+    private final Map<Difficulty, BlockingQueue<PreparedBoard>> queues = new ConcurrentHashMap<>();
+    // The generator of the seeds of the prepared boards, which is only used by the background thread
+    private final SplittableRandom seedGenerator;
+    // The amount of first clicks that got a prepared board
+    private final AtomicLong hits = new AtomicLong();
+    // The amount of first clicks that had to place the mines themselves
+    private final AtomicLong misses = new AtomicLong();
+    // The lock the background thread waits on, while every queue is full
+    private final Object refillLock = new Object();
+
+    /**
+     * This is the constructor method, which starts the background thread
+     * The thread is a daemon thread, so it doesn't keep the program running
+     *
+     * @param seed The seed the seeds of the prepared boards are generated with
+     */
+    public BoardPool(long seed) {
+        this.seedGenerator = new SplittableRandom(seed);
+        Thread refillThread = new Thread(this::refill, "board-pool");
+        refillThread.setDaemon(true);
+        refillThread.setPriority(Thread.MIN_PRIORITY);
+        refillThread.start();
+    }
+
+    /**
+     * This method sets how many boards of the given difficulty are prepared at most
+     * The size of a difficulty can only be set once, before the pool is used for it
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @param size          The amount of prepared boards
+     */
+    public void setPoolSize(int mapHeight, int mapWidth, int amountOfMines, int size) {
+        queues.putIfAbsent(new Difficulty(mapHeight, mapWidth, amountOfMines), new ArrayBlockingQueue<>(size));
+        wakeUpRefill();
+    }
+
+    /**
+     * This method takes a prepared board of the given difficulty out of the pool
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @return The prepared board, or null if there is none, in which case the mines have to be placed by the caller
+     */
+    public PreparedBoard poll(int mapHeight, int mapWidth, int amountOfMines) {
+        BlockingQueue<PreparedBoard> queue = queues.get(new Difficulty(mapHeight, mapWidth, amountOfMines));
+        PreparedBoard preparedBoard = queue == null ? null : queue.poll();
+        if (preparedBoard == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+            wakeUpRefill();
+        }
+        return preparedBoard;
+    }
+
+    /**
+     * This method returns the amount of first clicks that got a prepared board
+     *
+     * @return The amount of hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * This method returns the amount of first clicks that had to place the mines themselves
+     *
+     * @return The amount of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * This method returns the share of first clicks that got a prepared board
+     *
+     * @return The hit rate, between 0 and 1
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * This method sets the amounts of hits and misses back to zero
+     */
+    public void resetCounts() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * This method returns the amount of prepared boards of the given difficulty, that are currently in the pool
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @return The amount of prepared boards
+     */
+    public int getPreparedCount(int mapHeight, int mapWidth, int amountOfMines) {
+        BlockingQueue<PreparedBoard> queue = queues.get(new Difficulty(mapHeight, mapWidth, amountOfMines));
+        return queue == null ? 0 : queue.size();
+    }
+
+    // background methods
+
+    /**
+     * This method tells the background thread, that a queue might not be full anymore
+     */
+    private void wakeUpRefill() {
+        synchronized (refillLock) {
+            refillLock.notifyAll();
+        }
+    }
+
+    /**
+     * This method fills up every queue, and waits until a board is taken out of one, for as long as the program runs
+     */
+    private void refill() {
+        while (true) {
+            boolean prepared = false;
+            for (Map.Entry<Difficulty, BlockingQueue<PreparedBoard>> entry : queues.entrySet()) {
+                if (entry.getValue().remainingCapacity() > 0) {
+                    entry.getValue().offer(prepare(entry.getKey()));
+                    prepared = true;
+                }
+            }
+            if (!prepared) {
+                synchronized (refillLock) {
+                    try {
+                        // the queues are checked again after a while, in case a wake-up came in before the thread waited
+                        refillLock.wait(1000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method prepares a board of the given difficulty with a new seed
+     *
+     * @param difficulty The difficulty
+     * @return The prepared board
+     */
+    private PreparedBoard prepare(Difficulty difficulty) {
+        long seed = seedGenerator.nextLong();
+        Board board = new Board(difficulty.mapHeight, difficulty.mapWidth, difficulty.amountOfMines);
+        board.placeMinesRandomly(seed);
+        board.calculateNeighbourCounts();
+        return new PreparedBoard(seed, board);
+    }
+
+    /**
+     * This is the class for a prepared board and the seed its mines were placed with
+     */
+    public static class PreparedBoard {
+        // The seed the mines were placed with
+        private final long seed;
+        // The board with the mines and the counts
+        private final Board board;
+
+        /**
+         * This is the constructor method
+         *
+         * @param seed  The seed the mines were placed with
+         * @param board The board with the mines and the counts
+         */
+        PreparedBoard(long seed, Board board) {
+            this.seed = seed;
+            this.board = board;
+        }
+
+        /**
+         * This method returns the seed the mines were placed with
+         *
+         * @return The seed
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * This method returns the board with the mines and the counts
+         *
+         * @return The board
+         */
+        public Board getBoard() {
+            return board;
+        }
+    }
+
+    /**
+     * This is the class for a difficulty, which is the size of the map and the amount of mines
+     */
+    private static class Difficulty {
+        // The height of the map
+        private final int mapHeight;
+        // The width of the map
+        private final int mapWidth;
+        // The amount of mines on the map
+        private final int amountOfMines;
+
+        /**
+         * This is the constructor method
+         *
+         * @param mapHeight     The height of the map
+         * @param mapWidth      The width of the map
+         * @param amountOfMines The amount of mines on the map
+         */
+        Difficulty(int mapHeight, int mapWidth, int amountOfMines) {
+            this.mapHeight = mapHeight;
+            this.mapWidth = mapWidth;
+            this.amountOfMines = amountOfMines;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Difficulty)) {
+                return false;
+            }
+            Difficulty difficulty = (Difficulty) other;
+            return mapHeight == difficulty.mapHeight && mapWidth == difficulty.mapWidth && amountOfMines == difficulty.amountOfMines;
+        }
+
+        @Override
+        public int hashCode() {
+            return (mapHeight * 31 + mapWidth) * 31 + amountOfMines;
+        }
+    }
+}
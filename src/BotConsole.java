@@ -0,0 +1,199 @@
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is the class for the bot mode, in which bots play any amount of games through the standard input and output, without the window
+ * The commands are the ones of the CommandInterpreter, a command can start with the id of a game, its response then starts with the same id
+ * Commands don't have to wait for the response of the previous one, every command that was read at once is answered at once,
+ * so a bot can send a whole batch of moves and only pays for a single write
+ * QUIT ends the game with the id it is given, or the bot mode, if it is given no id
+ * At most BOT_MAXIMUM_GAMES games are played at the same time, NEW for another game is answered with ERR TOO_MANY_GAMES until a game is ended
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class BotConsole {
+
+    // The games, by their id, where the game without an id has the empty id
+    private final Map<String, CommandInterpreter> games = new HashMap<>();
+    // The channel the commands are read from
+    private final FileChannel input;
+    // The channel the responses are written to
+    private final FileChannel output;
+    // The commands, that were read and not handled yet
+    private final ByteBuffer inputBuffer = ByteBuffer.allocateDirect(1 << 16);
+    // The responses, that weren't written yet
+    private final ByteBuffer outputBuffer = ByteBuffer.allocateDirect(1 << 16);
+    // The response, that is built for the current command
+    private final StringBuilder response = new StringBuilder();
+    // Whether or not the rest of a line is skipped, since it didn't fit into the buffer
+    private boolean skippingLine;
+    // Whether or not the bot mode still reads commands
+    private boolean open = true;
+
+    /**
+     * This is the constructor method, which uses the standard input and output
+     */
+    public BotConsole() {
+        this(new FileInputStream(FileDescriptor.in).getChannel(), new FileOutputStream(FileDescriptor.out).getChannel());
+    }
+
+    /**
+     * This is the constructor method
+     *
+     * @param input  The channel the commands are read from
+     * @param output The channel the responses are written to
+     */
+    public BotConsole(FileChannel input, FileChannel output) {
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     * This method handles the commands, until the input ends or QUIT is given without an id
+     *
+     * @throws IOException If the commands can't be read or the responses can't be written
+     */
+    public void run() throws IOException {
+        while (open && input.read(inputBuffer) >= 0) {
+            inputBuffer.flip();
+            handleLines();
+            inputBuffer.compact();
+            if (!inputBuffer.hasRemaining()) {
+                // the line is longer than the buffer, so it can't be a valid command
+                inputBuffer.clear();
+                skippingLine = true;
+                writeResponse("ERR LINE_TOO_LONG");
+            }
+            // every command that was read at once is answered at once
+            flush();
+        }
+        // the last command doesn't need a line break, once the input ended
+        if (open && inputBuffer.position() > 0 && !skippingLine) {
+            inputBuffer.flip();
+            byte[] line = new byte[inputBuffer.remaining()];
+            inputBuffer.get(line);
+            handleLine(new String(line, StandardCharsets.US_ASCII));
+        }
+        flush();
+    }
+
+    /**
+     * This method handles every complete line in the input buffer, the incomplete line at the end stays in the buffer
+     *
+     * @throws IOException If the responses can't be written
+     */
+    private void handleLines() throws IOException {
+        int lineStart = inputBuffer.position();
+        for (int i = lineStart; i < inputBuffer.limit() && open; i++) {
+            if (inputBuffer.get(i) != '\n') {
+                continue;
+            }
+            if (skippingLine) {
+                skippingLine = false;
+            } else {
+                byte[] line = new byte[i - lineStart];
+                inputBuffer.get(lineStart, line);
+                handleLine(new String(line, StandardCharsets.US_ASCII));
+            }
+            lineStart = i + 1;
+        }
+        inputBuffer.position(lineStart);
+    }
+
+    /**
+     * This method handles a single command and writes its response
+     *
+     * @param line The command
+     * @throws IOException If the response can't be written
+     */
+    private void handleLine(String line) throws IOException {
+        String trimmedLine = line.trim();
+        if (trimmedLine.isEmpty()) {
+            return;
+        }
+        String[] arguments = trimmedLine.split("\\s+");
+        String id = "";
+        // the first word is the id of the game, if it isn't a command
+        if (!arguments[0].equalsIgnoreCase("QUIT") && CommandInterpreter.Endpoint.toEndpoint(arguments[0]) == null) {
+            id = arguments[0];
+            String[] commandArguments = new String[arguments.length - 1];
+            System.arraycopy(arguments, 1, commandArguments, 0, commandArguments.length);
+            arguments = commandArguments;
+        }
+        response.setLength(0);
+        if (!id.isEmpty()) {
+            response.append(id).append(' ');
+        }
+        if (arguments.length == 0) {
+            response.append("ERR UNKNOWN_COMMAND");
+        } else if (arguments[0].equalsIgnoreCase("QUIT")) {
+            if (id.isEmpty()) {
+                open = false;
+            }
+            games.remove(id);
+            response.append("OK BYE");
+        } else {
+            CommandInterpreter.Endpoint endpoint = CommandInterpreter.Endpoint.toEndpoint(arguments[0]);
+            if (endpoint == null) {
+                response.append("ERR UNKNOWN_COMMAND");
+            } else {
+                CommandInterpreter game = games.get(id);
+                if (game == null && endpoint == CommandInterpreter.Endpoint.NEW && games.size() < Constants.BOT_MAXIMUM_GAMES) {
+                    game = new CommandInterpreter();
+                    games.put(id, game);
+                }
+                if (game == null) {
+                    response.append(endpoint == CommandInterpreter.Endpoint.NEW ? "ERR TOO_MANY_GAMES" : "ERR NO_GAME");
+                } else {
+                    game.execute(endpoint, arguments, response);
+                    // a NEW that failed doesn't take up one of the games
+                    if (!game.hasGame()) {
+                        games.remove(id);
+                    }
+                }
+            }
+        }
+        writeResponse(response);
+    }
+
+    /**
+     * This method adds a response and a line break to the output buffer, the buffer is written whenever it is full
+     *
+     * @param text The response
+     * @throws IOException If the response can't be written
+     */
+    private void writeResponse(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            if (!outputBuffer.hasRemaining()) {
+                flush();
+            }
+            // the responses only contain ascii characters, so every character is a single byte
+            outputBuffer.put((byte) text.charAt(i));
+        }
+        if (!outputBuffer.hasRemaining()) {
+            flush();
+        }
+        outputBuffer.put((byte) '\n');
+    }
+
+    /**
+     * This method writes the output buffer into the output channel
+     *
+     * @throws IOException If the responses can't be written
+     */
+    private void flush() throws IOException {
+        outputBuffer.flip();
+        while (outputBuffer.hasRemaining()) {
+            output.write(outputBuffer);
+        }
+        outputBuffer.clear();
+    }
+}
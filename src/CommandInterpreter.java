@@ -0,0 +1,282 @@
+/**
+ * This is the class for the line-based protocol, that bots use to play a game without the window
+ * It owns a single game and turns every command into a response, which is used by the sessions of the headless server and by the bot mode
+ * <p>
+ * Every command and every response is a single line, commands can also be given by their first letter:
+ * NEW height width mines [seed] -> OK DEFAULT flags height width mines seed
+ * REVEAL x y, FLAG x y, CHORD x y -> OK state flags amount x,y,content ... or OK state flags MAP row/row/...
+ * HINT -> OK state flags x y, or OK state flags NONE, the hint is only looked at and not shown
+ * MAP -> OK state flags MAP row/row/...
+ * Errors are answered with: ERR reason
+ * The content of a field is its number, M for a mine, F for a flag or . for an undiscovered field
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class CommandInterpreter implements FieldChangeListener {
+
+    // The game, or null if no game was started yet
+    private Game game;
+    // The response, that is built for the current command
+    private StringBuilder response;
+    // The amount of fields the current command changed
+    private int amountOfChangedFields;
+    // Whether or not the current command changed the whole map
+    private boolean mapChanged;
+    // Whether or not the changed fields are added to the response, which is only done for moves
+    private boolean collectingChanges;
+
+    // command methods
+
+    /**
+     * This method executes a command and adds its response to the given builder, without the line break
+     *
+     * @param endpoint  The command
+     * @param arguments The name of the command, followed by its arguments
+     * @param response  The builder the response is added to
+     */
+    public void execute(Endpoint endpoint, String[] arguments, StringBuilder response) {
+        this.response = response;
+        int responseStart = response.length();
+        try {
+            execute(endpoint, arguments);
+        } catch (NumberFormatException e) {
+            response.setLength(responseStart);
+            response.append("ERR INVALID_NUMBER");
+        } finally {
+            collectingChanges = false;
+            this.response = null;
+        }
+    }
+
+    /**
+     * This method checks, whether or not a game was started with NEW
+     *
+     * @return Whether or not there is a game
+     */
+    public boolean hasGame() {
+        return game != null;
+    }
+
+    /**
+     * This method executes a command and builds its response
+     *
+     * @param endpoint  The command
+     * @param arguments The name of the command, followed by its arguments
+     */
+    private void execute(Endpoint endpoint, String[] arguments) {
+        if (endpoint == Endpoint.NEW) {
+            startGame(arguments);
+            return;
+        }
+        if (endpoint == Endpoint.STATS) {
+            // the latencies belong to whoever runs the interpreter
+            response.append("ERR UNSUPPORTED");
+            return;
+        }
+        if (game == null) {
+            response.append("ERR NO_GAME");
+            return;
+        }
+        if (endpoint == Endpoint.MAP) {
+            appendState();
+            appendMap();
+            return;
+        }
+        if (endpoint == Endpoint.HINT) {
+            appendHint();
+            return;
+        }
+        if (arguments.length != 3) {
+            response.append("ERR USAGE ").append(endpoint).append(" x y");
+            return;
+        }
+        int x = Integer.parseInt(arguments[1]);
+        int y = Integer.parseInt(arguments[2]);
+        if (x < 0 || x >= game.getMapHeight() || y < 0 || y >= game.getMapWidth()) {
+            response.append("ERR OUT_OF_MAP");
+            return;
+        }
+        if (game.getGameState() == GameState.WON || game.getGameState() == GameState.LOST) {
+            response.append("ERR GAME_OVER");
+            return;
+        }
+        amountOfChangedFields = 0;
+        mapChanged = false;
+        collectingChanges = true;
+        int changesStart = response.length();
+        if (endpoint == Endpoint.REVEAL) {
+            game.walkOnField(x, y);
+        } else if (endpoint == Endpoint.FLAG) {
+            game.placeRemoveFlag(x, y);
+        } else {
+            game.chordOnField(x, y);
+        }
+        collectingChanges = false;
+        // the changed fields were written by the listener, the state is put in front of them
+        String changes = response.substring(changesStart);
+        response.setLength(changesStart);
+        appendState();
+        if (mapChanged) {
+            appendMap();
+        } else {
+            response.append(' ').append(amountOfChangedFields).append(changes);
+        }
+    }
+
+    /**
+     * This method starts a new game with the given arguments
+     *
+     * @param arguments The name of the command, followed by its arguments: NEW height width mines [seed]
+     */
+    private void startGame(String[] arguments) {
+        if (arguments.length != 4 && arguments.length != 5) {
+            response.append("ERR USAGE NEW height width mines [seed]");
+            return;
+        }
+        int mapHeight = Integer.parseInt(arguments[1]);
+        int mapWidth = Integer.parseInt(arguments[2]);
+        int amountOfMines = Integer.parseInt(arguments[3]);
+        // the same limits as for the window, but with a smaller map, since many games share the memory
+        if (mapHeight < 5 || mapWidth < 5 || (long) mapHeight * mapWidth > Constants.SERVER_MAXIMUM_FIELDS
+                || amountOfMines < 0 || amountOfMines >= mapHeight * mapWidth) {
+            response.append("ERR INVALID_MAP");
+            return;
+        }
+        if (game != null) {
+            game.removeFieldChangeListener(this);
+        }
+        if (arguments.length == 5) {
+            game = new Game(mapHeight, mapWidth, amountOfMines, amountOfMines, Long.parseLong(arguments[4]));
+        } else {
+            game = new Game(mapHeight, mapWidth, amountOfMines);
+        }
+        game.addFieldChangeListener(this);
+        appendState();
+        response.append(' ').append(mapHeight).append(' ').append(mapWidth).append(' ').append(amountOfMines).append(' ').append(game.getSeed());
+    }
+
+    /**
+     * This method looks for a hint and adds its coordinates to the response
+     * The hint is hidden again right away, so the map of the client stays the same
+     */
+    private void appendHint() {
+        if (!game.areMinesPlaced() || game.getGameState() != GameState.DEFAULT) {
+            response.append("ERR NOT_RUNNING");
+            return;
+        }
+        game.showOrHideHint(true);
+        int hintField = game.getHintField();
+        game.showOrHideHint(false);
+        appendState();
+        if (hintField < 0) {
+            response.append(" NONE");
+        } else {
+            response.append(' ').append(hintField / game.getMapWidth()).append(' ').append(hintField % game.getMapWidth());
+        }
+    }
+
+    /**
+     * This method adds the game-state and the remaining flags to the response
+     */
+    private void appendState() {
+        response.append("OK ").append(game.getGameState()).append(' ').append(game.getFlagsRemaining());
+    }
+
+    /**
+     * This method adds the content of every field to the response, the rows are separated by a slash
+     */
+    private void appendMap() {
+        response.append(" MAP ");
+        for (int x = 0; x < game.getMapHeight(); x++) {
+            if (x > 0) {
+                response.append('/');
+            }
+            for (int y = 0; y < game.getMapWidth(); y++) {
+                response.append(toCharacter(game.getFieldOfShownMap(x, y)));
+            }
+        }
+    }
+
+    /**
+     * This method gives back the character, that stands for the given content in the responses
+     *
+     * @param content The content of the field
+     * @return The character
+     */
+    private static char toCharacter(FieldContent content) {
+        if (content == FieldContent.MINE) {
+            return 'M';
+        }
+        if (content == FieldContent.FLAG) {
+            return 'F';
+        }
+        if (content == FieldContent.UNDISCOVERED) {
+            return '.';
+        }
+        return (char) ('0' + content.toInteger());
+    }
+
+    // listener methods
+
+    @Override
+    public void fieldsChanged(Game game, int[] fields, int amountOfFields) {
+        if (!collectingChanges || mapChanged) {
+            return;
+        }
+        for (int i = 0; i < amountOfFields; i++) {
+            int x = fields[i] / game.getMapWidth();
+            int y = fields[i] % game.getMapWidth();
+            response.append(' ').append(x).append(',').append(y).append(',').append(toCharacter(game.getFieldOfShownMap(x, y)));
+        }
+        amountOfChangedFields += amountOfFields;
+    }
+
+    @Override
+    public void mapChanged(Game game) {
+        mapChanged = true;
+    }
+
+    /**
+     * This is the enum for the commands of the protocol
+     */
+    public enum Endpoint {
+        NEW("N"),
+        REVEAL("R"),
+        FLAG("F"),
+        CHORD("C"),
+        HINT("H"),
+        MAP("M"),
+        STATS("S");
+
+        // Every command, where the index is the ordinal
+        private static final Endpoint[] ENDPOINTS = values();
+
+        // The first letter of the command, which can be used instead of its name
+        private final String shortName;
+
+        /**
+         * This is the constructor method
+         *
+         * @param shortName The first letter of the command, which can be used instead of its name
+         */
+        Endpoint(String shortName) {
+            this.shortName = shortName;
+        }
+
+        /**
+         * This method parses the given name of a command, in any case
+         *
+         * @param name The name or the first letter of the command
+         * @return The command, or null if there is no command with that name
+         */
+        public static Endpoint toEndpoint(String name) {
+            for (Endpoint endpoint : ENDPOINTS) {
+                if (endpoint.name().equalsIgnoreCase(name) || endpoint.shortName.equalsIgnoreCase(name)) {
+                    return endpoint;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * This is the class for a latency histogram, that many threads can record into at the same time
+ * The values are recorded into a few stripes, which are picked by the thread, so threads rarely wait for each other,
+ * while the memory doesn't grow with the amount of threads, which can be a lot, if every client of the server has its own
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class ConcurrentLatencyHistogram {
+
+    // The stripes, which are each only changed while holding their own lock
+    private final LatencyHistogram[] stripes;
+
+    /**
+     * This is the constructor method, which creates at least as many stripes as there are processors
+     */
+    public ConcurrentLatencyHistogram() {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        stripes = new LatencyHistogram[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * This method records a single value
+     *
+     * @param nanos The value in nanoseconds
+     */
+    public void record(long nanos) {
+        LatencyHistogram stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.record(nanos);
+        }
+    }
+
+    /**
+     * This method gives back all the recorded values
+     *
+     * @return The merged histogram, which is a copy
+     */
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram stripe : stripes) {
+            synchronized (stripe) {
+                merged.add(stripe);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * This method removes all recorded values
+     */
+    public void reset() {
+        for (LatencyHistogram stripe : stripes) {
+            synchronized (stripe) {
+                stripe.reset();
+            }
+        }
+    }
+}
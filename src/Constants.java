@@ -41,19 +41,17 @@ public class Constants {
       AMOUNT_OF_FLAGS = 99;
      */
     /**
-     * The height of the map
+     * The height of the map, if no other height is given when starting the game
      * minimum: 5
-     * maximum: 16
      */
     public static final int MAP_HEIGHT = 16;
     /**
-     * The width of the map
+     * The width of the map, if no other width is given when starting the game
      * minimum: 5
-     * maximum: 32
      */
     public static final int MAP_WIDTH = 16;
     /**
-     * The amount of mines that are getting placed on the map
+     * The amount of mines that are getting placed on the map, if no other amount is given when starting the game
      * <p>Depending on desired difficulty and map-size ( MAP_HEIGHT * MAP_WIDTH ), this number should be adjusted:
      * <blockquote><pre>{@code
      * Easy: 0.15625 * map-size
@@ -67,6 +65,41 @@ public class Constants {
      * The amount of flags the player can use at once ( default is same as AMOUNT_OF_MINES )
      */
     public static final int AMOUNT_OF_FLAGS = 40;
+    /**
+     * Whether or not every map can be solved from the first click on without guessing
+     * The search for such a map takes at most NO_GUESS_TIME_BUDGET milliseconds, if none is found in time a random map is used
+     */
+    public static final boolean NO_GUESS_MODE = false;
+    /**
+     * The time in milliseconds the search for a map without guessing may take at most
+     */
+    public static final int NO_GUESS_TIME_BUDGET = 2000;
+    /**
+     * The amount of boards that are prepared in the background, so the first click doesn't have to place the mines
+     * No boards are prepared if the value is "0", if a seed is given when starting the game or in the no-guess mode
+     */
+    public static final int BOARD_POOL_SIZE = 4;
+    /**
+     * The amount of fields a map may have at most, for its boards to be prepared in the background
+     */
+    public static final int BOARD_POOL_MAXIMUM_FIELDS = 1_000_000;
+    /**
+     * The amount of fields a map needs at least, for the counts of its fields to only be calculated when they are needed
+     */
+    public static final int LAZY_COUNTS_MINIMUM_FIELDS = 4_000_000;
+    /**
+     * The probability of a field to have a mine on it in the endless mode, which is started with the argument "endless"
+     * minimum: 0.15
+     */
+    public static final double ENDLESS_MINE_DENSITY = 0.2;
+    /**
+     * The amount of chunks of 64 x 64 fields, that are kept loaded at most in the endless mode
+     */
+    public static final int ENDLESS_MAXIMUM_LOADED_CHUNKS = 256;
+    /**
+     * The amount of chunks, that are kept packed in memory at most in the endless mode, before they are written to disk
+     */
+    public static final int ENDLESS_MAXIMUM_PACKED_CHUNKS = 4096;
     // Window values
     /**
      * The factor that determines how big the window is compared to the screen
@@ -86,6 +119,42 @@ public class Constants {
      * The location of the Minesweeper.png File
      */
     public static final String FILE_LOCATION_ICON = "src\\Minesweeper.png";
+    /**
+     * The location of the file the game is saved into with Ctrl+S and resumed from with the argument "resume"
+     */
+    public static final String FILE_LOCATION_SAVE = "Minesweeper.sav";
+    /**
+     * Whether or not the planes of a saved game are compressed
+     */
+    public static final boolean SAVE_COMPRESSED = true;
+    /**
+     * Whether or not every move is recorded in the journal file, from which the game can be replayed with the argument "replay"
+     */
+    public static final boolean RECORD_JOURNAL = true;
+    /**
+     * The location of the directory, in which every start of the game records its moves in a file of its own
+     */
+    public static final String FILE_LOCATION_JOURNALS = "journals";
+    /**
+     * Whether or not the result of every finished round is recorded, from which the high-scores are shown with the argument "scores"
+     */
+    public static final boolean RECORD_HIGH_SCORES = true;
+    /**
+     * The location of the file the result of every finished round is appended to
+     */
+    public static final String FILE_LOCATION_HIGH_SCORES = "Minesweeper.scores";
+    /**
+     * The location of the file the results are compacted into
+     */
+    public static final String FILE_LOCATION_HIGH_SCORES_SNAPSHOT = "Minesweeper.scores.snapshot";
+    /**
+     * The least amount of results appended to the high-score file, after which they are compacted into the snapshot
+     */
+    public static final int HIGH_SCORE_COMPACTION_RECORDS = 1000;
+    /**
+     * The amount of wins shown on the leaderboard with the argument "scores"
+     */
+    public static final int HIGH_SCORE_LEADERBOARD_SIZE = 10;
 
     // Window values
     /**
@@ -146,6 +215,10 @@ public class Constants {
      * The text of the hint-button
      */
     public static String BUTTON_STRING_HINT = "Hint";
+    /**
+     * The text of the heatmap-button
+     */
+    public static String BUTTON_STRING_HEATMAP = "Heatmap";
     // The emote-button texts
     /**
      * The text that is displayed on the emote-button, when nothing happens
@@ -189,6 +262,18 @@ public class Constants {
      * The color of the hint-button
      */
     public static final Color COLOR_HINT = new Color(252, 252, 252);
+    /**
+     * The color of the heatmap-button
+     */
+    public static final Color COLOR_HEATMAP = new Color(252, 252, 252);
+    /**
+     * The color the heatmap draws over a field that can't have a mine on it, it is drawn translucent
+     */
+    public static final Color COLOR_HEATMAP_SAFE = new Color(0, 252, 0);
+    /**
+     * The color the heatmap draws over a field that has a mine on it for sure, it is drawn translucent
+     */
+    public static final Color COLOR_HEATMAP_MINE = new Color(252, 0, 0);
 
     // Emote button colors
     /**
@@ -271,9 +356,53 @@ public class Constants {
 
     // Miscellaneous Values
     /**
-     * The character used to separate the x- and y-coordinates, when saved in a string
+     * The width and height of each field of the map in pixels
+     */
+    public static final int FIELD_SIZE = 30;
+    /**
+     * The time in milliseconds the chances of the heatmap may take to calculate, before the density of the remaining mines is shown instead
+     */
+    public static final int HEATMAP_TIME_BUDGET = 100;
+    /**
+     * Whether or not the latencies of mine generation, reveals, win checks, hints and repaints are recorded into histograms
+     */
+    public static final boolean INSTRUMENTATION = true;
+    /**
+     * Whether or not the recorded latencies are printed, when the program ends
+     */
+    public static final boolean DUMP_INSTRUMENTATION_AT_SHUTDOWN = true;
+    /**
+     * The time in milliseconds an input has to take, before the progress bar is shown
+     */
+    public static final int PROGRESS_BAR_DELAY = 200;
+    /**
+     * The port the headless server listens on, if no other port is given
+     */
+    public static final int SERVER_PORT = 4711;
+    /**
+     * The amount of commands of a single connection, that can be queued before the server stops reading from it
+     */
+    public static final int SERVER_QUEUE_SIZE = 64;
+    /**
+     * The time in milliseconds the reader of a connection waits on a full queue, before it checks whether or not the session was closed
+     */
+    public static final int SERVER_QUEUE_WAIT = 100;
+    /**
+     * The amount of commands a single connection may send per second, on average
+     */
+    public static final int SERVER_RATE_LIMIT = 1000;
+    /**
+     * The amount of commands a single connection may send at once, before the rate limit applies
+     */
+    public static final int SERVER_RATE_BURST = 200;
+    /**
+     * The maximum amount of fields of a map of the headless server, since many games share the memory
+     */
+    public static final int SERVER_MAXIMUM_FIELDS = 1_000_000;
+    /**
+     * The maximum amount of games, that are played at the same time in the bot mode, since every game keeps its map in memory until it is ended with QUIT
      */
-    public static final String SEPARATION_TOKEN = ";";
+    public static final int BOT_MAXIMUM_GAMES = 1024;
     /**
      * The width of each field-button
      */
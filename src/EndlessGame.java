@@ -0,0 +1,648 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * This is the class for a game on an endless map
+ * The map is split into chunks of 64 x 64 fields, whose mines are derived from the seed and the coordinates of the chunk,
+ * so a chunk is only generated when it is first needed and can be thrown away and generated again later
+ * Chunks that are not inside the viewport are packed into a compact form, once too many chunks are loaded, chunks without a revealed field or a flag
+ * are thrown away instead, since they are generated again exactly as they were,
+ * and the packed chunks that were used the longest time ago are written to disk, once too many chunks are packed,
+ * so the memory of the game stays bounded, no matter how much of the map is explored
+ * A free area is revealed in steps of a bounded amount of fields, so a single click never has to wait for an area of unknown size
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class EndlessGame {
+    // The amount of bits of a coordinate that are used for the position inside a chunk
+    private static final int CHUNK_BITS = 6;
+    // The width and height of a chunk, every row of a chunk fits into a single long
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    // The mask of the position inside a chunk
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    // The lowest mine density that is allowed, below it the free areas get so big, that exploring the map is no game anymore
+    // at this density the fields without an adjacent mine are too rare to form an endless area, the bounded steps make sure of the rest
+    private static final double MINIMUM_MINE_DENSITY = 0.15;
+    // The amount of fields a single step of revealing a free area reveals at most
+    private static final int MAXIMUM_FIELDS_PER_STEP = 1 << 16;
+    // The packed form of a chunk, whose safe fields are all revealed and which has no flags, it doesn't need anything else to be restored
+    // it is empty, so a resolved chunk takes no room on disk either
+    private static final byte[] RESOLVED_CHUNK = new byte[0];
+
+    // The seed every chunk is derived from
+    private final long seed;
+    // The probability of a field to have a mine on it
+    private final double mineDensity;
+    // The amount of chunks that are kept loaded at most, before chunks outside the viewport are packed
+    private final int maximumLoadedChunks;
+    // The amount of chunks that are kept packed in memory at most, before they are written to disk
+    private final int maximumPackedChunks;
+    // The directory the packed chunks are written to, or null if they are all kept in memory
+    private final Path spillDirectory;
+    // The loaded chunks by their key, in the order they were used in
+    private final LinkedHashMap<Long, Chunk> loadedChunks = new LinkedHashMap<>(64, 0.75f, true);
+    // The packed revealed and flag planes of the chunks that were unloaded, by their key, in the order they were unloaded in
+    private final LinkedHashMap<Long, byte[]> packedChunks = new LinkedHashMap<>();
+    // The keys of the chunks, that were written to disk, so a chunk that is generated for the first time doesn't look for its file
+    private final Set<Long> spilledChunks = new HashSet<>();
+    // The last chunk that was used, since most accesses are to the same chunk as the one before
+    private Chunk lastChunk;
+    // The state of the game, which is either default or lost
+    private GameState gameState = GameState.DEFAULT;
+    // The amount of revealed fields
+    private long revealedCount;
+    // The amount of flags placed
+    private long flagCount;
+    // The viewport in fields, the chunks inside it are never packed
+    private int viewportMinX;
+    private int viewportMinY;
+    private int viewportMaxX = -1;
+    private int viewportMaxY = -1;
+    // This stack contains the fields that still need to be checked for the autofill functionality, as x << 32 | y
+    // it is kept between the steps, so a free area, that is too big for a single step, is revealed further by the next one
+    private long[] fieldsToCheck = new long[64];
+    // The amount of fields on the stack
+    private int amountToCheck;
+
+    /**
+     * This is the constructor method
+     * The fields next to the field at 0 0 never have a mine on them, so the game can always be started there
+     *
+     * @param seed                The seed of the map
+     * @param mineDensity         The probability of a field to have a mine on it, between 0 and 1
+     * @param maximumLoadedChunks The amount of chunks that are kept loaded at most
+     * @param maximumPackedChunks The amount of chunks that are kept packed in memory at most
+     * @param spillDirectory      The directory the packed chunks are written to, or null to keep every packed chunk in memory
+     */
+    public EndlessGame(long seed, double mineDensity, int maximumLoadedChunks, int maximumPackedChunks, Path spillDirectory) {
+        if (mineDensity < MINIMUM_MINE_DENSITY || mineDensity >= 1) {
+            throw new IllegalArgumentException("The mine density has to be at least " + MINIMUM_MINE_DENSITY + " and below 1");
+        }
+        this.seed = seed;
+        this.mineDensity = mineDensity;
+        this.maximumLoadedChunks = maximumLoadedChunks;
+        this.maximumPackedChunks = maximumPackedChunks;
+        this.spillDirectory = spillDirectory;
+    }
+
+    // methods that handle the input
+
+    /**
+     * This method emulates the player walking on the field with the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The game-state the game has after the click on the map
+     */
+    public GameState walkOnField(int x, int y) {
+        if (gameState == GameState.DEFAULT) {
+            Chunk chunk = getChunk(x, y);
+            int row = x & CHUNK_MASK;
+            long bit = 1L << (y & CHUNK_MASK);
+            if ((chunk.flags[row] & bit) == 0 && (chunk.revealed[row] & bit) == 0) {
+                if ((chunk.mines[row] & bit) != 0) {
+                    // the mine is revealed, the rest of the endless map stays hidden
+                    chunk.revealed[row] |= bit;
+                    gameState = GameState.LOST;
+                    amountToCheck = 0;
+                } else {
+                    revealField(chunk, row, bit);
+                    if (getNeighbourCount(x, y) == 0) {
+                        revealAdjacentFreeCells(x, y);
+                    }
+                }
+            }
+            unloadChunks();
+        }
+        return gameState;
+    }
+
+    /**
+     * This method places or removes the flag on the field
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void placeRemoveFlag(int x, int y) {
+        if (gameState != GameState.DEFAULT) {
+            return;
+        }
+        Chunk chunk = getChunk(x, y);
+        int row = x & CHUNK_MASK;
+        long bit = 1L << (y & CHUNK_MASK);
+        if ((chunk.revealed[row] & bit) == 0) {
+            chunk.flags[row] ^= bit;
+            flagCount += (chunk.flags[row] & bit) != 0 ? 1 : -1;
+        }
+        unloadChunks();
+    }
+
+    /**
+     * This method reveals the next step of the free areas, that were too big to be revealed by a single step
+     *
+     * @return Whether or not there are still fields left to reveal afterwards
+     */
+    public boolean continueRevealing() {
+        if (gameState == GameState.DEFAULT) {
+            revealFreeAreas();
+            unloadChunks();
+        }
+        return hasFieldsToReveal();
+    }
+
+    /**
+     * This method checks, whether or not a free area still has fields, that are revealed by the next step
+     *
+     * @return Whether or not there are fields left to reveal
+     */
+    public boolean hasFieldsToReveal() {
+        return amountToCheck > 0;
+    }
+
+    /**
+     * This method reveals all adjacent fields, for the block of free fields given, as far as a single step goes
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    private void revealAdjacentFreeCells(int x, int y) {
+        pushFieldToCheck(toKey(x, y));
+        revealFreeAreas();
+    }
+
+    /**
+     * This method reveals all adjacent fields of the free fields on the stack of fields to check, and of every free field that is found on the way,
+     * until the stack is empty or the step revealed as many fields as it may
+     * The chunks are generated as the area reaches them
+     */
+    private void revealFreeAreas() {
+        long revealedBefore = revealedCount;
+        while (amountToCheck > 0 && revealedCount - revealedBefore < MAXIMUM_FIELDS_PER_STEP) {
+            long field = fieldsToCheck[--amountToCheck];
+            int fieldX = (int) (field >> 32);
+            int fieldY = (int) field;
+            for (int k = -1; k < 2; k++) {
+                for (int l = -1; l < 2; l++) {
+                    int a = fieldX + k;
+                    int b = fieldY + l;
+                    Chunk chunk = getChunk(a, b);
+                    int row = a & CHUNK_MASK;
+                    long bit = 1L << (b & CHUNK_MASK);
+                    // to check whether the field is not yet revealed and has no flag on it
+                    if ((chunk.revealed[row] & bit) == 0 && (chunk.flags[row] & bit) == 0) {
+                        revealField(chunk, row, bit);
+                        // if the field is also free, it is getting added to the fields it has to check
+                        if (getNeighbourCount(a, b) == 0) {
+                            pushFieldToCheck(toKey(a, b));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method adds the given field to the stack of fields to check, which grows if it is full
+     *
+     * @param field The field, as x << 32 | y
+     */
+    private void pushFieldToCheck(long field) {
+        if (amountToCheck == fieldsToCheck.length) {
+            fieldsToCheck = Arrays.copyOf(fieldsToCheck, amountToCheck * 2);
+        }
+        fieldsToCheck[amountToCheck++] = field;
+    }
+
+    /**
+     * This method reveals a single field of the given chunk
+     *
+     * @param chunk The chunk
+     * @param row   The row of the field inside the chunk
+     * @param bit   The bit of the field inside the row
+     */
+    private void revealField(Chunk chunk, int row, long bit) {
+        chunk.revealed[row] |= bit;
+        revealedCount++;
+    }
+
+    // viewport methods
+
+    /**
+     * This method sets the area of the map that is currently seen, the chunks inside it are generated and never packed
+     *
+     * @param minX The smallest x-coordinate that is seen
+     * @param minY The smallest y-coordinate that is seen
+     * @param maxX The highest x-coordinate that is seen
+     * @param maxY The highest y-coordinate that is seen
+     */
+    public void setViewport(int minX, int minY, int maxX, int maxY) {
+        viewportMinX = minX;
+        viewportMinY = minY;
+        viewportMaxX = maxX;
+        viewportMaxY = maxY;
+        for (int chunkX = minX >> CHUNK_BITS; chunkX <= maxX >> CHUNK_BITS; chunkX++) {
+            for (int chunkY = minY >> CHUNK_BITS; chunkY <= maxY >> CHUNK_BITS; chunkY++) {
+                getChunk(chunkX << CHUNK_BITS, chunkY << CHUNK_BITS);
+            }
+        }
+        unloadChunks();
+    }
+
+    // chunk methods
+
+    /**
+     * This method gives back the chunk that contains the field with the given coordinates, generating or unpacking it if necessary
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The chunk of the field
+     */
+    private Chunk getChunk(int x, int y) {
+        int chunkX = x >> CHUNK_BITS;
+        int chunkY = y >> CHUNK_BITS;
+        if (lastChunk != null && lastChunk.chunkX == chunkX && lastChunk.chunkY == chunkY) {
+            return lastChunk;
+        }
+        long key = toKey(chunkX, chunkY);
+        Chunk chunk = loadedChunks.get(key);
+        if (chunk == null) {
+            chunk = new Chunk(chunkX, chunkY, generateMines(chunkX, chunkY));
+            byte[] packedChunk = packedChunks.remove(key);
+            if (packedChunk == null && spilledChunks.remove(key)) {
+                packedChunk = readSpilledChunk(key);
+            }
+            if (packedChunk != null && packedChunk.length == 0) {
+                // every safe field of a resolved chunk is revealed, which is the only chunk, that is packed into nothing, so the revealed plane is the inverse of the mine plane
+                for (int row = 0; row < CHUNK_SIZE; row++) {
+                    chunk.revealed[row] = ~chunk.mines[row];
+                }
+            } else if (packedChunk != null) {
+                unpack(packedChunk, chunk);
+            }
+            loadedChunks.put(key, chunk);
+        }
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    /**
+     * This method generates the mines of the chunk with the given chunk-coordinates
+     * The mines only depend on the seed and the coordinates, so the same chunk always gets the same mines
+     *
+     * @param chunkX The x-coordinate of the chunk
+     * @param chunkY The y-coordinate of the chunk
+     * @return The mine plane of the chunk, a long per row
+     */
+    private long[] generateMines(int chunkX, int chunkY) {
+        SplittableRandom random = new SplittableRandom(seed ^ (toKey(chunkX, chunkY) * 0x9E3779B97F4A7C15L));
+        long[] mines = new long[CHUNK_SIZE];
+        for (int row = 0; row < CHUNK_SIZE; row++) {
+            long word = 0;
+            for (int column = 0; column < CHUNK_SIZE; column++) {
+                if (random.nextDouble() < mineDensity) {
+                    word |= 1L << column;
+                }
+            }
+            mines[row] = word;
+        }
+        // the fields next to the starting field are kept free
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if (k >> CHUNK_BITS == chunkX && l >> CHUNK_BITS == chunkY) {
+                    mines[k & CHUNK_MASK] &= ~(1L << (l & CHUNK_MASK));
+                }
+            }
+        }
+        return mines;
+    }
+
+    /**
+     * This method packs the chunks that were used the longest time ago and aren't inside the viewport, until few enough chunks are loaded,
+     * and writes the chunks that were packed the longest time ago to disk, until few enough chunks are packed
+     */
+    private void unloadChunks() {
+        Iterator<Map.Entry<Long, Chunk>> iterator = loadedChunks.entrySet().iterator();
+        while (loadedChunks.size() > maximumLoadedChunks && iterator.hasNext()) {
+            Chunk chunk = iterator.next().getValue();
+            if (isInViewport(chunk)) {
+                continue;
+            }
+            iterator.remove();
+            // a chunk, that the player didn't change, is generated again from the seed, so nothing of it has to be kept
+            if (!chunk.isUntouched()) {
+                packedChunks.put(toKey(chunk.chunkX, chunk.chunkY), chunk.isResolved() ? RESOLVED_CHUNK : pack(chunk));
+            }
+            if (chunk == lastChunk) {
+                lastChunk = null;
+            }
+        }
+        if (spillDirectory == null) {
+            return;
+        }
+        Iterator<Map.Entry<Long, byte[]>> packedIterator = packedChunks.entrySet().iterator();
+        while (packedChunks.size() > maximumPackedChunks) {
+            Map.Entry<Long, byte[]> packedChunk = packedIterator.next();
+            packedIterator.remove();
+            writeSpilledChunk(packedChunk.getKey(), packedChunk.getValue());
+        }
+    }
+
+    /**
+     * This method writes the packed chunk with the given key to disk, a resolved chunk is written as an empty file
+     *
+     * @param key         The key of the chunk
+     * @param packedChunk The packed planes
+     */
+    private void writeSpilledChunk(long key, byte[] packedChunk) {
+        try {
+            Files.write(toSpillPath(key), packedChunk);
+            spilledChunks.add(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("A chunk couldn't be written to disk", e);
+        }
+    }
+
+    /**
+     * This method reads the packed chunk with the given key from disk and deletes its file
+     *
+     * @param key The key of the chunk
+     * @return The packed planes
+     */
+    private byte[] readSpilledChunk(long key) {
+        Path path = toSpillPath(key);
+        try {
+            byte[] packedChunk = Files.readAllBytes(path);
+            Files.delete(path);
+            return packedChunk;
+        } catch (IOException e) {
+            throw new UncheckedIOException("A chunk couldn't be read from disk", e);
+        }
+    }
+
+    /**
+     * This method gives back the file the packed chunk with the given key is written to
+     *
+     * @param key The key of the chunk
+     * @return The file
+     */
+    private Path toSpillPath(long key) {
+        return spillDirectory.resolve(Long.toHexString(key) + ".chunk");
+    }
+
+    /**
+     * This method deletes the files of every chunk, that was written to disk
+     *
+     * @throws IOException If a file can't be deleted
+     */
+    public void close() throws IOException {
+        if (spillDirectory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*.chunk")) {
+            for (Path path : files) {
+                Files.delete(path);
+            }
+        }
+        spilledChunks.clear();
+    }
+
+    /**
+     * This method checks, whether or not the given chunk is at least partly inside the viewport
+     *
+     * @param chunk The chunk
+     * @return Whether or not the chunk is inside the viewport
+     */
+    private boolean isInViewport(Chunk chunk) {
+        return chunk.chunkX >= viewportMinX >> CHUNK_BITS && chunk.chunkX <= viewportMaxX >> CHUNK_BITS
+                && chunk.chunkY >= viewportMinY >> CHUNK_BITS && chunk.chunkY <= viewportMaxY >> CHUNK_BITS;
+    }
+
+    /**
+     * This method packs the revealed and flag planes of the given chunk, the mines don't need to be packed since they can be generated again
+     *
+     * @param chunk The chunk
+     * @return The packed planes
+     */
+    private static byte[] pack(Chunk chunk) {
+        ByteBuffer planes = ByteBuffer.allocate(2 * CHUNK_SIZE * Long.BYTES);
+        planes.asLongBuffer().put(chunk.revealed).put(chunk.flags);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(planes.array());
+        deflater.finish();
+        byte[] buffer = new byte[planes.capacity() + 64];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * This method unpacks the revealed and flag planes into the given chunk
+     *
+     * @param packedChunk The packed planes
+     * @param chunk       The chunk
+     */
+    private static void unpack(byte[] packedChunk, Chunk chunk) {
+        byte[] planes = new byte[2 * CHUNK_SIZE * Long.BYTES];
+        Inflater inflater = new Inflater();
+        inflater.setInput(packedChunk);
+        try {
+            inflater.inflate(planes);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("A packed chunk is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+        ByteBuffer.wrap(planes).asLongBuffer().get(chunk.revealed).get(chunk.flags);
+    }
+
+    // getter methods
+
+    /**
+     * This method gives back the content of the field on the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The content of the field
+     */
+    public FieldContent getFieldOfShownMap(int x, int y) {
+        Chunk chunk = getChunk(x, y);
+        int row = x & CHUNK_MASK;
+        long bit = 1L << (y & CHUNK_MASK);
+        FieldContent fieldContent;
+        if ((chunk.revealed[row] & bit) != 0) {
+            fieldContent = (chunk.mines[row] & bit) != 0 ? FieldContent.MINE : FieldContent.toFieldContent(getNeighbourCount(x, y));
+        } else {
+            fieldContent = (chunk.flags[row] & bit) != 0 ? FieldContent.FLAG : FieldContent.UNDISCOVERED;
+        }
+        // looking around the map loads chunks as well, so it has to unload them too
+        unloadChunks();
+        return fieldContent;
+    }
+
+    /**
+     * This method counts the mines adjacent to the field with the given coordinates, the chunks around it are generated if needed
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The amount of adjacent mines
+     */
+    private int getNeighbourCount(int x, int y) {
+        int number = 0;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if (k != 0 || l != 0) {
+                    Chunk chunk = getChunk(x + k, y + l);
+                    if ((chunk.mines[(x + k) & CHUNK_MASK] & (1L << ((y + l) & CHUNK_MASK))) != 0) {
+                        number++;
+                    }
+                }
+            }
+        }
+        return number;
+    }
+
+    /**
+     * This method returns the state of the game
+     *
+     * @return The state of the game, which is either default or lost
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * This method returns the amount of revealed fields
+     *
+     * @return The amount of revealed fields
+     */
+    public long getRevealedCount() {
+        return revealedCount;
+    }
+
+    /**
+     * This method returns the amount of placed flags
+     *
+     * @return The amount of flags
+     */
+    public long getFlagCount() {
+        return flagCount;
+    }
+
+    /**
+     * This method returns the amount of chunks that are loaded
+     *
+     * @return The amount of loaded chunks
+     */
+    public int getLoadedChunkCount() {
+        return loadedChunks.size();
+    }
+
+    /**
+     * This method returns the amount of chunks that are unloaded and kept in their compact form in memory
+     *
+     * @return The amount of packed chunks
+     */
+    public int getPackedChunkCount() {
+        return packedChunks.size();
+    }
+
+    /**
+     * This method returns the amount of chunks that are unloaded and written to disk
+     *
+     * @return The amount of chunks on disk
+     */
+    public int getSpilledChunkCount() {
+        return spilledChunks.size();
+    }
+
+    /**
+     * This method returns the seed of the map
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    // Miscellaneous methods
+
+    /**
+     * This method packs two integers into a long
+     *
+     * @param high The integer in the upper half
+     * @param low  The integer in the lower half
+     * @return The packed long
+     */
+    private static long toKey(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * This is the class for a single loaded chunk
+     */
+    private static class Chunk {
+        // The coordinates of the chunk
+        private final int chunkX;
+        private final int chunkY;
+        // The planes of the chunk, with a long per row
+        private final long[] mines;
+        private final long[] revealed = new long[CHUNK_SIZE];
+        private final long[] flags = new long[CHUNK_SIZE];
+
+        /**
+         * This is the constructor method
+         *
+         * @param chunkX The x-coordinate of the chunk
+         * @param chunkY The y-coordinate of the chunk
+         * @param mines  The mine plane of the chunk
+         */
+        Chunk(int chunkX, int chunkY, long[] mines) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.mines = mines;
+        }
+
+        /**
+         * This method checks, whether or not no field of the chunk is revealed and no flag is placed on it
+         *
+         * @return Whether or not the chunk is untouched
+         */
+        boolean isUntouched() {
+            for (int row = 0; row < CHUNK_SIZE; row++) {
+                if ((revealed[row] | flags[row]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * This method checks, whether or not every safe field of the chunk is revealed and no flag is placed on it
+         *
+         * @return Whether or not the chunk is resolved
+         */
+        boolean isResolved() {
+            for (int row = 0; row < CHUNK_SIZE; row++) {
+                if ((revealed[row] | mines[row]) != -1L || flags[row] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+
+/**
+ * This is the class of the window of the endless mode
+ * It shows the part of the endless map around the viewport, which is moved with the arrow keys or the mouse wheel
+ * The endless game is only ever used by the event dispatch thread, a big free area is revealed in steps,
+ * one step per event, so the window keeps drawing while the area grows
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class EndlessWindow extends JFrame {
+
+    /**
+     * The game that is played in this window
+     */
+    private final EndlessGame game;
+    /**
+     * The label, that shows the amount of revealed fields and the state of the game
+     */
+    private final JLabel statusLabel;
+    /**
+     * The component that draws the viewport of the map
+     */
+    private final MapComponent mapComponent;
+    /**
+     * Whether or not the next step of revealing a free area is already queued
+     */
+    private boolean revealStepQueued;
+
+    /**
+     * This is the constructor method, which creates the window of the endless mode
+     *
+     * @param title The title of the window
+     * @param game  The game that is played in the window
+     */
+    public EndlessWindow(String title, EndlessGame game) {
+        super(title);
+        this.game = game;
+        setLayout(new BorderLayout());
+        statusLabel = new JLabel();
+        statusLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        add(statusLabel, BorderLayout.NORTH);
+        mapComponent = new MapComponent(Constants.FIELD_SIZE);
+        add(mapComponent, BorderLayout.CENTER);
+
+        // the viewport is moved by a field with the arrow keys
+        bindMove(KeyEvent.VK_UP, "up", -1, 0);
+        bindMove(KeyEvent.VK_DOWN, "down", 1, 0);
+        bindMove(KeyEvent.VK_LEFT, "left", 0, -1);
+        bindMove(KeyEvent.VK_RIGHT, "right", 0, 1);
+        updateStatus();
+    }
+
+    /**
+     * This method binds the given key to moving the viewport
+     *
+     * @param keyCode The code of the key
+     * @param name    The name of the action
+     * @param rows    The amount of rows the viewport is moved by
+     * @param columns The amount of columns the viewport is moved by
+     */
+    private void bindMove(int keyCode, String name, int rows, int columns) {
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+        getRootPane().getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                mapComponent.moveViewport(rows, columns);
+            }
+        });
+    }
+
+    /**
+     * This method shows the amount of revealed fields and the state of the game
+     */
+    private void updateStatus() {
+        String state = game.getGameState() == GameState.LOST ? "  -  you stepped on a mine" : "";
+        statusLabel.setText("revealed: " + game.getRevealedCount() + "  flags: " + game.getFlagCount() + state);
+    }
+
+    /**
+     * This method reveals the next step of a free area, that was too big for a single step, and queues the step after it, if there is one
+     */
+    private void revealNextStep() {
+        revealStepQueued = false;
+        if (game.continueRevealing()) {
+            queueRevealStep();
+        }
+        mapComponent.repaint();
+        updateStatus();
+    }
+
+    /**
+     * This method queues the next step of revealing a free area, after the events that are already queued
+     */
+    private void queueRevealStep() {
+        if (!revealStepQueued) {
+            revealStepQueued = true;
+            SwingUtilities.invokeLater(this::revealNextStep);
+        }
+    }
+
+    /**
+     * This is the class for the component that draws the fields inside the viewport
+     */
+    private class MapComponent extends JComponent {
+        // The width and height of a single field in pixels
+        private final int fieldSize;
+        // The pre-rendered image of every field-content
+        private final BufferedImage[] fieldImages;
+        // The x-coordinate of the field in the upper left corner
+        private int firstRow;
+        // The y-coordinate of the field in the upper left corner
+        private int firstColumn;
+
+        /**
+         * This is the constructor method
+         *
+         * @param fieldSize The width and height of a single field in pixels
+         */
+        MapComponent(int fieldSize) {
+            this.fieldSize = fieldSize;
+            Font font = new Font(Font.SANS_SERIF, Font.BOLD, fieldSize / 2);
+            FieldContent[] fieldContents = FieldContent.values();
+            fieldImages = new BufferedImage[fieldContents.length];
+            for (FieldContent fieldContent : fieldContents) {
+                fieldImages[fieldContent.ordinal()] = BoardComponent.renderField(fieldSize, font, BoardComponent.toBackgroundColor(fieldContent),
+                        BoardComponent.toDisplayText(fieldContent), Constants.COLOR_TEXT_DEFAULT);
+            }
+            setOpaque(true);
+            // the starting field is in the middle of the window, once it is laid out
+            addComponentListener(new ComponentAdapter() {
+                @Override
+                public void componentResized(ComponentEvent e) {
+                    updateViewport();
+                }
+            });
+            MouseAdapter mouseAdapter = new MouseAdapter() {
+                @Override
+                public void mouseReleased(MouseEvent e) {
+                    int x = firstRow + e.getY() / fieldSize;
+                    int y = firstColumn + e.getX() / fieldSize;
+                    if (SwingUtilities.isRightMouseButton(e)) {
+                        game.placeRemoveFlag(x, y);
+                    } else if (SwingUtilities.isLeftMouseButton(e)) {
+                        game.walkOnField(x, y);
+                        if (game.hasFieldsToReveal()) {
+                            queueRevealStep();
+                        }
+                    }
+                    repaint();
+                    updateStatus();
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    // the wheel scrolls vertically, or horizontally while shift is held down
+                    if (e.isShiftDown()) {
+                        moveViewport(0, e.getWheelRotation() * 3);
+                    } else {
+                        moveViewport(e.getWheelRotation() * 3, 0);
+                    }
+                }
+            };
+            addMouseListener(mouseAdapter);
+            addMouseWheelListener(mouseAdapter);
+            setPreferredSize(new Dimension(fieldSize * 30, fieldSize * 20));
+            firstRow = -10;
+            firstColumn = -15;
+        }
+
+        /**
+         * This method moves the viewport by the given amount of fields
+         *
+         * @param rows    The amount of rows
+         * @param columns The amount of columns
+         */
+        void moveViewport(int rows, int columns) {
+            firstRow += rows;
+            firstColumn += columns;
+            updateViewport();
+            repaint();
+        }
+
+        /**
+         * This method tells the game which fields are seen, so their chunks are never packed
+         */
+        private void updateViewport() {
+            game.setViewport(firstRow, firstColumn, firstRow + getHeight() / fieldSize, firstColumn + getWidth() / fieldSize);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            // only the rows and columns that are at least partly inside the area are drawn
+            for (int row = clip.y / fieldSize; row <= (clip.y + clip.height - 1) / fieldSize; row++) {
+                for (int column = clip.x / fieldSize; column <= (clip.x + clip.width - 1) / fieldSize; column++) {
+                    FieldContent fieldContent = game.getFieldOfShownMap(firstRow + row, firstColumn + column);
+                    g.drawImage(fieldImages[fieldContent.ordinal()], column * fieldSize, row * fieldSize, null);
+                }
+            }
+        }
+    }
+}
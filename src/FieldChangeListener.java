@@ -0,0 +1,26 @@
+/**
+ * This is the interface for everything that wants to know, which fields of a game changed
+ * The changes of a single input are collected and handed over at once, after the input has been handled
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public interface FieldChangeListener {
+
+    /**
+     * This method is called after an input changed some fields of the map
+     * Every field is only given once, no matter how often it changed
+     *
+     * @param game           The game the fields belong to
+     * @param fields         The indices of the changed fields, which are x * map-width + y ( only valid during the call )
+     * @param amountOfFields The amount of changed fields in the array
+     */
+    void fieldsChanged(Game game, int[] fields, int amountOfFields);
+
+    /**
+     * This method is called after an input changed the whole map, like starting a new round or revealing the whole map
+     *
+     * @param game The game the map belongs to
+     */
+    void mapChanged(Game game);
+}
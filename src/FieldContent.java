@@ -19,6 +19,9 @@ public enum FieldContent {
     FLAG("F"),
     UNDISCOVERED(" ");
 
+    // The FieldContents of the numbers, where the index is the number
+    private static final FieldContent[] NUMBERS = {FREE, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT};
+
     private final String name;
 
     /**
@@ -31,18 +34,25 @@ public enum FieldContent {
     }
 
     /**
-     * This method parses the given string into a FieldContent
+     * This method parses the given number of adjacent mines into a FieldContent
+     * The FieldContents of the numbers are looked up in an array, so no string is built for every field
      *
      * @param integer The given integer
      * @return The returned FieldContent
      */
     public static FieldContent toFieldContent(int integer) {
-        String numberAsString = String.valueOf(integer);
-        for (FieldContent fieldContent : FieldContent.values()) {
-            if (numberAsString.equals(fieldContent.name)) {
-                return fieldContent;
-            }
+        if (integer < 0 || integer >= NUMBERS.length) {
+            return FREE;
         }
-        return FREE;
+        return NUMBERS[integer];
+    }
+
+    /**
+     * This method returns the number of mines around the field this FieldContent shows
+     *
+     * @return The number of mines, or -1 if this FieldContent isn't a number
+     */
+    public int toInteger() {
+        return ordinal() <= EIGHT.ordinal() ? ordinal() : -1;
     }
 }
\ No newline at end of file
@@ -0,0 +1,1154 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * This is the class for a single game, which holds the map and handles the input of the player
+ * It doesn't need a window, so any amount of games can be played at the same time
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class Game {
+    // The height of the map
+    private final int mapHeight;
+    // The width of the map
+    private final int mapWidth;
+    // The amount of mines on the map
+    private final int amountOfMines;
+    // The amount of flags the player can use at once
+    private final int amountOfFlags;
+    // The amount of flags remaining in the player's inventory
+    private int flagsRemaining;
+    // The map with the mines, the numbers, the revealed fields and the flags
+    private Board board;
+    // The state of the current round, which is either default, won or lost
+    private GameState gameState;
+    // Whether or not the mines have already been placed this round
+    private boolean minesPlaced;
+    // The seed the mines of this round are placed with, together with the first click it decides the whole map
+    private long seed;
+    // The generator for the seeds of the following rounds
+    private final SplittableRandom seedGenerator;
+    // The generator, with which a hint picks a random field, if the solver can't find a safe one
+    private final SplittableRandom hintGenerator = new SplittableRandom();
+    // The horizontal position of the hint that is currently shown
+    private int currentHintX;
+    // The vertical position of the hint that is currently shown
+    private int currentHintY;
+    // Whether or not the field of the current hint had a flag on it or not
+    private boolean hintHadFlag;
+    // Whether or not a hint is currently shown
+    private boolean hintShown;
+    // The index of the field with the mine the player stepped on, or -1 if the player didn't step on a mine this round
+    private int explodedField = -1;
+    // The solver, which finds the fields that can be proven to be safe for the hints
+    private Solver solver;
+    // The generator that searches for maps, that can be solved without guessing, or null if the mines are placed randomly
+    private NoGuessGenerator noGuessGenerator;
+    // The pool of boards that are prepared in the background, or null if the mines are placed when the player clicks
+    private BoardPool boardPool;
+    // The journal every move is recorded in, or null if the moves aren't recorded
+    private MoveJournal moveJournal;
+    // The store the result of every finished round is recorded in, or null if the results aren't recorded
+    private HighScoreStore highScoreStore;
+    // The amount of reveals, chords and flags of the current round
+    private int clicks;
+    // The amount of hints shown in the current round
+    private int hintsUsed;
+    // The time the mines of the current round were placed at, in nanoseconds
+    private long roundStartNanos;
+    // The history of the moves of the current round, with which they can be undone and redone, or null if the moves can't be undone
+    // it is only kept for the window, so the games without a player don't pay for recording every move
+    private MoveHistory history;
+    // Whether or not a move was undone in the current round, which keeps its result out of the high-scores
+    private boolean undoUsed;
+    // Whether or not the result of the current round was already recorded in the high-score store
+    private boolean resultRecorded;
+    // This stack contains the indices of all the fields that still need to be checked for the autofill functionality
+    // it is kept between clicks and only grows, so revealing an area doesn't create any garbage
+    private int[] fieldsToCheck = new int[64];
+    // The listeners that are told about the fields that changed after every input
+    private final List<FieldChangeListener> fieldChangeListeners = new ArrayList<>();
+    // Whether or not the latencies of the operations are recorded and their flight recorder events are emitted
+    // it is turned off for the games the no-guess generator plays, whose thousands of moves would bury the moves of the player
+    private boolean instrumented = true;
+
+    /**
+     * This is the constructor method, which creates a game with as many flags as mines
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines that are getting placed on the map
+     */
+    public Game(int mapHeight, int mapWidth, int amountOfMines) {
+        this(mapHeight, mapWidth, amountOfMines, amountOfMines);
+    }
+
+    /**
+     * This is the constructor method, which creates a game and starts the first round
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines that are getting placed on the map
+     * @param amountOfFlags The amount of flags the player can use at once
+     */
+    public Game(int mapHeight, int mapWidth, int amountOfMines, int amountOfFlags) {
+        this.mapHeight = mapHeight;
+        this.mapWidth = mapWidth;
+        this.amountOfMines = amountOfMines;
+        this.amountOfFlags = amountOfFlags;
+        this.seedGenerator = new SplittableRandom();
+        startNewGame();
+    }
+
+    /**
+     * This is the constructor method, which creates a game and starts the first round with the given seed
+     * The following rounds get their seeds from a generator that is seeded with the given seed as well, so every round can be reproduced
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines that are getting placed on the map
+     * @param amountOfFlags The amount of flags the player can use at once
+     * @param seed          The seed of the first round
+     */
+    public Game(int mapHeight, int mapWidth, int amountOfMines, int amountOfFlags, long seed) {
+        this.mapHeight = mapHeight;
+        this.mapWidth = mapWidth;
+        this.amountOfMines = amountOfMines;
+        this.amountOfFlags = amountOfFlags;
+        this.seedGenerator = new SplittableRandom(seed);
+        startNewGame(seed);
+    }
+
+
+    // initialisation methods
+
+    /**
+     * This method starts a new game with the next seed
+     */
+    public void startNewGame() {
+        startNewGame(seedGenerator.nextLong());
+    }
+
+    /**
+     * This method starts a new game with the given seed
+     *
+     * @param seed The seed the mines are placed with
+     */
+    public void startNewGame(long seed) {
+        this.seed = seed;
+        gameState = GameState.DEFAULT;
+        flagsRemaining = amountOfFlags;
+        minesPlaced = false;
+        explodedField = -1;
+        clicks = 0;
+        hintsUsed = 0;
+        undoUsed = false;
+        resultRecorded = false;
+        if (history != null) {
+            history.clear();
+        }
+        // a new board starts out with every field undiscovered, free and without a flag
+        // the board of the last round is cleared instead of replaced, so playing a lot of games doesn't allocate a map every time
+        if (board == null) {
+            board = new Board(mapHeight, mapWidth, amountOfMines);
+            // on huge maps the first click doesn't wait for the counts of fields, that might never be revealed
+            board.setLazyCounts((long) mapHeight * mapWidth >= Constants.LAZY_COUNTS_MINIMUM_FIELDS);
+        } else {
+            board.clear();
+        }
+        hintShown = false;
+        publishChanges();
+        if (moveJournal != null) {
+            moveJournal.recordNewRound(seed);
+        }
+    }
+
+    /**
+     * This method calculates a playing field after the first click, by calling the corresponding methods
+     *
+     * @param x The x-coordinate of the first click
+     * @param y The y-coordinate of the first click
+     */
+    public void placeMinesAfterClick(int x, int y) {
+        MineGenerationEvent event = new MineGenerationEvent();
+        event.begin();
+        long start = Instrumentation.start();
+        long seedBefore = seed;
+        // in the no-guess mode the seed of the round is replaced by one, with which the map can be solved from this click on
+        if (noGuessGenerator != null) {
+            seed = noGuessGenerator.findSeed(mapHeight, mapWidth, amountOfMines, x, y, seed);
+        }
+        // the mines are placed for the seed on the whole map, a mine on the clicked field is moved away afterwards,
+        // so a board from the pool of prepared boards can be used for any first click
+        BoardPool.PreparedBoard preparedBoard = noGuessGenerator == null && boardPool != null ? boardPool.poll(mapHeight, mapWidth, amountOfMines) : null;
+        if (preparedBoard != null) {
+            seed = preparedBoard.getSeed();
+            board.copyMinesAndCountsFrom(preparedBoard.getBoard());
+        } else {
+            placeMinesWithSeed(seed);
+        }
+        finishMinePlacement(x, y, seedBefore);
+        recordMineGeneration(event, start, preparedBoard != null);
+    }
+
+    /**
+     * This method calculates a playing field after the first click with the given seed, instead of the seed of the round
+     * It is used to replay a recorded round, whose seed was replaced when the mines were placed
+     *
+     * @param x    The x-coordinate of the first click
+     * @param y    The y-coordinate of the first click
+     * @param seed The seed the mines are placed with
+     */
+    public void placeMinesAfterClick(int x, int y, long seed) {
+        MineGenerationEvent event = new MineGenerationEvent();
+        event.begin();
+        long start = Instrumentation.start();
+        long seedBefore = this.seed;
+        placeMinesWithSeed(seed);
+        finishMinePlacement(x, y, seedBefore);
+        recordMineGeneration(event, start, false);
+    }
+
+    /**
+     * This method places the mines for the given seed on the whole map and calculates the counts of every field
+     *
+     * @param seed The seed the mines are placed with
+     */
+    private void placeMinesWithSeed(long seed) {
+        this.seed = seed;
+        board.placeMinesRandomly(seed);
+        board.calculateNeighbourCounts();
+    }
+
+    /**
+     * This method moves the mine away from the first click, once the mines are placed, and records the placement
+     *
+     * @param x          The x-coordinate of the first click
+     * @param y          The y-coordinate of the first click
+     * @param seedBefore The seed of the round before the mines were placed
+     */
+    private void finishMinePlacement(int x, int y, long seedBefore) {
+        board.moveMineAwayFrom(board.toIndex(x, y));
+        if (history != null) {
+            history.recordMinesPlaced(board.toIndex(x, y), seedBefore);
+        }
+        minesPlaced = true;
+        roundStartNanos = System.nanoTime();
+        if (moveJournal != null) {
+            moveJournal.recordMinesPlaced(board.toIndex(x, y), seed);
+        }
+    }
+
+    /**
+     * This method records the latency of placing the mines and emits the flight recorder event for it
+     *
+     * @param event         The event, which began when the placement started
+     * @param start         The time the placement started at
+     * @param preparedBoard Whether or not the board was taken out of the pool of prepared boards
+     */
+    private void recordMineGeneration(MineGenerationEvent event, long start, boolean preparedBoard) {
+        if (!instrumented) {
+            return;
+        }
+        Instrumentation.record(Instrumentation.Operation.MINE_GENERATION, start);
+        if (event.shouldCommit()) {
+            event.mapHeight = mapHeight;
+            event.mapWidth = mapWidth;
+            event.amountOfMines = amountOfMines;
+            event.preparedBoard = preparedBoard;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * This method puts the current round back into a saved state, the planes of the board have to be restored before
+     *
+     * @param seed           The seed of the round
+     * @param minesPlaced    Whether or not the mines have already been placed
+     * @param flagsRemaining The amount of flags remaining in the player's inventory
+     * @param gameState      The state of the round
+     * @param explodedField  The index of the field with the mine the player stepped on, or -1 if the player didn't step on a mine
+     */
+    void restoreRound(long seed, boolean minesPlaced, int flagsRemaining, GameState gameState, int explodedField) {
+        this.seed = seed;
+        this.minesPlaced = minesPlaced;
+        this.flagsRemaining = flagsRemaining;
+        this.gameState = gameState;
+        this.explodedField = explodedField;
+        hintShown = false;
+        resultRecorded = false;
+        if (history != null) {
+            history.clear();
+        }
+        // the clicks before the game was saved aren't known, and the time only counts from now on
+        clicks = 0;
+        hintsUsed = 0;
+        roundStartNanos = System.nanoTime();
+        publishChanges();
+    }
+
+    /**
+     * This method returns the board of the current round, for saving and restoring it
+     *
+     * @return The board
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * This method returns the amount of flags the player can use at once
+     *
+     * @return The amount of flags
+     */
+    public int getAmountOfFlags() {
+        return amountOfFlags;
+    }
+
+
+    // methods that handle the input
+
+    /**
+     * This method places or removes the flag on the field
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void placeRemoveFlag(int x, int y) {
+        // the map of a finished round can't be changed anymore
+        if (gameState != GameState.DEFAULT) {
+            return;
+        }
+        clicks++;
+        beginMove();
+        FieldContent shownContent = board.getShownContent(x, y);
+        // removing the flag, if one is placed on the coordinates
+        if (shownContent.equals(FieldContent.FLAG)) {
+            board.setFlagged(board.toIndex(x, y), false);
+            flagsRemaining += 1;
+        } else {
+            // if no flag is placed on the coordinates, the field is undiscovered and there are flags remaining, a flag is placed
+            if (flagsRemaining > 0 && shownContent == FieldContent.UNDISCOVERED) {
+                board.setFlagged(board.toIndex(x, y), true);
+                flagsRemaining -= 1;
+            }
+        }
+        endMove();
+        publishChanges();
+        if (moveJournal != null) {
+            moveJournal.recordFlag(board.toIndex(x, y));
+        }
+    }
+
+    /**
+     * This method emulates the player walking on the field with the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The game-state the game has after the click on the map
+     */
+    public GameState walkOnField(int x, int y) {
+        // once the whole map is revealed at the end of a round, a step on a field mustn't decide the round again
+        if (gameState != GameState.DEFAULT) {
+            return gameState;
+        }
+        RevealEvent event = new RevealEvent();
+        event.begin();
+        long start = Instrumentation.start();
+        int revealedBefore = board.getRevealedCount();
+        GameState stateBefore = gameState;
+        clicks++;
+        beginMove();
+        gameState = stepOnField(x, y);
+        endMove();
+        recordReveal(event, start, x, y, revealedBefore);
+        publishChanges();
+        if (moveJournal != null) {
+            moveJournal.recordReveal(board.toIndex(x, y));
+        }
+        recordResultIfFinished(stateBefore);
+        return gameState;
+    }
+
+    /**
+     * This method emulates the player chording on the field with the given coordinates
+     * If the field is a revealed number with as many flags around it as its number, every undiscovered field around it without a flag is revealed,
+     * the free areas that are found are revealed in a single flood fill and the game is only checked for a win once
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The game-state the game has after the chord, which is the same as before, if the field can't be chorded
+     */
+    public GameState chordOnField(int x, int y) {
+        if (gameState != GameState.DEFAULT) {
+            return gameState;
+        }
+        RevealEvent event = new RevealEvent();
+        event.begin();
+        long start = Instrumentation.start();
+        int revealedBefore = board.getRevealedCount();
+        GameState stateBefore = gameState;
+        clicks++;
+        beginMove();
+        gameState = chordAroundField(x, y);
+        endMove();
+        recordReveal(event, start, x, y, revealedBefore);
+        publishChanges();
+        if (moveJournal != null) {
+            moveJournal.recordChord(board.toIndex(x, y));
+        }
+        recordResultIfFinished(stateBefore);
+        return gameState;
+    }
+
+    /**
+     * This method records the latency of revealing fields and emits the flight recorder event for it
+     *
+     * @param event          The event, which began when the fields started to be revealed
+     * @param start          The time the fields started to be revealed at
+     * @param x              The x-coordinate of the field the player clicked on
+     * @param y              The y-coordinate of the field the player clicked on
+     * @param revealedBefore The amount of revealed fields before the click
+     */
+    private void recordReveal(RevealEvent event, long start, int x, int y, int revealedBefore) {
+        if (!instrumented) {
+            return;
+        }
+        Instrumentation.record(Instrumentation.Operation.REVEAL, start);
+        if (event.shouldCommit()) {
+            event.x = x;
+            event.y = y;
+            event.fieldsRevealed = board.getRevealedCount() - revealedBefore;
+            event.gameState = gameState.name();
+            event.commit();
+        }
+    }
+
+    /**
+     * This method records the result of the round in the high-score store, if the round just ended with the last move
+     * A round, in which a move was undone, isn't recorded, so the leaderboard only holds rounds that were played through
+     *
+     * @param stateBefore The state of the round before the move
+     */
+    private void recordResultIfFinished(GameState stateBefore) {
+        if (highScoreStore == null || undoUsed || resultRecorded || stateBefore != GameState.DEFAULT
+                || (gameState != GameState.WON && gameState != GameState.LOST)) {
+            return;
+        }
+        resultRecorded = true;
+        GameResult result = new GameResult(System.currentTimeMillis(), (System.nanoTime() - roundStartNanos) / 1_000_000,
+                mapHeight, mapWidth, amountOfMines, gameState == GameState.WON, board.calculateThreeBV(), clicks, hintsUsed, seed);
+        try {
+            highScoreStore.record(result);
+        } catch (IOException e) {
+            System.err.println("The result couldn't be recorded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method undoes the last reveal, chord or flag of the round
+     *
+     * @return Whether or not there was a move to undo
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            return false;
+        }
+        // the hint isn't part of any move, so it is hidden before the fields of the move are flipped back
+        changeHint(false);
+        history.undo(board);
+        restoreFromHistory();
+        if (moveJournal != null) {
+            moveJournal.recordUndo();
+        }
+        return true;
+    }
+
+    /**
+     * This method redoes the move of the round, that was undone last
+     *
+     * @return Whether or not there was a move to redo
+     */
+    public boolean redo() {
+        if (!canRedo()) {
+            return false;
+        }
+        changeHint(false);
+        history.redo(board);
+        restoreFromHistory();
+        if (moveJournal != null) {
+            moveJournal.recordRedo();
+        }
+        return true;
+    }
+
+    /**
+     * This method takes over the state of the round, that the last undo or redo went back to
+     */
+    private void restoreFromHistory() {
+        flagsRemaining = history.getRestoredFlagsRemaining();
+        gameState = history.getRestoredGameState();
+        explodedField = history.getRestoredExplodedField();
+        minesPlaced = history.getRestoredMinesPlaced();
+        seed = history.getRestoredSeed();
+        undoUsed = true;
+        // a round that is finished again after an undo is kept out of the high-scores by undoUsed, not by an old result
+        resultRecorded = false;
+        publishChanges();
+    }
+
+    /**
+     * This method starts recording a move in the history
+     */
+    private void beginMove() {
+        if (history != null) {
+            history.beginMove(flagsRemaining, gameState, explodedField, minesPlaced, seed);
+        }
+    }
+
+    /**
+     * This method finishes recording a move in the history
+     */
+    private void endMove() {
+        if (history != null) {
+            history.endMove(flagsRemaining, gameState, explodedField, minesPlaced, seed);
+        }
+    }
+
+    /**
+     * This method reveals the field with the given coordinates and everything that comes with it
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The game-state the game has after the step on the field
+     */
+    private GameState stepOnField(int x, int y) {
+        // clients without their own first-click handling get a safe first step as well
+        if (!minesPlaced) {
+            placeMinesAfterClick(x, y);
+        }
+        if (!board.getShownContent(x, y).equals(FieldContent.FLAG)) {
+            if (board.isMine(board.toIndex(x, y))) {
+                // if the click is on a mine, the game ends
+                explodedField = board.toIndex(x, y);
+                revealWholeMap();
+                return GameState.LOST;
+            } else {
+                // the field is getting revealed
+                revealMapCoordinates(x, y);
+                //if it is a field with zero neighboring mines, the whole free area is revealed
+                if (board.getShownContent(x, y).equals(FieldContent.FREE)) {
+                    revealAdjacentFreeCells(x, y);
+                }
+            }
+        }
+        // checks if the game is finished
+        if (checkIfFinished()) {
+            revealWholeMap();
+            return GameState.WON;
+        }
+        return GameState.DEFAULT;
+    }
+
+    /**
+     * This method reveals every field around the field with the given coordinates, if it is a number with as many flags around it as its number
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The game-state the game has after the chord
+     */
+    private GameState chordAroundField(int x, int y) {
+        int field = board.toIndex(x, y);
+        if (gameState != GameState.DEFAULT || !minesPlaced || !board.isRevealed(field) || board.isMine(field)) {
+            return gameState;
+        }
+        int number = board.getNeighbourCount(field);
+        int flagsAround = 0;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if (board.isInBounds(x + k, y + l) && board.isFlagged(field + k * mapWidth + l)) {
+                    flagsAround++;
+                }
+            }
+        }
+        // a free field has nothing to chord, and a number without the right amount of flags around it could still have a mine next to it
+        if (number == 0 || flagsAround != number) {
+            return gameState;
+        }
+        // every free field around the number starts a free area, which are all revealed in the same flood fill afterwards
+        int amountToCheck = 0;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if (board.isInBounds(x + k, y + l)) {
+                    int neighbour = field + k * mapWidth + l;
+                    if (!board.isRevealed(neighbour) && !board.isFlagged(neighbour)) {
+                        if (board.isMine(neighbour)) {
+                            // a wrong flag around the number lets the player step on a mine
+                            explodedField = neighbour;
+                        } else {
+                            revealField(neighbour);
+                            if (board.getNeighbourCount(neighbour) == 0) {
+                                amountToCheck = pushFieldToCheck(amountToCheck, neighbour);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        if (explodedField >= 0) {
+            revealWholeMap();
+            return GameState.LOST;
+        }
+        revealFreeAreas(amountToCheck);
+        if (checkIfFinished()) {
+            revealWholeMap();
+            return GameState.WON;
+        }
+        return GameState.DEFAULT;
+    }
+
+    /**
+     * This method reveals all adjacent fields, for the block of free fields given
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    private void revealAdjacentFreeCells(int x, int y) {
+        revealFreeAreas(pushFieldToCheck(0, board.toIndex(x, y)));
+    }
+
+    /**
+     * This method reveals all adjacent fields of the free fields on the stack of fields to check, and of every free field that is found on the way
+     *
+     * @param amountToCheck The amount of fields on the stack
+     */
+    private void revealFreeAreas(int amountToCheck) {
+        int mapWidth = board.getWidth();
+        // takes the indices from the stack of fields it still has to check, until none are left
+        // the revealed plane doubles as the list of already checked fields: a field is only pushed when it gets revealed,
+        // so no field is checked twice and it can't run into an infinite loop
+        while (amountToCheck > 0) {
+            int field = fieldsToCheck[--amountToCheck];
+            int fieldX = field / mapWidth;
+            int fieldY = field % mapWidth;
+            // the adjacent fields are always revealed, to show the border of the free zone
+            // however they are only added to the stack, if they are free as well
+            for (int k = -1; k < 2; k++) {
+                for (int l = -1; l < 2; l++) {
+                    // the check whether the coordinates are even on the field
+                    if (board.isInBounds(fieldX + k, fieldY + l)) {
+                        int neighbour = field + k * mapWidth + l;
+                        // to check whether the field is not yet revealed and has no flag on it
+                        if (!board.isRevealed(neighbour) && !board.isFlagged(neighbour)) {
+                            revealField(neighbour);
+                            // if the field is also free, it is getting added to the fields it has to check
+                            if (board.getNeighbourCount(neighbour) == 0) {
+                                amountToCheck = pushFieldToCheck(amountToCheck, neighbour);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method adds the given field to the stack of fields to check, which grows if it is full
+     *
+     * @param amountToCheck The amount of fields on the stack
+     * @param field         The index of the field
+     * @return The amount of fields on the stack afterwards
+     */
+    private int pushFieldToCheck(int amountToCheck, int field) {
+        if (amountToCheck == fieldsToCheck.length) {
+            fieldsToCheck = Arrays.copyOf(fieldsToCheck, amountToCheck * 2);
+        }
+        fieldsToCheck[amountToCheck] = field;
+        return amountToCheck + 1;
+    }
+
+    /**
+     * This method shows or hides the field, depending on the input
+     *
+     * @param show Whether or not the field should be shown or hidden
+     */
+    public void showOrHideHint(boolean show) {
+        if (show) {
+            HintEvent event = new HintEvent();
+            event.begin();
+            long start = Instrumentation.start();
+            changeHint(true);
+            if (hintShown) {
+                hintsUsed++;
+            }
+            if (instrumented) {
+                Instrumentation.record(Instrumentation.Operation.HINT, start);
+            }
+            if (instrumented && event.shouldCommit()) {
+                event.hintShown = hintShown;
+                event.x = currentHintX;
+                event.y = currentHintY;
+                event.commit();
+            }
+        } else {
+            changeHint(false);
+        }
+        publishChanges();
+        // the field of the hint is recorded, since which field the hint chooses depends on more than the moves
+        if (moveJournal != null) {
+            if (!show) {
+                moveJournal.recordHintHidden();
+            } else if (hintShown) {
+                moveJournal.recordHintShown(board.toIndex(currentHintX, currentHintY));
+            }
+        }
+    }
+
+    /**
+     * This method shows the hint on the given field, which is used to replay a recorded hint
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void showHint(int x, int y) {
+        showHintOnField(x, y);
+        publishChanges();
+    }
+
+    /**
+     * This method shows the next hint or hides the current one
+     *
+     * @param show Whether or not the field should be shown or hidden
+     */
+    private void changeHint(boolean show) {
+        // whether the hint is getting shown or hidden
+        if (show) {
+            // a field the solver can prove to be safe is used first
+            int safeField = getSolver().findSafeField();
+            if (safeField >= 0 && showHintOnField(safeField / mapWidth, safeField % mapWidth)) {
+                return;
+            }
+            // otherwise a random field without a mine, that isn't revealed yet, is used
+            int randomField = board.getSafeCells().randomField(hintGenerator);
+            if (randomField >= 0) {
+                showHintOnField(randomField / mapWidth, randomField % mapWidth);
+            }
+        } else {
+            // if no hint was found, there is nothing to hide
+            if (!hintShown) {
+                return;
+            }
+            hintShown = false;
+            if (!hintHadFlag) {
+                // the content is hidden again
+                board.setRevealed(board.toIndex(currentHintX, currentHintY), false);
+            } else {
+                // the flag is placed back down again
+                board.setFlagged(board.toIndex(currentHintX, currentHintY), true);
+                hintHadFlag = false;
+            }
+        }
+    }
+
+    /**
+     * This method shows the hint on the given field, if the field is still undiscovered or has a flag on it
+     *
+     * @param hintX The x-coordinate
+     * @param hintY The y-coordinate
+     * @return Whether or not the hint was shown
+     */
+    private boolean showHintOnField(int hintX, int hintY) {
+        FieldContent hintContent = board.getShownContent(hintX, hintY);
+        if (hintContent == FieldContent.UNDISCOVERED) {
+            // the content of the current hint is shown
+            revealMapCoordinates(hintX, hintY);
+        } else if (hintContent == FieldContent.FLAG) {
+            // if the current hint is a field with a flag, it removes the flag, to show, that it is not necessary
+            hintHadFlag = true;
+            board.setFlagged(board.toIndex(hintX, hintY), false);
+        } else {
+            return false;
+        }
+        currentHintX = hintX;
+        currentHintY = hintY;
+        hintShown = true;
+        return true;
+    }
+
+    /**
+     * This method sets the journal every move is recorded in from then on
+     *
+     * @param moveJournal The journal, or null to stop recording
+     */
+    public void setMoveJournal(MoveJournal moveJournal) {
+        this.moveJournal = moveJournal;
+    }
+
+    /**
+     * This method writes the moves, that were recorded in the journal so far, into its file
+     * The window does this after every input, so a crash doesn't lose the last moves, which are the ones a bug report needs
+     */
+    public void flushMoveJournal() {
+        if (moveJournal == null) {
+            return;
+        }
+        try {
+            moveJournal.flush();
+        } catch (IOException e) {
+            System.err.println("The moves couldn't be recorded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method sets the store the result of every finished round is recorded in from then on
+     *
+     * @param highScoreStore The store, or null to stop recording
+     */
+    public void setHighScoreStore(HighScoreStore highScoreStore) {
+        this.highScoreStore = highScoreStore;
+    }
+
+    /**
+     * This method turns the history of the moves on or off, which is off when a game is created
+     * The moves of the current round can only be undone, if the history was on while they were made
+     *
+     * @param undoEnabled Whether or not the moves are recorded, so they can be undone
+     */
+    public void setUndoEnabled(boolean undoEnabled) {
+        if (undoEnabled == (history != null)) {
+            return;
+        }
+        history = undoEnabled ? new MoveHistory() : null;
+        board.setHistory(history);
+    }
+
+    /**
+     * This method turns the recording of the latencies and the flight recorder events of the operations of this game on or off
+     *
+     * @param instrumented Whether or not the operations are recorded
+     */
+    public void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+    }
+
+    /**
+     * This method turns the no-guess mode on or off
+     * In the no-guess mode the map can always be solved from the first click on without guessing, as long as the generator finds such a map in time
+     *
+     * @param noGuessGenerator The generator that searches for the maps, or null to place the mines randomly
+     */
+    public void setNoGuessGenerator(NoGuessGenerator noGuessGenerator) {
+        this.noGuessGenerator = noGuessGenerator;
+    }
+
+    /**
+     * This method stops the search for a map, that can be solved without guessing, if one is running, the seed of the round is used instead
+     * It is the only method, that may be called by another thread while the game is changed
+     */
+    public void cancelSeedSearch() {
+        if (noGuessGenerator != null) {
+            noGuessGenerator.cancel();
+        }
+    }
+
+    /**
+     * This method sets the pool of boards, that are prepared in the background
+     * The first click of a round then takes a prepared board and its seed, if the pool has one, instead of placing the mines itself
+     *
+     * @param boardPool The pool, or null to place the mines when the player clicks
+     */
+    public void setBoardPool(BoardPool boardPool) {
+        this.boardPool = boardPool;
+    }
+
+    /**
+     * This method returns the solver of this game, which is created the first time it is needed
+     * From then on it listens to the changes of the map, so it only has to look at the fields that changed
+     *
+     * @return The solver
+     */
+    public Solver getSolver() {
+        if (solver == null) {
+            solver = new Solver(this);
+        }
+        return solver;
+    }
+
+
+    // map reveal methods
+
+    /**
+     * This method assigns the value of the hidden map to the shown map, for the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    private void revealMapCoordinates(int x, int y) {
+        revealField(board.toIndex(x, y));
+    }
+
+    /**
+     * This method assigns the value of the hidden map to the shown map, for the field with the given index
+     *
+     * @param index The index of the field
+     */
+    private void revealField(int index) {
+        // to give flags back, when a field is revealed
+        // this only happens when a larger area is revealed
+        if (board.isFlagged(index) && !board.isRevealed(index)) {
+            board.setFlagged(index, false);
+            flagsRemaining += 1;
+        }
+        board.setRevealed(index, true);
+    }
+
+    /**
+     * This method assigns the value of the hidden map to the shown map
+     */
+    private void revealWholeMap() {
+        // the whole revealed plane is filled at once, instead of revealing every field on its own
+        board.revealAll();
+    }
+
+    // listener methods
+
+    /**
+     * This method adds a listener, which is told about the fields that changed after every input
+     *
+     * @param listener The listener
+     */
+    public void addFieldChangeListener(FieldChangeListener listener) {
+        fieldChangeListeners.add(listener);
+        board.setTrackingChanges(true);
+    }
+
+    /**
+     * This method removes the given listener
+     *
+     * @param listener The listener
+     */
+    public void removeFieldChangeListener(FieldChangeListener listener) {
+        fieldChangeListeners.remove(listener);
+        board.setTrackingChanges(!fieldChangeListeners.isEmpty());
+    }
+
+    /**
+     * This method hands the fields that changed since the last input over to the listeners and forgets them afterwards
+     */
+    private void publishChanges() {
+        if (!board.hasChanges()) {
+            return;
+        }
+        for (FieldChangeListener listener : fieldChangeListeners) {
+            if (board.isAllChanged()) {
+                listener.mapChanged(this);
+            } else {
+                listener.fieldsChanged(this, board.getChangedFields(), board.getChangedCount());
+            }
+        }
+        board.clearChanges();
+    }
+
+    // getter methods
+
+    /**
+     * This method gives back the content of the field on the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The content of the field
+     */
+    public FieldContent getFieldOfShownMap(int x, int y) {
+        return board.getShownContent(x, y);
+    }
+
+    /**
+     * This method checks, whether or not a flag is placed on the field with the given coordinates
+     * Unlike the shown map, this still tells which fields had a flag on them after the whole map was revealed
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return Whether or not a flag is placed on the field
+     */
+    public boolean isFlagPlaced(int x, int y) {
+        return board.isFlagged(board.toIndex(x, y));
+    }
+
+    /**
+     * This method returns the amount of the remaining flags
+     *
+     * @return The amount of remaining flags
+     */
+    public int getFlagsRemaining() {
+        return flagsRemaining;
+    }
+
+    /**
+     * This method returns the state of the current round
+     *
+     * @return The state of the current round, which is either default, won or lost
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * This method returns the amount of fields that are revealed
+     *
+     * @return The amount of revealed fields
+     */
+    public int getRevealedCount() {
+        return board.getRevealedCount();
+    }
+
+    /**
+     * This method returns the amount of fields that have a flag on them
+     *
+     * @return The amount of flagged fields
+     */
+    public int getFlaggedCount() {
+        return board.getFlaggedCount();
+    }
+
+    /**
+     * This method returns the amount of safe fields that still have to be revealed to win the round
+     *
+     * @return The amount of remaining safe fields
+     */
+    public int getRemainingSafeCount() {
+        // only the revealed fields without a mine are counted, so revealing the mines at the end of a round doesn't change the amount
+        return board.getSize() - board.getAmountOfMines() - board.getRevealedSafeCount();
+    }
+
+    /**
+     * This method returns the height of the map
+     *
+     * @return The height of the map
+     */
+    public int getMapHeight() {
+        return mapHeight;
+    }
+
+    /**
+     * This method returns the width of the map
+     *
+     * @return The width of the map
+     */
+    public int getMapWidth() {
+        return mapWidth;
+    }
+
+    /**
+     * This method returns the amount of mines on the map
+     *
+     * @return The amount of mines
+     */
+    public int getAmountOfMines() {
+        return amountOfMines;
+    }
+
+    /**
+     * This method returns the seed of the current round, with it and the first click the map can be reproduced
+     *
+     * @return The seed of the current round
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * This method returns whether or not the mines have already been placed this round
+     *
+     * @return Whether or not the mines have been placed
+     */
+    public boolean areMinesPlaced() {
+        return minesPlaced;
+    }
+
+    /**
+     * This method returns the field with the mine the player stepped on
+     *
+     * @return The index of the field, or -1 if the player didn't step on a mine this round
+     */
+    public int getExplodedField() {
+        return explodedField;
+    }
+
+    /**
+     * This method checks, whether or not there is a move to undo
+     *
+     * @return Whether or not there is a move to undo
+     */
+    public boolean canUndo() {
+        return history != null && history.canUndo();
+    }
+
+    /**
+     * This method checks, whether or not there is a move to redo
+     *
+     * @return Whether or not there is a move to redo
+     */
+    public boolean canRedo() {
+        return history != null && history.canRedo();
+    }
+
+    /**
+     * This method returns the amount of reveals, chords and flags of the current round
+     *
+     * @return The amount of clicks
+     */
+    public int getClicks() {
+        return clicks;
+    }
+
+    /**
+     * This method returns the amount of hints shown in the current round
+     *
+     * @return The amount of hints
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    /**
+     * This method returns the field the hint is currently shown on
+     *
+     * @return The index of the field, or -1 if no hint is shown
+     */
+    public int getHintField() {
+        return hintShown ? board.toIndex(currentHintX, currentHintY) : -1;
+    }
+
+
+    // Miscellaneous methods
+
+    /**
+     * This method checks, whether or not the round has been successfully completed
+     * It is package-private, so the benchmarks can measure the win check on its own
+     *
+     * @return Whether or not the map has been successfully completed
+     */
+    boolean checkIfFinished() {
+        WinCheckEvent event = new WinCheckEvent();
+        event.begin();
+        long start = Instrumentation.start();
+        // checks if every field without a mine has been revealed, if true, the game is won
+        // the amount of revealed fields without a mine is counted by the board while the fields change, so no scan over the map is needed
+        boolean won = board.getRevealedSafeCount() == board.getSize() - board.getAmountOfMines();
+        if (!instrumented) {
+            return won;
+        }
+        Instrumentation.record(Instrumentation.Operation.WIN_CHECK, start);
+        if (event.shouldCommit()) {
+            event.won = won;
+            event.commit();
+        }
+        return won;
+    }
+
+}
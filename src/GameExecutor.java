@@ -0,0 +1,179 @@
+import javax.swing.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * This is the class for the engine thread of a game, which handles every input of the window, so the window never waits for the game
+ * The inputs are handled one after another in the order they came in, the fields they change are collected into a batch,
+ * which is handed over to the event dispatch thread once it is free, so a burst of inputs only leads to a single update of the window
+ * Inputs that are still queued can be cancelled, which is done when the player starts a new round
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class GameExecutor implements FieldChangeListener {
+
+    // The game, which is only changed by the engine thread
+    private final Game game;
+    // The single thread, which handles the inputs
+    private final ExecutorService engine;
+    // The receiver of the batches, which is called on the event dispatch thread
+    private final Consumer<ViewUpdate> publisher;
+    // The lock of the batch, that is collected and the flag, whether or not it is handed over already
+    private final Object batchLock = new Object();
+    // The batch, that is collected until the event dispatch thread takes it, or null if nothing changed since then
+    private ViewUpdate pendingUpdate;
+    // Whether or not the event dispatch thread is already told to take the batch
+    private boolean deliveryScheduled;
+    // The number of the current generation of inputs, inputs of an older generation are skipped, since they were cancelled
+    private volatile long generation;
+    // The amount of inputs, that are queued or being handled
+    private final AtomicInteger queuedInputs = new AtomicInteger();
+    // The time the engine thread started handling the current input at, or zero if it is idle
+    private volatile long busySince;
+
+    /**
+     * This is the constructor method, which starts the engine thread
+     * The thread is a daemon thread, so it doesn't keep the program running
+     *
+     * @param game      The game, which isn't changed by any other thread from now on
+     * @param publisher The receiver of the batches, which is called on the event dispatch thread
+     */
+    public GameExecutor(Game game, Consumer<ViewUpdate> publisher) {
+        this.game = game;
+        this.publisher = publisher;
+        this.engine = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        game.addFieldChangeListener(this);
+    }
+
+    // input methods
+
+    /**
+     * This method queues an input, which is handled after every input that was queued before it
+     *
+     * @param input The input, which may change the game
+     */
+    public void submit(Runnable input) {
+        long inputGeneration = generation;
+        queuedInputs.incrementAndGet();
+        engine.execute(() -> {
+            try {
+                if (inputGeneration == generation) {
+                    busySince = System.nanoTime();
+                    input.run();
+                }
+            } finally {
+                // the recorded moves are written right away, so they aren't lost if the program doesn't end normally
+                game.flushMoveJournal();
+                busySince = 0;
+                queuedInputs.decrementAndGet();
+                publish();
+            }
+        });
+    }
+
+    /**
+     * This method cancels every queued input, the input that is currently handled is finished,
+     * but the search for a map that can be solved without guessing stops as soon as possible
+     */
+    public void cancelQueuedInputs() {
+        generation++;
+        game.cancelSeedSearch();
+    }
+
+    /**
+     * This method waits until every queued input is handled
+     */
+    public void awaitQueuedInputs() {
+        try {
+            engine.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // the empty input can't fail
+        }
+    }
+
+    /**
+     * This method checks, whether or not the engine thread has been handling the current input for at least the given time
+     *
+     * @param nanos The time in nanoseconds
+     * @return Whether or not the engine thread is busy for that long
+     */
+    public boolean isBusyFor(long nanos) {
+        long since = busySince;
+        return since != 0 && System.nanoTime() - since >= nanos;
+    }
+
+    /**
+     * This method returns the amount of inputs, that are queued or being handled
+     *
+     * @return The amount of inputs
+     */
+    public int getQueuedInputs() {
+        return queuedInputs.get();
+    }
+
+    // batch methods
+
+    @Override
+    public void fieldsChanged(Game game, int[] fields, int amountOfFields) {
+        synchronized (batchLock) {
+            collectingUpdate().addFields(game, fields, amountOfFields);
+        }
+    }
+
+    @Override
+    public void mapChanged(Game game) {
+        synchronized (batchLock) {
+            collectingUpdate().setWholeMap(game);
+        }
+    }
+
+    /**
+     * This method gives back the batch, that is collected, a new one is started if the last one was handed over already
+     *
+     * @return The batch
+     */
+    private ViewUpdate collectingUpdate() {
+        if (pendingUpdate == null) {
+            pendingUpdate = new ViewUpdate();
+        }
+        return pendingUpdate;
+    }
+
+    /**
+     * This method takes over the state of the game after an input and tells the event dispatch thread to take the batch, if it isn't told already
+     */
+    private void publish() {
+        synchronized (batchLock) {
+            collectingUpdate().setState(game);
+            if (deliveryScheduled) {
+                return;
+            }
+            deliveryScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::deliver);
+    }
+
+    /**
+     * This method hands the batch over to the receiver, which is done on the event dispatch thread
+     */
+    private void deliver() {
+        ViewUpdate update;
+        synchronized (batchLock) {
+            update = pendingUpdate;
+            pendingUpdate = null;
+            deliveryScheduled = false;
+        }
+        publisher.accept(update);
+    }
+}
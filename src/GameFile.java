@@ -0,0 +1,286 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * This is the class for saving a game into a file and resuming it from there
+ * The file starts with a header of fixed size, which is followed by the mine, revealed and flag planes of the board,
+ * the planes can be compressed, which makes the file of a map that is mostly undiscovered or mostly revealed a lot smaller
+ * The counts of the fields are not saved, since they are calculated from the mines when the game is resumed
+ * Everything is checked when a file is loaded, so a corrupt or crafted file is rejected instead of creating a game that can't be played
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class GameFile {
+
+    /**
+     * The bytes every save file starts with, which are "MSWP"
+     */
+    private static final int MAGIC = 0x4D535750;
+    /**
+     * The version of the format, which is increased whenever the format changes
+     */
+    private static final short VERSION = 2;
+    /**
+     * The version before the field with the mine the player stepped on was saved, whose header is smaller
+     */
+    private static final short VERSION_WITHOUT_EXPLODED_FIELD = 1;
+    /**
+     * The flag that is set in the header, if the planes are compressed
+     */
+    private static final byte FLAG_COMPRESSED = 1;
+    /**
+     * The size of the header in bytes
+     */
+    private static final int HEADER_SIZE = 56;
+    /**
+     * The size of the header of the version before the field with the mine the player stepped on was saved
+     */
+    private static final int HEADER_SIZE_WITHOUT_EXPLODED_FIELD = 48;
+
+    /**
+     * This is the constructor method, which is private, since this is a utility-class
+     */
+    private GameFile() {
+        throw new IllegalStateException("Utility-class constructor.");
+    }
+
+    /**
+     * This method saves the current round of the given game into the given file, the file is replaced if it already exists
+     *
+     * @param game     The game
+     * @param path     The file
+     * @param compress Whether or not the planes are compressed
+     * @throws IOException If the file can't be written
+     */
+    public static void save(Game game, Path path, boolean compress) throws IOException {
+        // a shown hint isn't part of the round, it is hidden first, so the saved flags match the flags remaining
+        if (game.getHintField() >= 0) {
+            game.showOrHideHint(false);
+        }
+        Board board = game.getBoard();
+        ByteBuffer planes = ByteBuffer.allocate(board.getPlaneLength() * 3 * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        board.writePlanes(planes.asLongBuffer());
+        if (compress) {
+            planes = deflate(planes.array());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put(compress ? FLAG_COMPRESSED : 0);
+        header.put((byte) game.getGameState().ordinal());
+        header.putInt(game.getMapHeight());
+        header.putInt(game.getMapWidth());
+        header.putInt(game.getAmountOfMines());
+        header.putInt(game.getAmountOfFlags());
+        header.putInt(game.getFlagsRemaining());
+        header.put((byte) (game.areMinesPlaced() ? 1 : 0));
+        header.position(32);
+        header.putLong(game.getSeed());
+        header.putLong(planes.remaining());
+        header.putInt(game.getExplodedField());
+        header.position(HEADER_SIZE);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            writeFully(channel, planes);
+        }
+    }
+
+    /**
+     * This method resumes a game from the given file
+     *
+     * @param path The file
+     * @return The game, in the same state it was saved in
+     * @throws IOException If the file can't be read or isn't a valid save file
+     */
+    public static Game load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, HEADER_SIZE_WITHOUT_EXPLODED_FIELD);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a save file: " + path);
+            }
+            short version = header.getShort();
+            if (version != VERSION && version != VERSION_WITHOUT_EXPLODED_FIELD) {
+                throw new IOException("Unsupported save file version: " + version);
+            }
+            boolean compressed = (header.get() & FLAG_COMPRESSED) != 0;
+            int gameStateOrdinal = header.get();
+            int mapHeight = header.getInt();
+            int mapWidth = header.getInt();
+            int amountOfMines = header.getInt();
+            int amountOfFlags = header.getInt();
+            int flagsRemaining = header.getInt();
+            boolean minesPlaced = header.get() != 0;
+            header.position(32);
+            long seed = header.getLong();
+            long planesSize = header.getLong();
+            int explodedField = -1;
+            if (version == VERSION) {
+                explodedField = readFully(channel, HEADER_SIZE - HEADER_SIZE_WITHOUT_EXPLODED_FIELD).getInt();
+            }
+            long size = (long) mapHeight * mapWidth;
+            // a map, that is full of mines, would keep the first click from ever finding a field without a mine
+            if (mapHeight <= 0 || mapWidth <= 0 || size > Integer.MAX_VALUE || amountOfMines < 0 || amountOfMines >= size
+                    || amountOfFlags < 0 || flagsRemaining < 0 || flagsRemaining > amountOfFlags
+                    || gameStateOrdinal < 0 || gameStateOrdinal >= GameState.values().length || planesSize < 0 || planesSize > Integer.MAX_VALUE
+                    || explodedField < -1 || explodedField >= size || (explodedField >= 0 && gameStateOrdinal != GameState.LOST.ordinal())) {
+                throw new IOException("Corrupt save file: " + path);
+            }
+
+            Game game = new Game(mapHeight, mapWidth, amountOfMines, amountOfFlags, seed);
+            Board board = game.getBoard();
+            int planesLength = board.getPlaneLength() * 3 * Long.BYTES;
+            ByteBuffer planes = readFully(channel, (int) planesSize);
+            if (compressed) {
+                planes = inflate(planes, planesLength);
+            }
+            if (planes.remaining() != planesLength) {
+                throw new IOException("Corrupt save file: " + path);
+            }
+            LongBuffer planeWords = planes.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            if (!arePlanesValid(planeWords, board.getPlaneLength(), (int) size, minesPlaced ? amountOfMines : 0, amountOfFlags - flagsRemaining, explodedField)) {
+                throw new IOException("Corrupt save file: " + path);
+            }
+            board.readPlanes(planeWords);
+            game.restoreRound(seed, minesPlaced, flagsRemaining, GameState.values()[gameStateOrdinal], explodedField);
+            return game;
+        }
+    }
+
+    /**
+     * This method checks the mine, revealed and flag planes, before they are read into the board
+     * No bit after the last field may be set, the planes have to hold as many mines and flags as the header tells,
+     * and the field with the mine the player stepped on has to have a mine on it
+     *
+     * @param planes        The three planes, one after another, the position of the buffer isn't changed
+     * @param planeLength   The amount of words of a single plane
+     * @param size          The amount of fields on the map
+     * @param amountOfMines The amount of mines the mine plane has to hold
+     * @param amountOfFlags The amount of flags the flag plane has to hold
+     * @param explodedField The index of the field with the mine the player stepped on, or -1
+     * @return Whether or not the planes are valid
+     */
+    private static boolean arePlanesValid(LongBuffer planes, int planeLength, int size, int amountOfMines, int amountOfFlags, int explodedField) {
+        int usedBitsOfLastWord = size % 64;
+        long unusedBits = usedBitsOfLastWord == 0 ? 0L : -1L << usedBitsOfLastWord;
+        long mines = 0;
+        long flags = 0;
+        int start = planes.position();
+        for (int plane = 0; plane < 3; plane++) {
+            if ((planes.get(start + (plane + 1) * planeLength - 1) & unusedBits) != 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i < planeLength; i++) {
+            mines += Long.bitCount(planes.get(start + i));
+            flags += Long.bitCount(planes.get(start + 2 * planeLength + i));
+        }
+        if (mines != amountOfMines || flags != amountOfFlags) {
+            return false;
+        }
+        return explodedField < 0 || (planes.get(start + (explodedField >>> 6)) & (1L << explodedField)) != 0;
+    }
+
+    // channel methods
+
+    /**
+     * This method writes the whole buffer into the channel
+     *
+     * @param channel The channel
+     * @param buffer  The buffer
+     * @throws IOException If the channel can't be written to
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * This method reads the given amount of bytes from the channel
+     *
+     * @param channel The channel
+     * @param length  The amount of bytes
+     * @return The buffer with the bytes, ready to be read
+     * @throws IOException If the channel can't be read or ends too early
+     */
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of save file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    // compression methods
+
+    /**
+     * This method compresses the given bytes
+     *
+     * @param bytes The bytes
+     * @return The buffer with the compressed bytes, ready to be read
+     */
+    private static ByteBuffer deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            // the bound of zlib for incompressible input, so a single call is enough
+            byte[] compressed = new byte[bytes.length + bytes.length / 1000 + 64];
+            int length = deflater.deflate(compressed);
+            while (!deflater.finished()) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            return ByteBuffer.wrap(compressed, 0, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * This method decompresses the given bytes
+     *
+     * @param compressed The compressed bytes
+     * @param length     The amount of bytes after decompressing
+     * @return The buffer with the decompressed bytes, ready to be read
+     * @throws IOException If the bytes can't be decompressed
+     */
+    private static ByteBuffer inflate(ByteBuffer compressed, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] bytes = new byte[length];
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int read = inflater.inflate(bytes, inflated, length - inflated);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += read;
+            }
+            if (inflated != length || !inflater.finished()) {
+                throw new IOException("Corrupt save file");
+            }
+            return ByteBuffer.wrap(bytes);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt save file", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
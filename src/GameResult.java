@@ -0,0 +1,149 @@
+/**
+ * This is the class for the result of a finished round, which is kept in the high-score store
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class GameResult {
+
+    // The time the round was finished at, in milliseconds since 1970
+    private final long finishedAt;
+    // The time the round took from the first click on, in milliseconds
+    private final long durationMillis;
+    // The height of the map
+    private final int mapHeight;
+    // The width of the map
+    private final int mapWidth;
+    // The amount of mines on the map
+    private final int amountOfMines;
+    // Whether or not the round was won
+    private final boolean won;
+    // The least amount of clicks needed to reveal every field without a mine
+    private final int threeBV;
+    // The amount of reveals, chords and flags of the round
+    private final int clicks;
+    // The amount of hints shown in the round
+    private final int hintsUsed;
+    // The seed the mines of the round were placed with
+    private final long seed;
+
+    /**
+     * This is the constructor method
+     *
+     * @param finishedAt     The time the round was finished at, in milliseconds since 1970
+     * @param durationMillis The time the round took from the first click on, in milliseconds
+     * @param mapHeight      The height of the map
+     * @param mapWidth       The width of the map
+     * @param amountOfMines  The amount of mines on the map
+     * @param won            Whether or not the round was won
+     * @param threeBV        The least amount of clicks needed to reveal every field without a mine
+     * @param clicks         The amount of reveals, chords and flags of the round
+     * @param hintsUsed      The amount of hints shown in the round
+     * @param seed           The seed the mines of the round were placed with
+     */
+    public GameResult(long finishedAt, long durationMillis, int mapHeight, int mapWidth, int amountOfMines, boolean won,
+                      int threeBV, int clicks, int hintsUsed, long seed) {
+        this.finishedAt = finishedAt;
+        this.durationMillis = durationMillis;
+        this.mapHeight = mapHeight;
+        this.mapWidth = mapWidth;
+        this.amountOfMines = amountOfMines;
+        this.won = won;
+        this.threeBV = threeBV;
+        this.clicks = clicks;
+        this.hintsUsed = hintsUsed;
+        this.seed = seed;
+    }
+
+    // getter methods
+
+    /**
+     * This method returns the time the round was finished at
+     *
+     * @return The time in milliseconds since 1970
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * This method returns the time the round took from the first click on
+     *
+     * @return The time in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * This method returns the height of the map
+     *
+     * @return The height of the map
+     */
+    public int getMapHeight() {
+        return mapHeight;
+    }
+
+    /**
+     * This method returns the width of the map
+     *
+     * @return The width of the map
+     */
+    public int getMapWidth() {
+        return mapWidth;
+    }
+
+    /**
+     * This method returns the amount of mines on the map
+     *
+     * @return The amount of mines
+     */
+    public int getAmountOfMines() {
+        return amountOfMines;
+    }
+
+    /**
+     * This method returns whether or not the round was won
+     *
+     * @return Whether or not the round was won
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * This method returns the least amount of clicks needed to reveal every field without a mine
+     *
+     * @return The 3BV
+     */
+    public int getThreeBV() {
+        return threeBV;
+    }
+
+    /**
+     * This method returns the amount of reveals, chords and flags of the round
+     *
+     * @return The amount of clicks
+     */
+    public int getClicks() {
+        return clicks;
+    }
+
+    /**
+     * This method returns the amount of hints shown in the round
+     *
+     * @return The amount of hints
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    /**
+     * This method returns the seed the mines of the round were placed with
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,140 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This is the class for the headless server, which lets bots and remote players play over a simple line-based TCP protocol on localhost
+ * Every connection gets its own session, which handles the commands of the connection one after another on a thread of its own,
+ * the threads are virtual threads if the Java version has them, so idle or slow clients cost almost nothing
+ * A client that sends faster than its session handles the commands is slowed down, since the connection isn't read while the queue of the session is full
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class GameServer {
+
+    // The threads of the connections and sessions
+    private final ExecutorService threads;
+    // The latencies of every endpoint, where the index is the ordinal of the endpoint
+    private final ConcurrentLatencyHistogram[] latencies = new ConcurrentLatencyHistogram[CommandInterpreter.Endpoint.values().length];
+    // The port the server listens on
+    private final int port;
+
+    /**
+     * This is the constructor method
+     *
+     * @param port The port the server listens on
+     */
+    public GameServer(int port) {
+        this.port = port;
+        this.threads = newThreadPerTaskExecutor();
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new ConcurrentLatencyHistogram();
+        }
+    }
+
+    /**
+     * This method accepts connections on localhost, for as long as the program runs
+     *
+     * @throws IOException If the server can't listen on the port
+     */
+    public void run() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            System.out.println("The server is listening on " + serverSocket.getLocalSocketAddress());
+            while (true) {
+                Socket socket = serverSocket.accept();
+                threads.execute(() -> readConnection(socket));
+            }
+        }
+    }
+
+    /**
+     * This method reads the commands of a connection and queues them in its session, until the client closes the connection
+     *
+     * @param socket The socket of the connection
+     */
+    private void readConnection(Socket socket) {
+        GameSession session;
+        try {
+            socket.setTcpNoDelay(true);
+            session = new GameSession(this, socket);
+        } catch (IOException e) {
+            closeQuietly(socket);
+            return;
+        }
+        threads.execute(session);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // waits while the queue of the session is full, so the client can't send more than the session can handle
+                // once the session is closed, nothing is queued anymore and the connection isn't read any further
+                if (!session.enqueue(line)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // the connection was closed by the client or the session
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            session.finish();
+        }
+    }
+
+    /**
+     * This method records how long a command of the given endpoint took, from reading it to writing the response
+     *
+     * @param endpoint The endpoint
+     * @param nanos    The latency in nanoseconds
+     */
+    void recordLatency(CommandInterpreter.Endpoint endpoint, long nanos) {
+        latencies[endpoint.ordinal()].record(nanos);
+    }
+
+    /**
+     * This method returns the latencies of the given endpoint of every session
+     *
+     * @param endpoint The endpoint
+     * @return The merged histogram, which is a copy
+     */
+    public LatencyHistogram getLatencies(CommandInterpreter.Endpoint endpoint) {
+        return latencies[endpoint.ordinal()].snapshot();
+    }
+
+    /**
+     * This method closes the given socket and ignores any errors, since the connection is over anyway
+     *
+     * @param socket The socket
+     */
+    static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // the socket is closed either way
+        }
+    }
+
+    /**
+     * This method creates the executor for the threads of the connections and sessions
+     * Virtual threads are only available from Java 21 on, so they are looked up by reflection and a pool of daemon threads is used instead, if they aren't there
+     *
+     * @return The executor, which starts a thread for every task
+     */
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "game-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,231 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is the class for a session of the headless server, which owns the game of a single connection
+ * The commands of the connection are queued and handled one after another by the thread of the session, which is the only thread
+ * that changes the game and writes responses, so neither needs a lock
+ * Every line except QUIT costs a token, even one that isn't a command, the tokens are refilled at a fixed rate up to a limit, lines without a token are rejected
+ * <p>
+ * The commands are the ones of the CommandInterpreter, with two more:
+ * STATS -> OK endpoint=count/p50/p99 ..., in microseconds
+ * QUIT -> closes the connection
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class GameSession implements Runnable {
+
+    // The command, which tells the session that the connection was closed
+    private static final Command END = new Command(null, 0);
+
+    // The server the session belongs to
+    private final GameServer server;
+    // The connection of the session
+    private final Socket socket;
+    // The writer for the responses, which is only used by the thread of the session
+    private final Writer writer;
+    // The queued commands, which are limited, so a client can't send more than the session can handle
+    private final BlockingQueue<Command> commands = new ArrayBlockingQueue<>(Constants.SERVER_QUEUE_SIZE);
+    // The interpreter, which owns the game of the session
+    private final CommandInterpreter interpreter = new CommandInterpreter();
+    // The response, that is built for the current command
+    private final StringBuilder response = new StringBuilder();
+    // The amount of tokens, which can be used for commands
+    private double tokens = Constants.SERVER_RATE_BURST;
+    // The time the tokens were refilled at last
+    private long lastRefill = System.nanoTime();
+    // Whether or not the session still handles commands
+    private volatile boolean open = true;
+
+    /**
+     * This is the constructor method
+     *
+     * @param server The server the session belongs to
+     * @param socket The connection of the session
+     * @throws IOException If the connection can't be written to
+     */
+    public GameSession(GameServer server, Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+    }
+
+    // queue methods
+
+    /**
+     * This method queues a command, it waits while the queue is full, but not after the session was closed
+     *
+     * @param line The command
+     * @return Whether or not the command was queued, which it isn't if the session was closed
+     * @throws InterruptedException If the thread was interrupted while waiting
+     */
+    public boolean enqueue(String line) throws InterruptedException {
+        return offer(new Command(line, System.nanoTime()));
+    }
+
+    /**
+     * This method tells the session, that no more commands are coming, the commands that are still queued are handled first
+     */
+    public void finish() {
+        try {
+            offer(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            open = false;
+        }
+    }
+
+    /**
+     * This method queues the given command, it waits while the queue is full and checks every now and then, whether or not the session was closed
+     * A closed session doesn't take commands anymore, so waiting for room in its queue would never end
+     *
+     * @param command The command
+     * @return Whether or not the command was queued
+     * @throws InterruptedException If the thread was interrupted while waiting
+     */
+    private boolean offer(Command command) throws InterruptedException {
+        while (open) {
+            if (commands.offer(command, Constants.SERVER_QUEUE_WAIT, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method checks, whether or not the session still handles commands
+     *
+     * @return Whether or not the session is open
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * This method handles the queued commands, until the connection is closed
+     */
+    @Override
+    public void run() {
+        try {
+            while (open) {
+                Command command = commands.take();
+                if (command == END) {
+                    break;
+                }
+                handle(command);
+                // the responses are only sent once there is nothing left to answer, so a burst of commands is sent back at once
+                if (commands.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            // the client isn't reading anymore
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            open = false;
+            // the reader waiting on a full queue is woken up
+            commands.clear();
+            GameServer.closeQuietly(socket);
+        }
+    }
+
+    // command methods
+
+    /**
+     * This method handles a single command and writes its response
+     *
+     * @param command The command
+     * @throws IOException If the response can't be written
+     */
+    private void handle(Command command) throws IOException {
+        String[] arguments = command.line.trim().split("\\s+");
+        String name = arguments[0];
+        // a client, that ran out of tokens, can still leave
+        if (name.equalsIgnoreCase("QUIT")) {
+            open = false;
+            writer.write("OK BYE\n");
+            writer.flush();
+            return;
+        }
+        // the token is taken before the command is looked up, so unknown commands can't be sent faster than the rate limit either
+        if (!takeToken()) {
+            writer.write("ERR RATE_LIMITED\n");
+            return;
+        }
+        CommandInterpreter.Endpoint endpoint = CommandInterpreter.Endpoint.toEndpoint(name);
+        if (endpoint == null) {
+            writer.write("ERR UNKNOWN_COMMAND\n");
+            return;
+        }
+        response.setLength(0);
+        if (endpoint == CommandInterpreter.Endpoint.STATS) {
+            appendStats();
+        } else {
+            interpreter.execute(endpoint, arguments, response);
+        }
+        response.append('\n');
+        writer.append(response);
+        server.recordLatency(endpoint, System.nanoTime() - command.receivedNanos);
+    }
+
+    /**
+     * This method adds the latencies of every endpoint to the response
+     */
+    private void appendStats() {
+        response.append("OK");
+        for (CommandInterpreter.Endpoint endpoint : CommandInterpreter.Endpoint.values()) {
+            LatencyHistogram latencies = server.getLatencies(endpoint);
+            response.append(' ').append(endpoint).append('=').append(latencies.getTotalCount())
+                    .append('/').append(latencies.getValueAtPercentile(50) / 1000)
+                    .append('/').append(latencies.getValueAtPercentile(99) / 1000);
+        }
+    }
+
+    // rate limit methods
+
+    /**
+     * This method takes a token for a command, after refilling the tokens for the time that passed
+     *
+     * @return Whether or not a token was left
+     */
+    private boolean takeToken() {
+        long now = System.nanoTime();
+        tokens = Math.min(Constants.SERVER_RATE_BURST, tokens + (now - lastRefill) * Constants.SERVER_RATE_LIMIT / 1e9);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * This is the class for a command, that was read from the connection
+     */
+    private static class Command {
+        // The line of the command
+        private final String line;
+        // The time the command was read at
+        private final long receivedNanos;
+
+        /**
+         * This is the constructor method
+         *
+         * @param line          The line of the command
+         * @param receivedNanos The time the command was read at
+         */
+        private Command(String line, long receivedNanos) {
+            this.line = line;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+}
@@ -0,0 +1,696 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is the class for the store of the results of every finished round, from which the leaderboards and statistics are read
+ * Every result is appended to a log as a record of fixed size, once the log holds enough records, every record is written into a snapshot,
+ * grouped by difficulty and with the wins in the order of the leaderboard, and the log is started over
+ * Both files hold the generation of the log in their header, so the results of a log, that was already written into the snapshot, aren't read twice
+ * The results are kept in memory in columns, every difficulty keeps its leaderboard sorted and its statistics summed up while the results come in,
+ * so neither a leaderboard nor the statistics have to look at every result
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class HighScoreStore {
+
+    /**
+     * The bytes the log and the snapshot start with, which are "MSHS"
+     */
+    private static final int MAGIC = 0x4D534853;
+    /**
+     * The version of the format, which is increased whenever the format changes
+     */
+    private static final int VERSION = 1;
+    /**
+     * The size of the header of the log and the snapshot in bytes
+     */
+    private static final int HEADER_SIZE = 16;
+    /**
+     * The size of a single result in bytes
+     */
+    private static final int RECORD_SIZE = 56;
+
+    // The file every result is written into, when the log is compacted
+    private final Path snapshotPath;
+    // The least amount of results in the log, after which it is compacted
+    private final int compactionRecords;
+    // The channel of the log
+    private final FileChannel log;
+    // The generation of the log, which is increased every time it is written into the snapshot
+    private long logGeneration;
+    // The amount of results in the log
+    private int logRecords;
+    // The buffer a single result is written from
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    // The difficulties, by their height, width and amount of mines
+    private final Map<String, Difficulty> difficulties = new HashMap<>();
+    // The difficulty of the last result, which is most likely the one of the next result as well, since a snapshot is grouped by difficulty
+    private Difficulty lastDifficulty;
+    // The difficulty of every result
+    private Difficulty[] difficultyColumn = new Difficulty[1024];
+    // The time every result was finished at
+    private long[] finishedAtColumn = new long[1024];
+    // The time every round took
+    private long[] durationColumn = new long[1024];
+    // The seed of every round
+    private long[] seedColumn = new long[1024];
+    // The 3BV of every round
+    private int[] threeBVColumn = new int[1024];
+    // The clicks of every round
+    private int[] clicksColumn = new int[1024];
+    // The hints used in every round
+    private int[] hintsColumn = new int[1024];
+    // The amount of results
+    private int size;
+
+    /**
+     * This is the constructor method, which reads every result of the snapshot and the log
+     *
+     * @param logPath           The file the results are appended to
+     * @param snapshotPath      The file every result is written into, when the log is compacted
+     * @param compactionRecords The least amount of results in the log, after which it is compacted
+     * @throws IOException If the files can't be read or don't hold results
+     */
+    public HighScoreStore(Path logPath, Path snapshotPath, int compactionRecords) throws IOException {
+        this.snapshotPath = snapshotPath;
+        this.compactionRecords = compactionRecords;
+        // the snapshot holds the generation the log gets after it was written into the snapshot
+        long snapshotGeneration = 0;
+        if (Files.exists(snapshotPath)) {
+            try (FileChannel snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+                snapshotGeneration = readHeader(snapshot);
+                readRecords(snapshot);
+            }
+        }
+        log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // a log without a complete header holds no results, since the program ended while the log was started over
+        boolean logStarted = log.size() >= HEADER_SIZE;
+        logGeneration = logStarted ? readHeader(log) : snapshotGeneration;
+        if (!logStarted || logGeneration < snapshotGeneration) {
+            // the program ended after the snapshot was written, but before the log was started over
+            logGeneration = snapshotGeneration;
+            log.truncate(0);
+        }
+        if (log.size() == 0) {
+            writeHeader(log, logGeneration);
+        } else {
+            logRecords = readRecords(log);
+            // a record, that was only written partly, is cut off, so the next one starts at the right position
+            log.truncate(HEADER_SIZE + (long) logRecords * RECORD_SIZE);
+        }
+        log.position(log.size());
+        // the wins were only appended while they were read, so every leaderboard is sorted once at the end
+        for (Difficulty difficulty : difficulties.values()) {
+            difficulty.sortLeaderboard(durationColumn);
+        }
+    }
+
+    // record methods
+
+    /**
+     * This method adds the given result to the store and appends it to the log
+     *
+     * @param result The result
+     * @throws IOException If the log can't be written
+     */
+    public synchronized void record(GameResult result) throws IOException {
+        recordBuffer.clear();
+        recordBuffer.putLong(result.getFinishedAt());
+        recordBuffer.putLong(result.getSeed());
+        recordBuffer.putLong(result.getDurationMillis());
+        recordBuffer.putInt(result.getMapHeight());
+        recordBuffer.putInt(result.getMapWidth());
+        recordBuffer.putInt(result.getAmountOfMines());
+        recordBuffer.putInt(result.getThreeBV());
+        recordBuffer.putInt(result.getClicks());
+        recordBuffer.putInt(result.getHintsUsed());
+        recordBuffer.put((byte) (result.isWon() ? 1 : 0));
+        recordBuffer.position(RECORD_SIZE).flip();
+        add(recordBuffer, true);
+        recordBuffer.rewind();
+        writeFully(log, recordBuffer);
+        logRecords++;
+        // the log has to be as big as the snapshot as well, so writing the snapshot doesn't take longer the more results there are
+        if (logRecords >= Math.max(compactionRecords, size - logRecords)) {
+            compact();
+        }
+    }
+
+    /**
+     * This method writes every result into the snapshot and starts the log over
+     * The snapshot is written into a new file, which replaces the old one at once, so a crash never leaves the store without its results
+     *
+     * @throws IOException If the snapshot or the log can't be written
+     */
+    public synchronized void compact() throws IOException {
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel snapshot = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(snapshot, logGeneration + 1);
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            for (Difficulty difficulty : difficulties.values()) {
+                // the wins are written in the order of the leaderboard, so it doesn't have to be sorted when the snapshot is read
+                for (int i = 0; i < difficulty.leaderboardSize; i++) {
+                    buffer = writeRecord(snapshot, buffer, difficulty.leaderboard[i], true);
+                }
+                for (int i = 0; i < difficulty.lossesSize; i++) {
+                    buffer = writeRecord(snapshot, buffer, difficulty.losses[i], false);
+                }
+            }
+            buffer.flip();
+            writeFully(snapshot, buffer);
+            snapshot.force(true);
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logGeneration++;
+        log.truncate(0);
+        log.position(0);
+        writeHeader(log, logGeneration);
+        logRecords = 0;
+    }
+
+    /**
+     * This method closes the log
+     *
+     * @throws IOException If the log can't be closed
+     */
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+
+    // query methods
+
+    /**
+     * This method gives back the fastest wins of the given difficulty, wins that took the same time are in the order they happened in
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @param amount        The amount of wins at most
+     * @return The wins, the fastest one first
+     */
+    public synchronized List<GameResult> getLeaderboard(int mapHeight, int mapWidth, int amountOfMines, int amount) {
+        List<GameResult> leaderboard = new ArrayList<>();
+        Difficulty difficulty = difficulties.get(toKey(mapHeight, mapWidth, amountOfMines));
+        if (difficulty == null) {
+            return leaderboard;
+        }
+        for (int i = 0; i < Math.min(amount, difficulty.leaderboardSize); i++) {
+            leaderboard.add(toResult(difficulty.leaderboard[i], true));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * This method gives back the statistics of every round of the given difficulty
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @return The statistics, which are empty, if no round of the difficulty was finished yet
+     */
+    public synchronized Statistics getStatistics(int mapHeight, int mapWidth, int amountOfMines) {
+        Difficulty difficulty = difficulties.get(toKey(mapHeight, mapWidth, amountOfMines));
+        if (difficulty == null) {
+            return new Statistics(0, 0, -1, 0, 0, 0, 0);
+        }
+        return new Statistics(difficulty.games, difficulty.wins, difficulty.bestDuration, difficulty.winDurationSum,
+                difficulty.threeBVSum, difficulty.clicksSum, difficulty.hintsSum);
+    }
+
+    /**
+     * This method returns the amount of results in the store
+     *
+     * @return The amount of results
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    // Miscellaneous methods
+
+    /**
+     * This method adds the result in the given buffer to the columns, the leaderboard and the statistics of its difficulty
+     *
+     * @param record The buffer, which is positioned at the start of the result
+     * @param sorted Whether the win is put into its place on the leaderboard, or only appended, until the leaderboard is sorted
+     */
+    private void add(ByteBuffer record, boolean sorted) {
+        int start = record.position();
+        long finishedAt = record.getLong(start);
+        long seed = record.getLong(start + 8);
+        long duration = record.getLong(start + 16);
+        int mapHeight = record.getInt(start + 24);
+        int mapWidth = record.getInt(start + 28);
+        int amountOfMines = record.getInt(start + 32);
+        int threeBV = record.getInt(start + 36);
+        int clicks = record.getInt(start + 40);
+        int hints = record.getInt(start + 44);
+        boolean won = record.get(start + 48) != 0;
+        record.position(start + RECORD_SIZE);
+
+        if (size == finishedAtColumn.length) {
+            int length = size * 2;
+            difficultyColumn = Arrays.copyOf(difficultyColumn, length);
+            finishedAtColumn = Arrays.copyOf(finishedAtColumn, length);
+            durationColumn = Arrays.copyOf(durationColumn, length);
+            seedColumn = Arrays.copyOf(seedColumn, length);
+            threeBVColumn = Arrays.copyOf(threeBVColumn, length);
+            clicksColumn = Arrays.copyOf(clicksColumn, length);
+            hintsColumn = Arrays.copyOf(hintsColumn, length);
+        }
+        Difficulty difficulty = lastDifficulty;
+        if (difficulty == null || difficulty.mapHeight != mapHeight || difficulty.mapWidth != mapWidth || difficulty.amountOfMines != amountOfMines) {
+            difficulty = difficulties.computeIfAbsent(toKey(mapHeight, mapWidth, amountOfMines), key -> new Difficulty(mapHeight, mapWidth, amountOfMines));
+            lastDifficulty = difficulty;
+        }
+        int id = size++;
+        difficultyColumn[id] = difficulty;
+        finishedAtColumn[id] = finishedAt;
+        durationColumn[id] = duration;
+        seedColumn[id] = seed;
+        threeBVColumn[id] = threeBV;
+        clicksColumn[id] = clicks;
+        hintsColumn[id] = hints;
+
+        difficulty.games++;
+        difficulty.threeBVSum += threeBV;
+        difficulty.clicksSum += clicks;
+        difficulty.hintsSum += hints;
+        if (won) {
+            difficulty.wins++;
+            difficulty.winDurationSum += duration;
+            if (difficulty.bestDuration < 0 || duration < difficulty.bestDuration) {
+                difficulty.bestDuration = duration;
+            }
+            if (sorted) {
+                difficulty.addToLeaderboard(id, durationColumn);
+            } else {
+                difficulty.appendToLeaderboard(id);
+            }
+        } else {
+            difficulty.addLoss(id);
+        }
+    }
+
+    /**
+     * This method builds the result with the given id from the columns
+     *
+     * @param id  The id of the result
+     * @param won Whether or not the round was won
+     * @return The result
+     */
+    private GameResult toResult(int id, boolean won) {
+        Difficulty difficulty = difficultyColumn[id];
+        return new GameResult(finishedAtColumn[id], durationColumn[id], difficulty.mapHeight, difficulty.mapWidth, difficulty.amountOfMines,
+                won, threeBVColumn[id], clicksColumn[id], hintsColumn[id], seedColumn[id]);
+    }
+
+    /**
+     * This method reads the header of the log or the snapshot and checks it
+     *
+     * @param channel The channel
+     * @return The generation of the log in the header
+     * @throws IOException If the channel can't be read or doesn't hold results
+     */
+    private static long readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Unexpected end of high-score file");
+            }
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a high-score file of this version");
+        }
+        return header.getLong(8);
+    }
+
+    /**
+     * This method reads every complete result of the given channel, which come after the header
+     * The wins are only appended to the leaderboards, which have to be sorted afterwards
+     *
+     * @param channel The channel
+     * @return The amount of results read
+     * @throws IOException If the channel can't be read
+     */
+    private int readRecords(FileChannel channel) throws IOException {
+        long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        // the results are read in large blocks, so millions of them only take a few reads
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        long position = HEADER_SIZE;
+        long end = HEADER_SIZE + records * RECORD_SIZE;
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new IOException("Unexpected end of high-score file");
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                add(buffer, false);
+            }
+            position += buffer.limit();
+        }
+        return (int) records;
+    }
+
+    /**
+     * This method adds the result with the given id to the buffer, the buffer is written into the channel when it is full
+     *
+     * @param channel The channel
+     * @param buffer  The buffer
+     * @param id      The id of the result
+     * @param won     Whether or not the round was won
+     * @return The buffer
+     * @throws IOException If the channel can't be written
+     */
+    private ByteBuffer writeRecord(FileChannel channel, ByteBuffer buffer, int id, boolean won) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+        }
+        Difficulty difficulty = difficultyColumn[id];
+        int start = buffer.position();
+        buffer.putLong(finishedAtColumn[id]);
+        buffer.putLong(seedColumn[id]);
+        buffer.putLong(durationColumn[id]);
+        buffer.putInt(difficulty.mapHeight);
+        buffer.putInt(difficulty.mapWidth);
+        buffer.putInt(difficulty.amountOfMines);
+        buffer.putInt(threeBVColumn[id]);
+        buffer.putInt(clicksColumn[id]);
+        buffer.putInt(hintsColumn[id]);
+        buffer.put((byte) (won ? 1 : 0));
+        // the rest of the record is reserved
+        while (buffer.position() < start + RECORD_SIZE) {
+            buffer.put((byte) 0);
+        }
+        return buffer;
+    }
+
+    /**
+     * This method writes the header of the log or the snapshot
+     *
+     * @param channel    The channel, positioned at its start
+     * @param generation The generation of the log
+     * @throws IOException If the channel can't be written
+     */
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(generation);
+        header.flip();
+        writeFully(channel, header);
+    }
+
+    /**
+     * This method writes the whole buffer into the channel
+     *
+     * @param channel The channel
+     * @param buffer  The buffer
+     * @throws IOException If the channel can't be written to
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * This method gives back the key of a difficulty
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @return The key
+     */
+    private static String toKey(int mapHeight, int mapWidth, int amountOfMines) {
+        return mapHeight + "x" + mapWidth + "x" + amountOfMines;
+    }
+
+    /**
+     * This is the class for a difficulty, with its leaderboard and its summed up statistics
+     */
+    private static class Difficulty {
+        // The height of the map
+        private final int mapHeight;
+        // The width of the map
+        private final int mapWidth;
+        // The amount of mines on the map
+        private final int amountOfMines;
+        // The ids of the wins, the fastest one first
+        private int[] leaderboard = new int[16];
+        // The amount of wins on the leaderboard
+        private int leaderboardSize;
+        // The ids of the losses, in the order they happened in
+        private int[] losses = new int[16];
+        // The amount of losses
+        private int lossesSize;
+        // The amount of rounds
+        private int games;
+        // The amount of wins
+        private int wins;
+        // The time of the fastest win, or -1 if there is no win
+        private long bestDuration = -1;
+        // The time of every win summed up
+        private long winDurationSum;
+        // The 3BV of every round summed up
+        private long threeBVSum;
+        // The clicks of every round summed up
+        private long clicksSum;
+        // The hints of every round summed up
+        private long hintsSum;
+
+        /**
+         * This is the constructor method
+         *
+         * @param mapHeight     The height of the map
+         * @param mapWidth      The width of the map
+         * @param amountOfMines The amount of mines on the map
+         */
+        private Difficulty(int mapHeight, int mapWidth, int amountOfMines) {
+            this.mapHeight = mapHeight;
+            this.mapWidth = mapWidth;
+            this.amountOfMines = amountOfMines;
+        }
+
+        /**
+         * This method adds a win to the leaderboard, after every win that was as fast or faster
+         * The wins of a snapshot come in the order of the leaderboard, so they are simply appended
+         *
+         * @param id        The id of the win
+         * @param durations The time of every result
+         */
+        private void addToLeaderboard(int id, long[] durations) {
+            if (leaderboardSize == leaderboard.length) {
+                leaderboard = Arrays.copyOf(leaderboard, leaderboardSize * 2);
+            }
+            long duration = durations[id];
+            int low = 0;
+            int high = leaderboardSize;
+            if (leaderboardSize > 0 && durations[leaderboard[leaderboardSize - 1]] <= duration) {
+                low = leaderboardSize;
+            }
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (durations[leaderboard[middle]] <= duration) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            System.arraycopy(leaderboard, low, leaderboard, low + 1, leaderboardSize - low);
+            leaderboard[low] = id;
+            leaderboardSize++;
+        }
+
+        /**
+         * This method appends a win to the end of the leaderboard, which has to be sorted before it is read
+         *
+         * @param id The id of the win
+         */
+        private void appendToLeaderboard(int id) {
+            if (leaderboardSize == leaderboard.length) {
+                leaderboard = Arrays.copyOf(leaderboard, leaderboardSize * 2);
+            }
+            leaderboard[leaderboardSize++] = id;
+        }
+
+        /**
+         * This method sorts the leaderboard by the time of the wins, wins that took the same time stay in the order they were added in
+         * The runs are merged bottom-up, and two runs, that are already in order, are only copied, so the wins of a snapshot,
+         * which come in the order of the leaderboard, are merged with the wins of the log in linear time
+         *
+         * @param durations The time of every result
+         */
+        private void sortLeaderboard(long[] durations) {
+            int[] source = leaderboard;
+            int[] target = new int[leaderboard.length];
+            for (int width = 1; width < leaderboardSize; width *= 2) {
+                for (int low = 0; low < leaderboardSize; low += 2 * width) {
+                    int middle = Math.min(low + width, leaderboardSize);
+                    int high = Math.min(low + 2 * width, leaderboardSize);
+                    if (middle == high || durations[source[middle - 1]] <= durations[source[middle]]) {
+                        System.arraycopy(source, low, target, low, high - low);
+                        continue;
+                    }
+                    int left = low;
+                    int right = middle;
+                    for (int i = low; i < high; i++) {
+                        if (right == high || (left < middle && durations[source[left]] <= durations[source[right]])) {
+                            target[i] = source[left++];
+                        } else {
+                            target[i] = source[right++];
+                        }
+                    }
+                }
+                int[] merged = target;
+                target = source;
+                source = merged;
+            }
+            leaderboard = source;
+        }
+
+        /**
+         * This method adds a loss
+         *
+         * @param id The id of the loss
+         */
+        private void addLoss(int id) {
+            if (lossesSize == losses.length) {
+                losses = Arrays.copyOf(losses, lossesSize * 2);
+            }
+            losses[lossesSize++] = id;
+        }
+    }
+
+    /**
+     * This is the class for the statistics of a difficulty
+     */
+    public static class Statistics {
+        // The amount of rounds
+        private final int games;
+        // The amount of wins
+        private final int wins;
+        // The time of the fastest win, or -1 if there is no win
+        private final long bestDuration;
+        // The time of every win summed up
+        private final long winDurationSum;
+        // The 3BV of every round summed up
+        private final long threeBVSum;
+        // The clicks of every round summed up
+        private final long clicksSum;
+        // The hints of every round summed up
+        private final long hintsSum;
+
+        /**
+         * This is the constructor method
+         *
+         * @param games          The amount of rounds
+         * @param wins           The amount of wins
+         * @param bestDuration   The time of the fastest win, or -1 if there is no win
+         * @param winDurationSum The time of every win summed up
+         * @param threeBVSum     The 3BV of every round summed up
+         * @param clicksSum      The clicks of every round summed up
+         * @param hintsSum       The hints of every round summed up
+         */
+        private Statistics(int games, int wins, long bestDuration, long winDurationSum, long threeBVSum, long clicksSum, long hintsSum) {
+            this.games = games;
+            this.wins = wins;
+            this.bestDuration = bestDuration;
+            this.winDurationSum = winDurationSum;
+            this.threeBVSum = threeBVSum;
+            this.clicksSum = clicksSum;
+            this.hintsSum = hintsSum;
+        }
+
+        /**
+         * This method returns the amount of rounds
+         *
+         * @return The amount of rounds
+         */
+        public int getGames() {
+            return games;
+        }
+
+        /**
+         * This method returns the amount of wins
+         *
+         * @return The amount of wins
+         */
+        public int getWins() {
+            return wins;
+        }
+
+        /**
+         * This method returns the share of the rounds, that were won
+         *
+         * @return The share between zero and one
+         */
+        public double getWinRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        /**
+         * This method returns the time of the fastest win
+         *
+         * @return The time in milliseconds, or -1 if there is no win
+         */
+        public long getBestDuration() {
+            return bestDuration;
+        }
+
+        /**
+         * This method returns the average time of a win
+         *
+         * @return The time in milliseconds
+         */
+        public double getAverageWinDuration() {
+            return wins == 0 ? 0 : (double) winDurationSum / wins;
+        }
+
+        /**
+         * This method returns the average 3BV of a round
+         *
+         * @return The average 3BV
+         */
+        public double getAverageThreeBV() {
+            return games == 0 ? 0 : (double) threeBVSum / games;
+        }
+
+        /**
+         * This method returns the average amount of clicks of a round
+         *
+         * @return The average amount of clicks
+         */
+        public double getAverageClicks() {
+            return games == 0 ? 0 : (double) clicksSum / games;
+        }
+
+        /**
+         * This method returns the amount of hints used in every round together
+         *
+         * @return The amount of hints
+         */
+        public long getHintsUsed() {
+            return hintsSum;
+        }
+    }
+}
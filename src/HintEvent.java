@@ -0,0 +1,25 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is the class for the flight recorder event, that is emitted when a hint is searched for and shown
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@Name("minesweeper.Hint")
+@Label("Hint")
+@Category("Minesweeper")
+@Description("A hint is searched for and shown")
+public class HintEvent extends jdk.jfr.Event {
+
+    @Label("Hint Shown")
+    @Description("Whether or not a field for the hint was found")
+    boolean hintShown;
+    @Label("X")
+    int x;
+    @Label("Y")
+    int y;
+}
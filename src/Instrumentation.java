@@ -0,0 +1,251 @@
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This is the class for the latency histograms of the operations of the game, which are mine generation, reveals, win checks, hints and repaints,
+ * and for the hits and misses of the pool of prepared boards
+ * The histograms are striped, so the threads rarely wait for each other, and their memory doesn't grow with the amount of threads
+ * The histograms can be read with the methods of this class, or through JMX with the name given in OBJECT_NAME
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class Instrumentation {
+
+    /**
+     * The name the histograms are registered with in JMX
+     */
+    public static final String OBJECT_NAME = "minesweeper:type=Instrumentation";
+
+    // The histogram of every operation, where the index is the ordinal of the operation
+    private static final ConcurrentLatencyHistogram[] histograms = new ConcurrentLatencyHistogram[Operation.values().length];
+
+    static {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new ConcurrentLatencyHistogram();
+        }
+    }
+
+    // The pool of prepared boards, whose hits and misses are reported, or null if the boards aren't prepared
+    private static volatile BoardPool boardPool;
+
+    /**
+     * This is the constructor method, which is private, since this is a utility-class
+     */
+    private Instrumentation() {
+        throw new IllegalStateException("Utility-class constructor.");
+    }
+
+    /**
+     * This method returns the time an operation starts at
+     *
+     * @return The time in nanoseconds, or zero if nothing is recorded
+     */
+    public static long start() {
+        return Constants.INSTRUMENTATION ? System.nanoTime() : 0;
+    }
+
+    /**
+     * This method records the latency of an operation, that started at the given time and ends now
+     *
+     * @param operation  The operation
+     * @param startNanos The time the operation started at, as returned by start()
+     */
+    public static void record(Operation operation, long startNanos) {
+        if (Constants.INSTRUMENTATION) {
+            histograms[operation.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * This method returns the latencies of the given operation of every thread
+     *
+     * @param operation The operation
+     * @return The merged histogram, which is a copy
+     */
+    public static LatencyHistogram getHistogram(Operation operation) {
+        return histograms[operation.ordinal()].snapshot();
+    }
+
+    /**
+     * This method sets the pool of prepared boards, whose hits and misses are reported from then on
+     *
+     * @param pool The pool, or null to stop reporting
+     */
+    public static void setBoardPool(BoardPool pool) {
+        boardPool = pool;
+    }
+
+    /**
+     * This method returns the amount of first clicks that got a prepared board
+     *
+     * @return The amount of hits, or zero if the boards aren't prepared
+     */
+    public static long getBoardPoolHits() {
+        BoardPool pool = boardPool;
+        return pool == null ? 0 : pool.getHitCount();
+    }
+
+    /**
+     * This method returns the amount of first clicks that had to place the mines themselves, although the boards are prepared
+     *
+     * @return The amount of misses, or zero if the boards aren't prepared
+     */
+    public static long getBoardPoolMisses() {
+        BoardPool pool = boardPool;
+        return pool == null ? 0 : pool.getMissCount();
+    }
+
+    /**
+     * This method removes every recorded latency and the hits and misses of the pool
+     */
+    public static void reset() {
+        for (ConcurrentLatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        BoardPool pool = boardPool;
+        if (pool != null) {
+            pool.resetCounts();
+        }
+    }
+
+    /**
+     * This method gives back a table with the latencies of every operation, in microseconds
+     *
+     * @return The table
+     */
+    public static String dump() {
+        StringBuilder table = new StringBuilder(String.format("%-16s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "mean", "p50", "p90", "p99", "p99.9", "max"));
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = getHistogram(operation);
+            table.append(String.format("%-16s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    operation.getLabel(),
+                    histogram.getTotalCount(),
+                    histogram.getMean() / 1000,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaximum() / 1000.0));
+        }
+        BoardPool pool = boardPool;
+        if (pool != null) {
+            table.append(String.format("%-16s %10d hits %10d misses %9.1f%% hit rate%n",
+                    "board pool", pool.getHitCount(), pool.getMissCount(), pool.getHitRate() * 100));
+        }
+        return table.toString();
+    }
+
+    /**
+     * This method makes the histograms readable through JMX, with the name given in OBJECT_NAME
+     */
+    public static void registerMXBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new InstrumentationBean(), name);
+            }
+        } catch (JMException e) {
+            System.err.println("The latencies can't be read through JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method prints the table of latencies when the program ends, if anything was recorded
+     */
+    public static void dumpAtShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Operation operation : Operation.values()) {
+                if (getHistogram(operation).getTotalCount() > 0) {
+                    System.out.print(dump());
+                    return;
+                }
+            }
+        }, "instrumentation-dump"));
+    }
+
+    /**
+     * This is the enum for the operations, whose latencies are recorded
+     */
+    public enum Operation {
+        MINE_GENERATION("mine generation"),
+        REVEAL("reveal"),
+        WIN_CHECK("win check"),
+        HINT("hint"),
+        REPAINT("repaint");
+
+        // The name of the operation in the table
+        private final String label;
+
+        /**
+         * This is the constructor method
+         *
+         * @param label The name of the operation in the table
+         */
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * This method returns the name of the operation in the table
+         *
+         * @return The name
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * This is the class, which makes the histograms readable through JMX
+     */
+    private static class InstrumentationBean implements InstrumentationMXBean {
+
+        @Override
+        public LatencySummary getMineGeneration() {
+            return new LatencySummary(getHistogram(Operation.MINE_GENERATION));
+        }
+
+        @Override
+        public LatencySummary getReveal() {
+            return new LatencySummary(getHistogram(Operation.REVEAL));
+        }
+
+        @Override
+        public LatencySummary getWinCheck() {
+            return new LatencySummary(getHistogram(Operation.WIN_CHECK));
+        }
+
+        @Override
+        public LatencySummary getHint() {
+            return new LatencySummary(getHistogram(Operation.HINT));
+        }
+
+        @Override
+        public LatencySummary getRepaint() {
+            return new LatencySummary(getHistogram(Operation.REPAINT));
+        }
+
+        @Override
+        public long getBoardPoolHits() {
+            return Instrumentation.getBoardPoolHits();
+        }
+
+        @Override
+        public long getBoardPoolMisses() {
+            return Instrumentation.getBoardPoolMisses();
+        }
+
+        @Override
+        public String dump() {
+            return Instrumentation.dump();
+        }
+
+        @Override
+        public void reset() {
+            Instrumentation.reset();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * This is the interface, through which the latencies of the operations of the game and the hits and misses of the pool of prepared boards
+ * can be read with JMX, for example in JConsole
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public interface InstrumentationMXBean {
+
+    /**
+     * This method returns the latencies of placing the mines after the first click
+     *
+     * @return The summary of the latencies
+     */
+    LatencySummary getMineGeneration();
+
+    /**
+     * This method returns the latencies of walking on a field, including the flood fill of a free area
+     *
+     * @return The summary of the latencies
+     */
+    LatencySummary getReveal();
+
+    /**
+     * This method returns the latencies of checking whether the game is won
+     *
+     * @return The summary of the latencies
+     */
+    LatencySummary getWinCheck();
+
+    /**
+     * This method returns the latencies of searching for and showing a hint
+     *
+     * @return The summary of the latencies
+     */
+    LatencySummary getHint();
+
+    /**
+     * This method returns the latencies of drawing the map
+     *
+     * @return The summary of the latencies
+     */
+    LatencySummary getRepaint();
+
+    /**
+     * This method returns the amount of first clicks that got a prepared board out of the pool
+     *
+     * @return The amount of hits
+     */
+    long getBoardPoolHits();
+
+    /**
+     * This method returns the amount of first clicks that had to place the mines themselves, since the pool was empty
+     *
+     * @return The amount of misses
+     */
+    long getBoardPoolMisses();
+
+    /**
+     * This method gives back a table with the latencies of every operation, in microseconds
+     *
+     * @return The table
+     */
+    String dump();
+
+    /**
+     * This method removes every recorded latency
+     */
+    void reset();
+}
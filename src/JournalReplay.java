@@ -0,0 +1,190 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is the class for replaying a game from its move journal
+ * The game is rebuilt by playing every recorded move again, which can be done one move at a time or all at once without a window
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class JournalReplay {
+
+    // The bytes of the journal, positioned at the next move
+    private final ByteBuffer journal;
+    // The game that is rebuilt
+    private final Game game;
+    // The highest move type, that the version of the journal can hold
+    private final int highestType;
+    // The amount of moves that were replayed
+    private long replayedMoves;
+
+    /**
+     * This is the constructor method, which reads the header of the journal and creates the game of its first round
+     *
+     * @param journal The bytes of the journal
+     * @throws IOException If the bytes aren't a valid journal
+     */
+    public JournalReplay(ByteBuffer journal) throws IOException {
+        this.journal = journal;
+        if (journal.remaining() < Integer.BYTES || journal.getInt() != MoveJournal.MAGIC) {
+            throw new IOException("Not a move journal");
+        }
+        // older journals are replayed as well, since every version only added move types
+        long version = readVarLong();
+        highestType = MoveJournal.getHighestType(version);
+        if (highestType < 0) {
+            throw new IOException("Unsupported move journal version: " + version);
+        }
+        int mapHeight = (int) readVarLong();
+        int mapWidth = (int) readVarLong();
+        int amountOfMines = (int) readVarLong();
+        int amountOfFlags = (int) readVarLong();
+        if (mapHeight <= 0 || mapWidth <= 0 || (long) mapHeight * mapWidth > Integer.MAX_VALUE
+                || readVarLong() != MoveJournal.TYPE_NEW_ROUND) {
+            throw new IOException("Corrupt move journal");
+        }
+        game = new Game(mapHeight, mapWidth, amountOfMines, amountOfFlags, fromZigZag(readVarLong()));
+        // the journal may hold undone moves, which can only be replayed with the history of the moves
+        game.setUndoEnabled(true);
+        // the replayed moves were already recorded when they were played, they would only mix into the latencies of the player
+        game.setInstrumented(false);
+    }
+
+    /**
+     * This method opens the journal in the given file
+     *
+     * @param path The file
+     * @return The replay of the journal
+     * @throws IOException If the file can't be read or isn't a valid journal
+     */
+    public static JournalReplay open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer journal = ByteBuffer.allocate((int) channel.size());
+            while (journal.hasRemaining()) {
+                if (channel.read(journal) < 0) {
+                    break;
+                }
+            }
+            return new JournalReplay(journal.flip());
+        }
+    }
+
+    /**
+     * This method plays the next recorded move again
+     *
+     * @return Whether or not there was a move left to replay
+     * @throws IOException If the journal is corrupt
+     */
+    public boolean step() throws IOException {
+        if (!journal.hasRemaining()) {
+            return false;
+        }
+        long move = readVarLong();
+        int type = (int) (move & ((1 << MoveJournal.TYPE_BITS) - 1));
+        long field = move >>> MoveJournal.TYPE_BITS;
+        if (type > highestType) {
+            throw new IOException("Unknown move type: " + type);
+        }
+        int mapWidth = game.getMapWidth();
+        if (field >= (long) game.getMapHeight() * mapWidth) {
+            throw new IOException("Corrupt move journal");
+        }
+        int x = (int) field / mapWidth;
+        int y = (int) field % mapWidth;
+        switch (type) {
+            case MoveJournal.TYPE_NEW_ROUND -> game.startNewGame(fromZigZag(readVarLong()));
+            case MoveJournal.TYPE_MINES_PLACED -> game.placeMinesAfterClick(x, y, fromZigZag(readVarLong()));
+            case MoveJournal.TYPE_REVEAL -> game.walkOnField(x, y);
+            case MoveJournal.TYPE_CHORD -> game.chordOnField(x, y);
+            case MoveJournal.TYPE_FLAG -> game.placeRemoveFlag(x, y);
+            case MoveJournal.TYPE_HINT_SHOWN -> game.showHint(x, y);
+            case MoveJournal.TYPE_HINT_HIDDEN -> game.showOrHideHint(false);
+            case MoveJournal.TYPE_UNDO -> {
+                if (field == 0) {
+                    game.undo();
+                } else {
+                    game.redo();
+                }
+            }
+            default -> throw new IOException("Unknown move type: " + type);
+        }
+        replayedMoves++;
+        return true;
+    }
+
+    /**
+     * This method plays every remaining move again
+     *
+     * @return The amount of moves that were replayed
+     * @throws IOException If the journal is corrupt
+     */
+    public long fastForward() throws IOException {
+        long start = replayedMoves;
+        while (step()) {
+            // every move is replayed
+        }
+        return replayedMoves - start;
+    }
+
+    /**
+     * This method returns the game that is rebuilt
+     *
+     * @return The game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * This method returns the amount of moves that were replayed
+     *
+     * @return The amount of replayed moves
+     */
+    public long getReplayedMoves() {
+        return replayedMoves;
+    }
+
+    /**
+     * This method returns whether or not every move was replayed
+     *
+     * @return Whether or not the replay is finished
+     */
+    public boolean isFinished() {
+        return !journal.hasRemaining();
+    }
+
+    /**
+     * This method reads a varint, which has seven bits of the value in every byte, starting with the lowest ones
+     *
+     * @return The value
+     * @throws IOException If the journal ends in the middle of the value
+     */
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!journal.hasRemaining()) {
+                throw new IOException("Unexpected end of move journal");
+            }
+            byte b = journal.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt move journal");
+    }
+
+    /**
+     * This method turns an unsigned value back into the signed one it was made from
+     *
+     * @param value The unsigned value
+     * @return The signed value
+     */
+    private static long fromZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,170 @@
+import java.util.Arrays;
+
+/**
+ * This is the class for a histogram of latencies in nanoseconds
+ * Like an HDR-histogram, every power of two is split into 32 buckets, so any recorded value is off by at most about three percent,
+ * while recording a value only takes a few instructions and no memory is allocated
+ * A histogram is not thread-safe, instead every thread records into its own histogram and those are merged afterwards
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * The amount of bits of a value that are kept exactly
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    /**
+     * The amount of buckets every power of two is split into
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * The values below this one get a bucket of their own
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    /**
+     * The amount of buckets that are needed for every positive long value
+     */
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * The amount of recorded values for every bucket
+     */
+    private final long[] buckets = new long[BUCKET_COUNT];
+    /**
+     * The amount of recorded values
+     */
+    private long totalCount;
+    /**
+     * The sum of all recorded values
+     */
+    private long totalSum;
+    /**
+     * The highest recorded value
+     */
+    private long maximum;
+
+    /**
+     * This method records a single value
+     *
+     * @param nanos The value in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[toBucket(nanos)]++;
+        totalCount++;
+        totalSum += nanos;
+        if (nanos > maximum) {
+            maximum = nanos;
+        }
+    }
+
+    /**
+     * This method adds all the values of the given histogram to this one
+     *
+     * @param other The histogram that is getting added
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        totalCount += other.totalCount;
+        totalSum += other.totalSum;
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    /**
+     * This method removes all recorded values
+     */
+    public void reset() {
+        Arrays.fill(buckets, 0L);
+        totalCount = 0;
+        totalSum = 0;
+        maximum = 0;
+    }
+
+    /**
+     * This method gives back the value, below which the given percentage of the recorded values are
+     *
+     * @param percentile The percentage, between 0 and 100
+     * @return The value in nanoseconds
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        // the rank of the value that is searched for, starting at one
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(toHighestValue(i), maximum);
+            }
+        }
+        return maximum;
+    }
+
+    /**
+     * This method returns the amount of recorded values
+     *
+     * @return The amount of recorded values
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * This method returns the average of the recorded values
+     *
+     * @return The average in nanoseconds
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) totalSum / totalCount;
+    }
+
+    /**
+     * This method returns the highest recorded value
+     *
+     * @return The highest value in nanoseconds
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    // bucket methods
+
+    /**
+     * This method gives back the bucket the given value belongs into
+     *
+     * @param value The value
+     * @return The index of the bucket
+     */
+    private static int toBucket(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * This method gives back the highest value that belongs into the given bucket
+     *
+     * @param bucket The index of the bucket
+     * @return The highest value of the bucket
+     */
+    private static long toHighestValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
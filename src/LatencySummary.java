@@ -0,0 +1,108 @@
+import java.beans.ConstructorProperties;
+
+/**
+ * This is the class for the summary of a latency histogram, which is how the histograms are shown in JMX
+ * All latencies are in nanoseconds
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class LatencySummary {
+
+    // The amount of recorded values
+    private final long count;
+    // The average of the recorded values
+    private final double mean;
+    // The value half of the recorded values are below
+    private final long median;
+    // The value 99 percent of the recorded values are below
+    private final long percentile99;
+    // The value 99.9 percent of the recorded values are below
+    private final long percentile999;
+    // The highest recorded value
+    private final long maximum;
+
+    /**
+     * This is the constructor method, which summarizes the given histogram
+     *
+     * @param histogram The histogram
+     */
+    public LatencySummary(LatencyHistogram histogram) {
+        this(histogram.getTotalCount(), histogram.getMean(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaximum());
+    }
+
+    /**
+     * This is the constructor method, which JMX uses to rebuild a summary
+     *
+     * @param count         The amount of recorded values
+     * @param mean          The average of the recorded values
+     * @param median        The value half of the recorded values are below
+     * @param percentile99  The value 99 percent of the recorded values are below
+     * @param percentile999 The value 99.9 percent of the recorded values are below
+     * @param maximum       The highest recorded value
+     */
+    @ConstructorProperties({"count", "mean", "median", "percentile99", "percentile999", "maximum"})
+    public LatencySummary(long count, double mean, long median, long percentile99, long percentile999, long maximum) {
+        this.count = count;
+        this.mean = mean;
+        this.median = median;
+        this.percentile99 = percentile99;
+        this.percentile999 = percentile999;
+        this.maximum = maximum;
+    }
+
+    /**
+     * This method returns the amount of recorded values
+     *
+     * @return The amount of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * This method returns the average of the recorded values
+     *
+     * @return The average in nanoseconds
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * This method returns the value half of the recorded values are below
+     *
+     * @return The value in nanoseconds
+     */
+    public long getMedian() {
+        return median;
+    }
+
+    /**
+     * This method returns the value 99 percent of the recorded values are below
+     *
+     * @return The value in nanoseconds
+     */
+    public long getPercentile99() {
+        return percentile99;
+    }
+
+    /**
+     * This method returns the value 99.9 percent of the recorded values are below
+     *
+     * @return The value in nanoseconds
+     */
+    public long getPercentile999() {
+        return percentile999;
+    }
+
+    /**
+     * This method returns the highest recorded value
+     *
+     * @return The value in nanoseconds
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+}
@@ -1,7 +1,17 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is the main class
@@ -12,420 +22,357 @@ import java.util.LinkedList;
 public class Main {
     // The window that opens when starting the game
     private static JFrame window;
-    // The amount of flags remaining in the player's inventory
-    private static int flagsRemaining;
-    // The map that has all the values filled
-    private static FieldContent[][] hiddenMap;
-    // The map the player gets to see ( redundant with the button-array in the Window.java class but I decided to leave it so the Window-class isn't needed for functionality (  in case a new interface is wanted )
-    private static FieldContent[][] shownMap;
-    // The emoticon that is currently displayed on the top of the window, indicating the current state of the game
-    public static String currentEmoticon = Constants.BUTTON_STRING_RESET_DEFAULT;
-    // Values for the hint functionality
-    private static LinkedList<String> safeCoordinates = new LinkedList<>();
-    // The horizontal position of the hint that is currently shown
-    private static int currentHintX;
-    // The vertical position of the hint that is currently shown
-    private static int currentHintY;
-    // Whether or not the field of the current hint had a flag on it or not
-    private static boolean hintHadFlag;
-    // This linked list contains all the fields that still need to be checked for the autofill functionality
-    private static final LinkedList<String> coordinatesToCheck = new LinkedList<>();
+    // The journal the moves are recorded in, or null if they aren't recorded
+    private static MoveJournal moveJournal;
+    // The format of the names of the journal files, which sort in the order the games were started in
+    private static final DateTimeFormatter JOURNAL_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
 
     /**
      * The main method
+     * The size of the map and the amount of mines can be given as arguments in the order: height width mines
+     * A seed can be given after those, to play a map again
+     * With the arguments: resume [file], the game that was saved into the file is resumed instead
+     * With the arguments: replay [file], the game that was recorded in the journal is replayed with the right arrow and end keys instead,
+     * the journal of the last start of the game is replayed, if no file is given
+     * With the arguments: server [port], the games are played over TCP on localhost instead, without a window
+     * With the argument: bot, the games are played through the standard input and output instead, without a window
+     * With the arguments: scores [height width mines], the leaderboard and the statistics of the difficulty are printed instead
+     * With the arguments: endless [density [seed]], a game on an endless map is played instead
      */
     public static void main(String[] args) {
-        // to check if a game start could lead to problems
-        if (checkIfValuesInvalid()) {
+        if (args.length >= 1 && args[0].equals("bot")) {
+            // the standard output belongs to the bot, so the latencies aren't printed into it
+            try {
+                new BotConsole().run();
+            } catch (IOException e) {
+                System.err.println("The bot mode ended: " + e.getMessage());
+            }
             return;
         }
-        startNewGame();
-        initializeWindow();
-    }
-
-
-    // initialisation methods
-
-    /**
-     * This method starts a new game
-     */
-    public static void startNewGame() {
-        flagsRemaining = Constants.AMOUNT_OF_FLAGS;
-        initializeShownMap();
-        initializeHiddenMap();
-    }
-
-    /**
-     * This method creates a new, free map for the map that is seen by the player
-     */
-    private static void initializeShownMap() {
-        // Creates a new FieldContent-array and fills it with undiscovered fields
-        shownMap = new FieldContent[Constants.MAP_HEIGHT][Constants.MAP_WIDTH];
-        for (int i = 0; i < Constants.MAP_HEIGHT; i++) {
-            for (int j = 0; j < Constants.MAP_WIDTH; j++) {
-                shownMap[i][j] = FieldContent.UNDISCOVERED;
-            }
+        // the latencies of the game can be read through JMX while it runs, and are printed when it ends
+        Instrumentation.registerMXBean();
+        if (Constants.DUMP_INSTRUMENTATION_AT_SHUTDOWN) {
+            Instrumentation.dumpAtShutdown();
         }
-    }
-
-    /**
-     * This method creates a new, free map for the map that is not seen by the player
-     */
-    private static void initializeHiddenMap() {
-        // Creates a new FieldContent-array and fills it with free fields
-        hiddenMap = new FieldContent[Constants.MAP_HEIGHT][Constants.MAP_WIDTH];
-        for (int i = 0; i < Constants.MAP_HEIGHT; i++) {
-            for (int j = 0; j < Constants.MAP_WIDTH; j++) {
-                hiddenMap[i][j] = FieldContent.FREE;
+        if (args.length >= 1 && args[0].equals("scores")) {
+            printScores(args);
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("resume")) {
+            Path path = Paths.get(args.length >= 2 ? args[1] : Constants.FILE_LOCATION_SAVE);
+            try {
+                Game game = GameFile.load(path);
+                if (Constants.RECORD_HIGH_SCORES) {
+                    startHighScores(game);
+                }
+                initializeWindow(game, null);
+            } catch (IOException e) {
+                System.err.println("The game couldn't be resumed: " + e.getMessage());
             }
+            return;
         }
-    }
-
-    /**
-     * This method handles the window-setup
-     */
-    private static void initializeWindow() {
-        // calculates the needed dimensions and position for the window
-        GraphicsDevice screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
-        int screenWidth = screen.getDisplayMode().getWidth();
-        int screenHeight = screen.getDisplayMode().getHeight();
-        int windowWidth = (int) (screenWidth * (0.01 * Constants.WINDOW_SCALING_FACTOR));
-        int windowHeight = (int) (screenHeight * (0.01 * Constants.WINDOW_SCALING_FACTOR));
-        int windowLocationX = (screenWidth - windowWidth) / 2;
-        int windowLocationY = (screenHeight - windowHeight) / 2;
-        // Creates the new window and assigns the values to it
-        SwingUtilities.invokeLater(() -> {
-            window = new Window("Minesweeper by Jonathan Matscheko", Constants.MAP_HEIGHT, Constants.MAP_WIDTH);
-            window.setDefaultCloseOperation(window.EXIT_ON_CLOSE);
-            window.setResizable(false);
-            ImageIcon windowIcon = new ImageIcon(Constants.FILE_LOCATION_ICON);
-            window.setIconImage(windowIcon.getImage());
-            window.setSize(windowWidth, windowHeight);
-            window.setLocation(windowLocationX, windowLocationY);
-            window.setVisible(true);
-        });
-    }
-
-    /**
-     * This method calculates a playing field after the first click, by calling the corresponding methods
-     *
-     * @param x The x-coordinate of the first click
-     * @param y The y-coordinate of the first click
-     */
-    public static void placeMinesAfterClick(int x, int y) {
-        placeMinesRandomly(x, y);
-        calculateFreeFields();
-    }
-
-    /**
-     * This method places mines randomly on the hidden map
-     * The location of the click is used to avoid the placement of mines on the field the player clicked on
-     *
-     * @param clickX The x-coordinate of the click
-     * @param clickY The y-coordinate of the click
-     */
-    private static void placeMinesRandomly(int clickX, int clickY) {
-        LinkedList<Integer> viableMineLocations = new LinkedList<>();
-        LinkedList<Integer> mineLocations = new LinkedList<>();
-        int k = 0;
-        // Fills the list of viable mine locations with every field
-        for (int i = 0; i < Constants.MAP_WIDTH * Constants.MAP_HEIGHT; i++) {
-            viableMineLocations.add(k);
-            k++;
+        if (args.length >= 1 && args[0].equals("server")) {
+            try {
+                int port = args.length >= 2 ? Integer.parseInt(args[1]) : Constants.SERVER_PORT;
+                new GameServer(port).run();
+            } catch (NumberFormatException e) {
+                System.err.println("Usage: java Main server [port]");
+            } catch (IOException e) {
+                System.err.println("The server couldn't be started: " + e.getMessage());
+            }
+            return;
         }
-        // Removes the field the player clicked on
-        // I did it outside of the loop to save time by not running through a check multiple times
-        viableMineLocations.remove(clickX * Constants.MAP_WIDTH + clickY);
-        // as long a mines are remaining, a free field is chosen at random and removed from the list of viable locations and added to the list of mine locations
-        for (int m = 0; m < Constants.AMOUNT_OF_MINES; m++) {
-            int currentMineIndexInList = returnRandomInt(viableMineLocations.size() - 1);
-            int currentMineLocation = viableMineLocations.remove(currentMineIndexInList);
-            mineLocations.add(currentMineLocation);
+        if (args.length >= 1 && args[0].equals("endless")) {
+            startEndlessGame(args);
+            return;
         }
-        // Transforms the integers into x and y coordinates on which it places mines
-        for (int mineLocation : mineLocations) {
-            int mineX = mineLocation / Constants.MAP_WIDTH;
-            int mineY = mineLocation % Constants.MAP_WIDTH;
-            hiddenMap[mineX][mineY] = FieldContent.MINE;
+        if (args.length >= 1 && args[0].equals("replay")) {
+            try {
+                Path path = args.length >= 2 ? Paths.get(args[1]) : findLatestJournal();
+                JournalReplay replay = JournalReplay.open(path);
+                initializeWindow(replay.getGame(), replay);
+            } catch (IOException e) {
+                System.err.println("The game couldn't be replayed: " + e.getMessage());
+            }
+            return;
         }
-    }
-
-    /**
-     * This method calculates the number values of the fields which don't have a mine in them
-     * It then assigns the fields those values
-     */
-    private static void calculateFreeFields() {
-        safeCoordinates = new LinkedList<>();
-        for (int x = 0; x < Constants.MAP_HEIGHT; x++) {
-            for (int y = 0; y < Constants.MAP_WIDTH; y++) {
-                if (!hiddenMap[x][y].equals(FieldContent.MINE)) {
-                    int number = 0;
-                    // the fields around the field are getting inspected to count the number of mines, adjacent to the field
-                    for (int k = -1; k < 2; k++) {
-                        for (int l = -1; l < 2; l++) {
-                            // checks if the coordinates are even on the map
-                            if (checkIfInBounds(x + k, y + l)) {
-                                if (hiddenMap[x + k][y + l].equals(FieldContent.MINE)) {
-                                    number++;
-                                }
-                            }
-                        }
-                    }
-                    hiddenMap[x][y] = FieldContent.toFieldContent(number);
-                    safeCoordinates.add(x + Constants.SEPARATION_TOKEN + y);
+        // the values from the Constants-class are used, if no other values are given
+        int mapHeight = Constants.MAP_HEIGHT;
+        int mapWidth = Constants.MAP_WIDTH;
+        int amountOfMines = Constants.AMOUNT_OF_MINES;
+        int amountOfFlags = Constants.AMOUNT_OF_FLAGS;
+        Long seed = null;
+        if (args.length >= 3) {
+            try {
+                mapHeight = Integer.parseInt(args[0]);
+                mapWidth = Integer.parseInt(args[1]);
+                amountOfMines = Integer.parseInt(args[2]);
+                amountOfFlags = amountOfMines;
+                if (args.length >= 4) {
+                    seed = Long.parseLong(args[3]);
                 }
+            } catch (NumberFormatException e) {
+                System.err.println("Usage: java Main [height width mines [seed]] | java Main resume [file] | java Main replay [file] | java Main server [port] | java Main bot | java Main scores [height width mines] | java Main endless [density [seed]]");
+                return;
             }
         }
+        // to check if a game start could lead to problems
+        if (checkIfValuesInvalid(mapHeight, mapWidth, amountOfMines)) {
+            return;
+        }
+        Game game;
+        if (seed == null) {
+            game = new Game(mapHeight, mapWidth, amountOfMines, amountOfFlags);
+        } else {
+            game = new Game(mapHeight, mapWidth, amountOfMines, amountOfFlags, seed);
+        }
+        if (Constants.NO_GUESS_MODE) {
+            game.setNoGuessGenerator(new NoGuessGenerator(Runtime.getRuntime().availableProcessors(), TimeUnit.MILLISECONDS.toNanos(Constants.NO_GUESS_TIME_BUDGET)));
+        } else if (seed == null && Constants.BOARD_POOL_SIZE > 0 && (long) mapHeight * mapWidth <= Constants.BOARD_POOL_MAXIMUM_FIELDS) {
+            // the boards are prepared in the background, while the player looks at the empty map
+            BoardPool boardPool = new BoardPool(game.getSeed());
+            boardPool.setPoolSize(mapHeight, mapWidth, amountOfMines, Constants.BOARD_POOL_SIZE);
+            game.setBoardPool(boardPool);
+            // the hits and misses of the pool are reported with the latencies
+            Instrumentation.setBoardPool(boardPool);
+        }
+        if (Constants.RECORD_JOURNAL) {
+            startJournal(game);
+        }
+        if (Constants.RECORD_HIGH_SCORES) {
+            startHighScores(game);
+        }
+        initializeWindow(game, null);
     }
 
 
-    // methods that handle the input
+    // initialisation methods
 
     /**
-     * This method places or removes the flag on the field
+     * This method starts recording every move of the given game in the journal file
      *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
+     * @param game The game
      */
-    public static void placeRemoveFlag(int x, int y) {
-        // removing the flag, if one is placed on the coordinates
-        if (shownMap[x][y].equals(FieldContent.FLAG)) {
-            shownMap[x][y] = FieldContent.UNDISCOVERED;
-            flagsRemaining += 1;
-        } else {
-            // if no flag is placed on the coordinates, the field is undiscovered and there are flags remaining, a flag is placed
-            if (flagsRemaining > 0 && shownMap[x][y] == FieldContent.UNDISCOVERED) {
-                shownMap[x][y] = FieldContent.FLAG;
-                flagsRemaining -= 1;
-            }
+    private static void startJournal(Game game) {
+        try {
+            // every start gets a file of its own, so the journal of a game that crashed is still there, when the game is started again
+            Path directory = Files.createDirectories(Paths.get(Constants.FILE_LOCATION_JOURNALS));
+            Path path = directory.resolve(LocalDateTime.now().format(JOURNAL_NAME_FORMAT) + ".journal");
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            moveJournal = new MoveJournal(game, channel);
+            moveJournal.flush();
+        } catch (IOException e) {
+            System.err.println("The moves can't be recorded: " + e.getMessage());
         }
     }
 
     /**
-     * This method emulates the player walking on the field with the given coordinates
+     * This method finds the journal of the last start of the game
      *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @return The game-state the game has after the click on the map
+     * @return The file of the journal
+     * @throws IOException If the directory of the journals can't be read or holds no journal
      */
-    public static GameState walkOnField(int x, int y) {
-        if (!shownMap[x][y].equals(FieldContent.FLAG)) {
-            if (hiddenMap[x][y].equals(FieldContent.MINE)) {
-                // if the click is on a mine, the game ends
-                revealWholeMap();
-                return GameState.LOST;
-            } else {
-                // the field is getting revealed
-                revealMapCoordinates(x, y);
-                //if it is a field with zero neighboring mines, the whole free area is revealed
-                if (shownMap[x][y].equals(FieldContent.FREE)) {
-                    revealAdjacentFreeCells(x, y);
+    private static Path findLatestJournal() throws IOException {
+        Path directory = Paths.get(Constants.FILE_LOCATION_JOURNALS);
+        Path latest = null;
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("No journal in " + directory.toAbsolutePath());
+        }
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(directory, "*.journal")) {
+            for (Path journal : journals) {
+                if (latest == null || journal.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+                    latest = journal;
                 }
             }
         }
-        // checks if the game is finished
-        if (checkIfFinished()) {
-            currentEmoticon = Constants.BUTTON_STRING_RESET_WON;
-            revealWholeMap();
-            return GameState.WON;
+        if (latest == null) {
+            throw new IOException("No journal in " + directory.toAbsolutePath());
         }
-        return GameState.DEFAULT;
+        return latest;
     }
 
     /**
-     * This method reveals all adjacent fields, for the block of free fields given
+     * This method starts recording the result of every finished round of the given game in the high-score store
      *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
+     * @param game The game
      */
-    private static void revealAdjacentFreeCells(int x, int y) {
-        coordinatesToCheck.add(x + Constants.SEPARATION_TOKEN + y);
-        // iterates over every coordinates in the list of coordinates it still has to check,removes it from the list it has to check
-        // and adds it to the list of coordinates it already checked
-        while (!coordinatesToCheck.isEmpty()) {
-            String currentCoordinates = coordinatesToCheck.removeFirst();
-            String[] splitCurrentCoordinates = currentCoordinates.split(Constants.SEPARATION_TOKEN);
-            x = Integer.parseInt(splitCurrentCoordinates[0]);
-            y = Integer.parseInt(splitCurrentCoordinates[1]);
-            // the adjacent fields are added to the list with coordinates it still has to check, if it is free and if it isn't in the list of already checked coordinates
-            // however it always is getting revealed, to show the border of the free zone
-            // the already checked list is there so it doesn't run into an infinite loop
-            for (int k = -1; k < 2; k++) {
-                for (int l = -1; l < 2; l++) {
-                    int a = x + k;
-                    int b = y + l;
-                    String fieldCoordinates = a + Constants.SEPARATION_TOKEN + b;
-                    // the check whether the coordinates are even on the field
-                    if (checkIfInBounds(a, b)) {
-                        // to check whether the field is not yet revealed
-                        if (shownMap[a][b].equals(FieldContent.UNDISCOVERED)) {
-                            revealMapCoordinates(a, b);
-                            // if the field is also free, it is getting added to the coordinates it has to check
-                            if (shownMap[a][b].equals(FieldContent.FREE)) {
-                                coordinatesToCheck.add(fieldCoordinates);
-                            }
-                        }
-                    }
-                }
-            }
+    private static void startHighScores(Game game) {
+        try {
+            // every result is written as soon as the round ends, so the store doesn't have to be closed
+            game.setHighScoreStore(openHighScores());
+        } catch (IOException e) {
+            System.err.println("The results can't be recorded: " + e.getMessage());
         }
     }
 
     /**
-     * This method shows or hides the field, depending on the input
+     * This method opens the high-score store at the locations of the Constants-class
      *
-     * @param show Whether or not the field should be shown or hidden
+     * @return The store
+     * @throws IOException If the store can't be read
      */
-    public static void showOrHideHint(boolean show) {
-        // whether the hint is getting shown or hidden
-        if (show) {
-            // the next viable hint coordinates are used
-            Collections.shuffle(safeCoordinates);
-            for (String hintCoordinates : safeCoordinates) {
-                String[] splitHintCoordinates = hintCoordinates.split(Constants.SEPARATION_TOKEN);
-                int hintX = Integer.parseInt(splitHintCoordinates[0]);
-                int hintY = Integer.parseInt(splitHintCoordinates[1]);
-                if (shownMap[hintX][hintY] == FieldContent.UNDISCOVERED) {
-                    // the content of the current hint is shown
-                    revealMapCoordinates(hintX, hintY);
-                    currentHintX = hintX;
-                    currentHintY = hintY;
-                    return;
-                } else if (shownMap[hintX][hintY] == FieldContent.FLAG) {
-                    // if the current hint is a field with a flag, it removes the flag, to show, that it is not necessary
-                    hintHadFlag = true;
-                    shownMap[hintX][hintY] = FieldContent.UNDISCOVERED;
-                    currentHintX = hintX;
-                    currentHintY = hintY;
-                    return;
-                }
-            }
-        } else {
-            if (!hintHadFlag) {
-                // the content is hidden again
-                shownMap[currentHintX][currentHintY] = FieldContent.UNDISCOVERED;
-            } else {
-                // the flag is placed back down again
-                shownMap[currentHintX][currentHintY] = FieldContent.FLAG;
-                hintHadFlag = false;
-            }
-        }
+    private static HighScoreStore openHighScores() throws IOException {
+        return new HighScoreStore(Paths.get(Constants.FILE_LOCATION_HIGH_SCORES), Paths.get(Constants.FILE_LOCATION_HIGH_SCORES_SNAPSHOT),
+                Constants.HIGH_SCORE_COMPACTION_RECORDS);
     }
 
-
-    // map reveal methods
-
     /**
-     * This method assigns the value of the hidden map to the shown map, for the given coordinates
+     * This method prints the leaderboard and the statistics of a difficulty
      *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
+     * @param args The arguments: scores [height width mines], the difficulty of the Constants-class is used, if none is given
      */
-    private static void revealMapCoordinates(int x, int y) {
-        // to give flags back, when a field is revealed
-        // this only happens when a larger area is revealed
-        if (shownMap[x][y].equals(FieldContent.FLAG)) {
-            flagsRemaining += 1;
+    private static void printScores(String[] args) {
+        int mapHeight = Constants.MAP_HEIGHT;
+        int mapWidth = Constants.MAP_WIDTH;
+        int amountOfMines = Constants.AMOUNT_OF_MINES;
+        if (args.length >= 4) {
+            try {
+                mapHeight = Integer.parseInt(args[1]);
+                mapWidth = Integer.parseInt(args[2]);
+                amountOfMines = Integer.parseInt(args[3]);
+            } catch (NumberFormatException e) {
+                System.err.println("Usage: java Main scores [height width mines]");
+                return;
+            }
         }
-        shownMap[x][y] = hiddenMap[x][y];
-    }
-
-    /**
-     * This method assigns the value of the hidden map to the shown map
-     */
-    private static void revealWholeMap() {
-        for (int i = 0; i < Constants.MAP_HEIGHT; i++) {
-            for (int j = 0; j < Constants.MAP_WIDTH; j++) {
-                revealMapCoordinates(i, j);
+        try {
+            HighScoreStore store = openHighScores();
+            HighScoreStore.Statistics statistics = store.getStatistics(mapHeight, mapWidth, amountOfMines);
+            System.out.printf("%dx%d with %d mines: %d rounds, %d wins (%.1f%%), average win %.1f s, average 3BV %.1f, average clicks %.1f, %d hints%n",
+                    mapHeight, mapWidth, amountOfMines, statistics.getGames(), statistics.getWins(), statistics.getWinRate() * 100,
+                    statistics.getAverageWinDuration() / 1000, statistics.getAverageThreeBV(), statistics.getAverageClicks(), statistics.getHintsUsed());
+            int rank = 1;
+            for (GameResult result : store.getLeaderboard(mapHeight, mapWidth, amountOfMines, Constants.HIGH_SCORE_LEADERBOARD_SIZE)) {
+                System.out.printf("%3d. %8.3f s  3BV %4d  clicks %4d  hints %2d  %tF  seed %d%n", rank++, result.getDurationMillis() / 1000.0,
+                        result.getThreeBV(), result.getClicks(), result.getHintsUsed(), result.getFinishedAt(), result.getSeed());
             }
+            store.close();
+        } catch (IOException e) {
+            System.err.println("The high-scores can't be read: " + e.getMessage());
         }
     }
 
-    // getter methods
-
     /**
-     * This method gives back the content of the field on the given coordinates
+     * This method starts a game on an endless map in its own window
+     * The chunks, that don't fit into memory anymore, are written into a temporary directory, which is deleted when the window is closed
      *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @return The content of the field
+     * @param args The arguments: endless [density [seed]], the density of the Constants-class and a random seed are used, if none are given
      */
-    public static FieldContent getFieldOfShownMap(int x, int y) {
-        return shownMap[x][y];
+    private static void startEndlessGame(String[] args) {
+        double mineDensity = Constants.ENDLESS_MINE_DENSITY;
+        long seed = System.nanoTime();
+        EndlessGame game;
+        Path spillDirectory;
+        try {
+            if (args.length >= 2) {
+                mineDensity = Double.parseDouble(args[1]);
+            }
+            if (args.length >= 3) {
+                seed = Long.parseLong(args[2]);
+            }
+            spillDirectory = Files.createTempDirectory("minesweeper-chunks");
+            game = new EndlessGame(seed, mineDensity, Constants.ENDLESS_MAXIMUM_LOADED_CHUNKS, Constants.ENDLESS_MAXIMUM_PACKED_CHUNKS, spillDirectory);
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: java Main endless [density [seed]]");
+            return;
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("The endless game couldn't be started: " + e.getMessage());
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            EndlessWindow endlessWindow = new EndlessWindow("Minesweeper by Jonathan Matscheko - endless", game);
+            window = endlessWindow;
+            window.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    try {
+                        game.close();
+                        Files.deleteIfExists(spillDirectory);
+                    } catch (IOException exception) {
+                        System.err.println("The chunks couldn't be deleted: " + exception.getMessage());
+                    }
+                }
+            });
+            window.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+            ImageIcon windowIcon = new ImageIcon(Constants.FILE_LOCATION_ICON);
+            window.setIconImage(windowIcon.getImage());
+            window.pack();
+            window.setLocationRelativeTo(null);
+            window.setVisible(true);
+        });
     }
 
     /**
-     * This method returns the amount of the remaining flags
+     * This method handles the window-setup
      *
-     * @return The amount of remaining flags
+     * @param game   The game that is played in the window
+     * @param replay The replay that is stepped through in the window, or null if the game is played
      */
-    public static int getFlagsRemaining() {
-        return flagsRemaining;
+    private static void initializeWindow(Game game, JournalReplay replay) {
+        // calculates the needed dimensions and position for the window
+        GraphicsDevice screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        int screenWidth = screen.getDisplayMode().getWidth();
+        int screenHeight = screen.getDisplayMode().getHeight();
+        int windowWidth = (int) (screenWidth * (0.01 * Constants.WINDOW_SCALING_FACTOR));
+        int windowHeight = (int) (screenHeight * (0.01 * Constants.WINDOW_SCALING_FACTOR));
+        int windowLocationX = (screenWidth - windowWidth) / 2;
+        int windowLocationY = (screenHeight - windowHeight) / 2;
+        // Creates the new window and assigns the values to it
+        SwingUtilities.invokeLater(() -> {
+            Window gameWindow = new Window("Minesweeper by Jonathan Matscheko", game);
+            if (replay != null) {
+                gameWindow.setReplay(replay);
+            }
+            window = gameWindow;
+            // the moves that weren't written into the journal yet are written, before the program ends
+            window.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    if (moveJournal != null) {
+                        // the moves that are still queued are recorded first
+                        gameWindow.awaitQueuedInputs();
+                        try {
+                            moveJournal.flush();
+                        } catch (IOException exception) {
+                            System.err.println("The moves couldn't be recorded: " + exception.getMessage());
+                        }
+                    }
+                }
+            });
+            window.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+            window.setResizable(false);
+            ImageIcon windowIcon = new ImageIcon(Constants.FILE_LOCATION_ICON);
+            window.setIconImage(windowIcon.getImage());
+            window.setSize(windowWidth, windowHeight);
+            window.setLocation(windowLocationX, windowLocationY);
+            window.setVisible(true);
+        });
     }
 
 
     // Miscellaneous methods
 
     /**
-     * This method checks, if the values in the Constants.java file do not allow a game to get started
+     * This method checks, if the given values or the values in the Constants.java file do not allow a game to get started
      *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
      * @return Whether the game-start has to be cancelled or not
      */
-    private static boolean checkIfValuesInvalid() {
+    private static boolean checkIfValuesInvalid(int mapHeight, int mapWidth, int amountOfMines) {
         // The following checks prevent the game from running if the values in the Constants-class would lead to problems and to prevent tampering with the hard limits, "magic numbers" are used
         // This check is to avoid the game from running of the height of the map is unreasonable
-        boolean inValidHeight = Constants.MAP_HEIGHT < 5 || Constants.MAP_HEIGHT > 32;
+        boolean inValidHeight = mapHeight < 5;
         // This check is to avoid the game from running of the width of the map is unreasonable
-        boolean inValidWidth = Constants.MAP_WIDTH < 5 || Constants.MAP_WIDTH > 32;
+        boolean inValidWidth = mapWidth < 5;
+        // This check is to avoid that the fields of the map can't be indexed by an integer anymore
+        boolean inValidSize = (long) mapHeight * mapWidth > 2_000_000_000L;
         // This check is to avoid that the game can't set the map up properly because more mines than fields exist
-        boolean inValidAmountOfMines = Constants.AMOUNT_OF_MINES < 0 || Constants.AMOUNT_OF_MINES >= Constants.MAP_HEIGHT * Constants.MAP_WIDTH;
+        boolean inValidAmountOfMines = amountOfMines < 0 || (long) amountOfMines >= (long) mapHeight * mapWidth;
         // This check is to avoid the window being bigger than the monitor
         boolean inValidScalingFactor = Constants.WINDOW_SCALING_FACTOR < 0 || Constants.WINDOW_SCALING_FACTOR > 100;
         // note: coded in such a way to allow for further checks to be added in the future if needed
-        return inValidHeight && inValidWidth && inValidAmountOfMines && inValidScalingFactor;
+        return inValidHeight || inValidWidth || inValidSize || inValidAmountOfMines || inValidScalingFactor;
     }
-
-    /**
-     * This method checks, whether or not a given coordinate is on the field or not
-     *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @return Is in bounds
-     */
-    private static boolean checkIfInBounds(int x, int y) {
-        boolean outOfBoundsHeight = x < 0 || x > Constants.MAP_HEIGHT - 1;
-        boolean outOfBoundsWidth = y < 0 || y > Constants.MAP_WIDTH - 1;
-        // note: coded in such a way to allow for further checks to be added in the future if needed
-        return !outOfBoundsHeight && !outOfBoundsWidth;
-    }
-
-    /**
-     * This method checks, whether or not the round has been successfully completed
-     *
-     * @return Whether or not the map has been successfully completed
-     */
-    private static boolean checkIfFinished() {
-        int numberOfRemainingMines = Constants.AMOUNT_OF_MINES;
-        // checks if there is an equal amount of undiscovered fields and mines, if true, every safe field has been discovered and the game is won
-        for (int i = 0; i < Constants.MAP_HEIGHT; i++) {
-            for (int j = 0; j < Constants.MAP_WIDTH; j++) {
-                if (shownMap[i][j] == FieldContent.UNDISCOVERED || shownMap[i][j] == FieldContent.FLAG) {
-                    numberOfRemainingMines -= 1;
-                }
-            }
-        }
-        return numberOfRemainingMines >= 0;
-    }
-
-    /**
-     * This method gives back a random integer between zero and the given integer
-     *
-     * @param maximum The highest value, the return can have
-     * @return The random integer in the given interval
-     */
-    private static int returnRandomInt(int maximum) {
-        double randomDouble = Math.random() * (maximum + 1) + 0;
-        return (int) randomDouble;
-    }
-
 }
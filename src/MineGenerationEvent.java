@@ -0,0 +1,27 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is the class for the flight recorder event, that is emitted when the mines of a round are placed after the first click
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@Name("minesweeper.MineGeneration")
+@Label("Mine Generation")
+@Category("Minesweeper")
+@Description("The mines of a round are placed after the first click")
+public class MineGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Map Height")
+    int mapHeight;
+    @Label("Map Width")
+    int mapWidth;
+    @Label("Amount of Mines")
+    int amountOfMines;
+    @Label("Prepared Board")
+    @Description("Whether or not the board was taken out of the pool of prepared boards")
+    boolean preparedBoard;
+}
@@ -0,0 +1,351 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This is the class for the history of the moves of a round, with which the moves can be undone and redone
+ * A move doesn't save the board, but only the fields it changed: the revealed and the flag bit of a field are flipped by a move,
+ * so flipping them again undoes it and flipping them once more redoes it
+ * The changed fields of every move are kept one after another in a single int arena, where a field with a flipped flag is stored as the complement of its index
+ * Only the move at the end of the round, which reveals the whole map, saves the revealed plane from before, since it changes every field at once
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class MoveHistory {
+
+    // The changed fields of every move, one after another
+    private int[] cells = new int[256];
+    // The amount of changed fields in the arena
+    private int cellCount;
+    // The moves, the ones after the position can be redone
+    private final List<Move> moves = new ArrayList<>();
+    // The amount of moves, that are done
+    private int position;
+    // The move, that is currently recorded, or null if no move is recorded
+    private Move currentMove;
+    // The index of the first click, if the mines were placed outside of a move, or -1 if they weren't
+    private int pendingFirstClick = -1;
+    // The seed of the round before the mines were placed outside of a move
+    private long pendingSeedBefore;
+    // The state of the round the last undo or redo went back to
+    private Move restoredState;
+    // Whether or not the last undo or redo went back to the state before the move
+    private boolean restoredBefore;
+
+    // record methods
+
+    /**
+     * This method starts recording a move
+     * The changed fields are recorded after the moves that could be redone, which are only forgotten, once the move turns out to change something
+     *
+     * @param flagsRemaining The amount of flags remaining before the move
+     * @param gameState      The state of the round before the move
+     * @param explodedField  The field with the mine the player stepped on before the move, or -1
+     * @param minesPlaced    Whether or not the mines were placed before the move
+     * @param seed           The seed of the round before the move
+     */
+    public void beginMove(int flagsRemaining, GameState gameState, int explodedField, boolean minesPlaced, long seed) {
+        cellCount = moves.isEmpty() ? 0 : moves.get(moves.size() - 1).cellEnd;
+        currentMove = new Move();
+        currentMove.cellStart = cellCount;
+        currentMove.flagsRemainingBefore = flagsRemaining;
+        currentMove.gameStateBefore = gameState;
+        currentMove.explodedFieldBefore = explodedField;
+        currentMove.minesPlacedBefore = minesPlaced;
+        currentMove.seedBefore = seed;
+        // the mines placed when the mouse button was pressed belong to the move of its release
+        if (pendingFirstClick >= 0) {
+            currentMove.firstClick = pendingFirstClick;
+            currentMove.minesPlacedBefore = false;
+            currentMove.seedBefore = pendingSeedBefore;
+            pendingFirstClick = -1;
+        }
+    }
+
+    /**
+     * This method finishes recording a move, a move that didn't change anything is forgotten and keeps the moves that could be redone,
+     * otherwise the moves that could be redone are forgotten and the changed fields of the move are moved to the end of the move before
+     *
+     * @param flagsRemaining The amount of flags remaining after the move
+     * @param gameState      The state of the round after the move
+     * @param explodedField  The field with the mine the player stepped on after the move, or -1
+     * @param minesPlaced    Whether or not the mines are placed after the move
+     * @param seed           The seed of the round after the move
+     */
+    public void endMove(int flagsRemaining, GameState gameState, int explodedField, boolean minesPlaced, long seed) {
+        Move move = currentMove;
+        currentMove = null;
+        if (move == null) {
+            return;
+        }
+        move.cellEnd = cellCount;
+        move.flagsRemainingAfter = flagsRemaining;
+        move.gameStateAfter = gameState;
+        move.explodedFieldAfter = explodedField;
+        move.minesPlacedAfter = minesPlaced;
+        move.seedAfter = seed;
+        if (move.cellStart == move.cellEnd && move.firstClick < 0 && move.revealedPlane == null
+                && flagsRemaining == move.flagsRemainingBefore && gameState == move.gameStateBefore) {
+            return;
+        }
+        if (moves.size() > position) {
+            int cellStart = position == 0 ? 0 : moves.get(position - 1).cellEnd;
+            System.arraycopy(cells, move.cellStart, cells, cellStart, move.cellEnd - move.cellStart);
+            move.cellEnd = cellStart + move.cellEnd - move.cellStart;
+            move.cellStart = cellStart;
+            cellCount = move.cellEnd;
+            moves.subList(position, moves.size()).clear();
+        }
+        moves.add(move);
+        position++;
+    }
+
+    /**
+     * This method records the placement of the mines, which belongs to the move that is recorded, or to the next one
+     *
+     * @param firstClick The index of the field of the first click
+     * @param seedBefore The seed of the round before the mines were placed, which is replaced in the no-guess mode
+     */
+    public void recordMinesPlaced(int firstClick, long seedBefore) {
+        if (currentMove != null) {
+            currentMove.firstClick = firstClick;
+            currentMove.minesPlacedBefore = false;
+            currentMove.seedBefore = seedBefore;
+        } else {
+            pendingFirstClick = firstClick;
+            pendingSeedBefore = seedBefore;
+        }
+    }
+
+    /**
+     * This method records, that the revealed bit of a field flipped
+     *
+     * @param index The index of the field
+     */
+    public void recordRevealed(int index) {
+        if (currentMove != null) {
+            addCell(index);
+        }
+    }
+
+    /**
+     * This method records, that the flag bit of a field flipped
+     *
+     * @param index The index of the field
+     */
+    public void recordFlagged(int index) {
+        if (currentMove != null) {
+            addCell(~index);
+        }
+    }
+
+    /**
+     * This method records the revealed plane, before the whole map is revealed at once
+     *
+     * @param revealedPlane The revealed plane, which isn't changed afterwards
+     */
+    public void recordRevealedPlane(long[] revealedPlane) {
+        if (currentMove != null) {
+            currentMove.revealedPlane = revealedPlane;
+        }
+    }
+
+    /**
+     * This method checks, whether or not a move is recorded, so the board only copies its revealed plane if it is needed
+     *
+     * @return Whether or not a move is recorded
+     */
+    public boolean isRecording() {
+        return currentMove != null;
+    }
+
+    /**
+     * This method forgets every move, which is done when a new round starts
+     */
+    public void clear() {
+        moves.clear();
+        position = 0;
+        cellCount = 0;
+        currentMove = null;
+        pendingFirstClick = -1;
+        restoredState = null;
+        if (cells.length > 256) {
+            cells = new int[256];
+        }
+    }
+
+    // undo methods
+
+    /**
+     * This method undoes the last move on the given board, the state of the round before the move can be read afterwards
+     *
+     * @param board The board
+     * @return Whether or not there was a move to undo
+     */
+    public boolean undo(Board board) {
+        if (position == 0) {
+            return false;
+        }
+        Move move = moves.get(--position);
+        if (move.revealedPlane != null) {
+            board.setRevealedPlane(move.revealedPlane);
+        }
+        flipCells(board, move);
+        if (move.firstClick >= 0) {
+            board.removeMines();
+        }
+        restoredState = move;
+        restoredBefore = true;
+        return true;
+    }
+
+    /**
+     * This method redoes the move, that was undone last, on the given board, the state of the round after the move can be read afterwards
+     *
+     * @param board The board
+     * @return Whether or not there was a move to redo
+     */
+    public boolean redo(Board board) {
+        if (position == moves.size()) {
+            return false;
+        }
+        Move move = moves.get(position++);
+        if (move.firstClick >= 0) {
+            // the mines only depend on the seed and the first click, so they are placed exactly as before
+            board.placeMinesRandomly(move.seedAfter);
+            board.calculateNeighbourCounts();
+            board.moveMineAwayFrom(move.firstClick);
+        }
+        flipCells(board, move);
+        if (move.revealedPlane != null) {
+            board.revealAll();
+        }
+        restoredState = move;
+        restoredBefore = false;
+        return true;
+    }
+
+    /**
+     * This method flips the revealed or flag bit of every field the given move changed
+     *
+     * @param board The board
+     * @param move  The move
+     */
+    private void flipCells(Board board, Move move) {
+        for (int i = move.cellEnd - 1; i >= move.cellStart; i--) {
+            int cell = cells[i];
+            if (cell >= 0) {
+                board.setRevealed(cell, !board.isRevealed(cell));
+            } else {
+                board.setFlagged(~cell, !board.isFlagged(~cell));
+            }
+        }
+    }
+
+    /**
+     * This method adds a changed field to the arena, which grows if it is full
+     *
+     * @param cell The index of the field, or its complement for a flag
+     */
+    private void addCell(int cell) {
+        if (cellCount == cells.length) {
+            cells = Arrays.copyOf(cells, cellCount * 2);
+        }
+        cells[cellCount++] = cell;
+    }
+
+    // getter methods
+
+    /**
+     * This method checks, whether or not there is a move to undo
+     *
+     * @return Whether or not there is a move to undo
+     */
+    public boolean canUndo() {
+        return position > 0;
+    }
+
+    /**
+     * This method checks, whether or not there is a move to redo
+     *
+     * @return Whether or not there is a move to redo
+     */
+    public boolean canRedo() {
+        return position < moves.size();
+    }
+
+    /**
+     * This method returns the amount of flags remaining, that the last undo or redo went back to
+     *
+     * @return The amount of flags remaining
+     */
+    public int getRestoredFlagsRemaining() {
+        return restoredBefore ? restoredState.flagsRemainingBefore : restoredState.flagsRemainingAfter;
+    }
+
+    /**
+     * This method returns the state of the round, that the last undo or redo went back to
+     *
+     * @return The game-state
+     */
+    public GameState getRestoredGameState() {
+        return restoredBefore ? restoredState.gameStateBefore : restoredState.gameStateAfter;
+    }
+
+    /**
+     * This method returns the field with the mine the player stepped on, that the last undo or redo went back to
+     *
+     * @return The index of the field, or -1 if the player didn't step on a mine
+     */
+    public int getRestoredExplodedField() {
+        return restoredBefore ? restoredState.explodedFieldBefore : restoredState.explodedFieldAfter;
+    }
+
+    /**
+     * This method returns whether or not the mines were placed, in the state the last undo or redo went back to
+     *
+     * @return Whether or not the mines were placed
+     */
+    public boolean getRestoredMinesPlaced() {
+        return restoredBefore ? restoredState.minesPlacedBefore : restoredState.minesPlacedAfter;
+    }
+
+    /**
+     * This method returns the seed of the round, that the last undo or redo went back to
+     *
+     * @return The seed
+     */
+    public long getRestoredSeed() {
+        return restoredBefore ? restoredState.seedBefore : restoredState.seedAfter;
+    }
+
+    /**
+     * This is the class for a single move, with the range of its changed fields in the arena and the state of the round before and after it
+     */
+    private static class Move {
+        // The index of the first changed field of the move in the arena
+        private int cellStart;
+        // The index after the last changed field of the move in the arena
+        private int cellEnd;
+        // The index of the first click, if the mines were placed in this move, or -1 if they weren't
+        private int firstClick = -1;
+        // The revealed plane before the whole map was revealed, or null if the move didn't reveal the whole map
+        private long[] revealedPlane;
+        // The amount of flags remaining before and after the move
+        private int flagsRemainingBefore;
+        private int flagsRemainingAfter;
+        // The state of the round before and after the move
+        private GameState gameStateBefore;
+        private GameState gameStateAfter;
+        // The field with the mine the player stepped on before and after the move
+        private int explodedFieldBefore;
+        private int explodedFieldAfter;
+        // Whether or not the mines were placed before and after the move
+        private boolean minesPlacedBefore;
+        private boolean minesPlacedAfter;
+        // The seed of the round before and after the move
+        private long seedBefore;
+        private long seedAfter;
+    }
+}
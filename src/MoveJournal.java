@@ -0,0 +1,270 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * This is the class for the append-only journal of every move of a game, from which the game can be replayed
+ * Every move is a single varint, which holds the type of the move in its lowest bits and the index of the field above them,
+ * so most moves only take one to three bytes, only the seeds of the rounds take up to ten bytes
+ * The journal starts with a header, which holds the size of the map, the amount of mines and the amount of flags
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class MoveJournal {
+
+    /**
+     * The bytes every journal starts with, which are "MSJL"
+     */
+    public static final int MAGIC = 0x4D534A4C;
+    /**
+     * The version of the format, which is increased whenever the format or the set of move types changes
+     * Version 1 has the types up to TYPE_HINT_HIDDEN, version 2 adds TYPE_CHORD and version 3 adds TYPE_UNDO
+     */
+    public static final int VERSION = 3;
+    /**
+     * The amount of bits of a move, that hold its type
+     */
+    public static final int TYPE_BITS = 3;
+    /**
+     * The type of a new round, which is followed by the seed of the round
+     */
+    public static final int TYPE_NEW_ROUND = 0;
+    /**
+     * The type of the placement of the mines on the first click, which is followed by the seed the mines were placed with
+     */
+    public static final int TYPE_MINES_PLACED = 1;
+    /**
+     * The type of a step on a field
+     */
+    public static final int TYPE_REVEAL = 2;
+    /**
+     * The type of placing or removing a flag
+     */
+    public static final int TYPE_FLAG = 3;
+    /**
+     * The type of showing a hint on a field
+     */
+    public static final int TYPE_HINT_SHOWN = 4;
+    /**
+     * The type of hiding the hint again
+     */
+    public static final int TYPE_HINT_HIDDEN = 5;
+    /**
+     * The type of a chord on a number
+     */
+    public static final int TYPE_CHORD = 6;
+    /**
+     * The type of undoing the last move, whose field is one instead, if the move that was undone last is redone
+     */
+    public static final int TYPE_UNDO = 7;
+    /**
+     * The size of the buffer, after which the journal is written into the channel
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // The channel the journal is written into, or null if the journal is only kept in memory
+    private final WritableByteChannel channel;
+    // The bytes that weren't written into the channel yet, or the whole journal if there is no channel
+    private ByteBuffer buffer;
+
+    /**
+     * This is the constructor method, which starts the journal of the given game with its header and its current round
+     * Every move of the game is recorded from then on
+     *
+     * @param game    The game
+     * @param channel The channel the journal is written into, or null to keep the journal in memory
+     */
+    public MoveJournal(Game game, WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC);
+        writeVarLong(VERSION);
+        writeVarLong(game.getMapHeight());
+        writeVarLong(game.getMapWidth());
+        writeVarLong(game.getAmountOfMines());
+        writeVarLong(game.getAmountOfFlags());
+        recordNewRound(game.getSeed());
+        game.setMoveJournal(this);
+    }
+
+    /**
+     * This method gives back the highest move type, that a journal of the given version can hold
+     *
+     * @param version The version of the journal
+     * @return The highest move type, or -1 if the version is unknown
+     */
+    public static int getHighestType(long version) {
+        if (version == 1) {
+            return TYPE_HINT_HIDDEN;
+        } else if (version == 2) {
+            return TYPE_CHORD;
+        } else if (version == 3) {
+            return TYPE_UNDO;
+        }
+        return -1;
+    }
+
+    // record methods
+
+    /**
+     * This method records the start of a new round
+     *
+     * @param seed The seed of the round
+     */
+    public void recordNewRound(long seed) {
+        writeMove(TYPE_NEW_ROUND, 0);
+        writeVarLong(toZigZag(seed));
+    }
+
+    /**
+     * This method records the placement of the mines on the first click
+     *
+     * @param field The index of the field of the first click
+     * @param seed  The seed the mines were placed with
+     */
+    public void recordMinesPlaced(int field, long seed) {
+        writeMove(TYPE_MINES_PLACED, field);
+        writeVarLong(toZigZag(seed));
+    }
+
+    /**
+     * This method records a step on a field
+     *
+     * @param field The index of the field
+     */
+    public void recordReveal(int field) {
+        writeMove(TYPE_REVEAL, field);
+    }
+
+    /**
+     * This method records a chord on a number
+     *
+     * @param field The index of the field
+     */
+    public void recordChord(int field) {
+        writeMove(TYPE_CHORD, field);
+    }
+
+    /**
+     * This method records placing or removing a flag
+     *
+     * @param field The index of the field
+     */
+    public void recordFlag(int field) {
+        writeMove(TYPE_FLAG, field);
+    }
+
+    /**
+     * This method records showing a hint on a field
+     *
+     * @param field The index of the field
+     */
+    public void recordHintShown(int field) {
+        writeMove(TYPE_HINT_SHOWN, field);
+    }
+
+    /**
+     * This method records hiding the hint again
+     */
+    public void recordHintHidden() {
+        writeMove(TYPE_HINT_HIDDEN, 0);
+    }
+
+    /**
+     * This method records undoing the last move
+     */
+    public void recordUndo() {
+        writeMove(TYPE_UNDO, 0);
+    }
+
+    /**
+     * This method records redoing the move that was undone last
+     */
+    public void recordRedo() {
+        writeMove(TYPE_UNDO, 1);
+    }
+
+    // output methods
+
+    /**
+     * This method writes everything that was recorded so far into the channel
+     *
+     * @throws IOException If the channel can't be written to
+     */
+    public void flush() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * This method returns the whole journal, if it is kept in memory
+     *
+     * @return The bytes of the journal
+     */
+    public byte[] toByteArray() {
+        if (channel != null) {
+            throw new IllegalStateException("The journal is written into a channel");
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * This method writes a single move
+     *
+     * @param type  The type of the move
+     * @param field The index of the field
+     */
+    private void writeMove(int type, int field) {
+        writeVarLong(((long) field << TYPE_BITS) | type);
+    }
+
+    /**
+     * This method writes the given value as a varint, which has seven bits of the value in every byte, starting with the lowest ones
+     *
+     * @param value The value, which is treated as unsigned
+     */
+    private void writeVarLong(long value) {
+        if (buffer.remaining() < 10) {
+            makeRoom();
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * This method makes room in the buffer, by writing it into the channel or by growing it
+     */
+    private void makeRoom() {
+        if (channel == null) {
+            buffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), buffer.capacity() * 2)).position(buffer.position());
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method turns a signed value into an unsigned one, which is small if the absolute value is small
+     *
+     * @param value The signed value
+     * @return The unsigned value
+     */
+    private static long toZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,20 @@
+import java.util.SplittableRandom;
+
+/**
+ * This is the interface for the strategies that decide where to step next in a headless game
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public interface MovePolicy {
+
+    /**
+     * This method chooses the field the player steps on next
+     * The chosen field has to be undiscovered and without a flag, otherwise the game doesn't move on
+     *
+     * @param game   The game that is played
+     * @param random The random number generator of the thread that plays the game
+     * @return The index of the field, which is x * map-width + y
+     */
+    int chooseField(Game game, SplittableRandom random);
+}
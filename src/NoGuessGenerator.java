@@ -0,0 +1,134 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is the class for the generator of maps, that can be solved from the first click without guessing
+ * Every worker thread places the mines with its own random seeds and lets the solver play the map, the first seed the solver wins with is used
+ * If no such seed is found in time, the map of the original seed is used instead, so the first click never takes longer than the time budget
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class NoGuessGenerator {
+
+    // The threads that search for seeds
+    private final ExecutorService workers;
+    // The amount of threads that search for seeds
+    private final int workerCount;
+    // The time a search may take at most in nanoseconds
+    private final long timeBudgetNanos;
+    // The amount of times the searches were cancelled, a search stops as soon as this changes
+    private final AtomicLong cancellations = new AtomicLong();
+
+    /**
+     * This is the constructor method
+     * The threads of the generator are daemon threads, so they don't keep the program running
+     *
+     * @param workerCount     The amount of threads that search for seeds
+     * @param timeBudgetNanos The time a search may take at most in nanoseconds
+     */
+    public NoGuessGenerator(int workerCount, long timeBudgetNanos) {
+        this.workerCount = workerCount;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "no-guess-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method searches for a seed, with which the map can be solved without guessing, if the player clicks on the given field first
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @param clickX        The x-coordinate of the first click
+     * @param clickY        The y-coordinate of the first click
+     * @param seed          The seed of the round, from which the seeds of the workers are derived and which is used if no seed is found
+     * @return The found seed, or the given seed if none was found in time
+     */
+    public long findSeed(int mapHeight, int mapWidth, int amountOfMines, int clickX, int clickY, long seed) {
+        SplittableRandom seedGenerator = new SplittableRandom(seed);
+        long cancellation = cancellations.get();
+        List<Callable<Long>> searches = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++) {
+            SplittableRandom random = seedGenerator.split();
+            searches.add(() -> {
+                // the games of the search aren't played by the player, so they stay out of the latencies and the flight recording
+                Game game = new Game(mapHeight, mapWidth, amountOfMines);
+                game.setInstrumented(false);
+                return search(game, clickX, clickY, random, cancellation);
+            });
+        }
+        try {
+            // the other searches are interrupted as soon as one of them finds a seed
+            return workers.invokeAny(searches, timeBudgetNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return seed;
+        } catch (ExecutionException | TimeoutException e) {
+            return seed;
+        }
+    }
+
+    /**
+     * This method stops every running search, which then uses the seed it was given, instead of waiting for the rest of the time budget
+     * The thread that waits for the search isn't interrupted, so it can go on with whatever it was doing
+     */
+    public void cancel() {
+        cancellations.incrementAndGet();
+    }
+
+    /**
+     * This method tries one random seed after another, until the solver wins with one of them or the search is interrupted or cancelled
+     *
+     * @param game         The game the seeds are tried with
+     * @param clickX       The x-coordinate of the first click
+     * @param clickY       The y-coordinate of the first click
+     * @param random       The generator of the seeds
+     * @param cancellation The amount of cancellations when the search started
+     * @return The found seed
+     * @throws InterruptedException If the search is interrupted, because another search found a seed or the time is up, or if it is cancelled
+     */
+    private long search(Game game, int clickX, int clickY, SplittableRandom random, long cancellation) throws InterruptedException {
+        while (!Thread.currentThread().isInterrupted() && cancellations.get() == cancellation) {
+            long seed = random.nextLong();
+            game.startNewGame(seed);
+            if (isSolvableWithoutGuessing(game, clickX, clickY)) {
+                return seed;
+            }
+        }
+        throw new InterruptedException();
+    }
+
+    /**
+     * This method lets the solver play the given game, which has to be at the start of a round, from the given first click on
+     * The solver only steps on fields it can prove to be safe, so it wins exactly if the map can be solved without guessing
+     *
+     * @param game   The game
+     * @param clickX The x-coordinate of the first click
+     * @param clickY The y-coordinate of the first click
+     * @return Whether or not the solver won
+     */
+    public static boolean isSolvableWithoutGuessing(Game game, int clickX, int clickY) {
+        Solver solver = game.getSolver();
+        GameState gameState = game.walkOnField(clickX, clickY);
+        while (gameState == GameState.DEFAULT) {
+            int safeField = solver.findSafeField();
+            if (safeField < 0) {
+                return false;
+            }
+            gameState = game.walkOnField(safeField / game.getMapWidth(), safeField % game.getMapWidth());
+        }
+        return gameState == GameState.WON;
+    }
+}
@@ -0,0 +1,775 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This is the class for the engine, which calculates the chance of every undiscovered field to have a mine on it
+ * The undiscovered fields next to the numbers are split into components, that don't share any number,
+ * the mine configurations of every component are counted on their own on a fork-join-pool,
+ * and the counts are combined with the amount of ways the remaining mines fit onto the fields that aren't next to any number
+ * Components that were already counted are remembered, so after a move usually only the component that changed is counted again
+ * If counting takes longer than the time budget, the engine falls back to the density of the remaining mines
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class ProbabilityEngine {
+
+    /**
+     * The amount of counted components that are remembered
+     */
+    private static final int MAXIMUM_CACHED_COMPONENTS = 1024;
+    /**
+     * The amount of fields a task assigns on its own, before it is split into two tasks
+     */
+    private static final int SEQUENTIAL_FIELDS = 16;
+    /**
+     * The amount of searched configurations after which the time budget is checked again
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+
+    // The game the probabilities are calculated for
+    private final Game game;
+    // The pool the components are counted on
+    private final ForkJoinPool pool;
+    // The time the calculation may take at most in nanoseconds
+    private final long timeBudgetNanos;
+    // The components that were already counted, the least recently used one is forgotten first
+    private final Map<ComponentKey, ComponentResult> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ComponentKey, ComponentResult> eldest) {
+            return size() > MAXIMUM_CACHED_COMPONENTS;
+        }
+    };
+    // The logarithms of the factorials that were needed so far, for the binomial coefficients
+    private double[] logFactorials = {0};
+    // Whether or not the last calculation was exact, or had to fall back to the density
+    private boolean exact;
+
+    /**
+     * This is the constructor method
+     *
+     * @param game            The game the probabilities are calculated for
+     * @param pool            The pool the components are counted on
+     * @param timeBudgetNanos The time a calculation may take at most in nanoseconds
+     */
+    public ProbabilityEngine(Game game, ForkJoinPool pool, long timeBudgetNanos) {
+        this.game = game;
+        this.pool = pool;
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    /**
+     * This method calculates the chance of every field to have a mine on it, using only what is shown on the map
+     *
+     * @return The chance of every field, with the index x * map-width + y, revealed fields have a chance of zero
+     */
+    public double[] computeProbabilities() {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int mapWidth = game.getMapWidth();
+        int size = game.getMapHeight() * mapWidth;
+        double[] probabilities = new double[size];
+        Solver solver = game.getSolver();
+        solver.deduce();
+
+        // the fields that are already known are taken out, the others are either next to a number or not
+        int[] frontierIds = new int[size];
+        Arrays.fill(frontierIds, -1);
+        int[] frontierFields = new int[64];
+        int frontierCount = 0;
+        int unknownCount = 0;
+        int knownMineCount = 0;
+        for (int field = 0; field < size; field++) {
+            if (isRevealed(field)) {
+                continue;
+            }
+            if (solver.isKnownMine(field)) {
+                probabilities[field] = 1;
+                knownMineCount++;
+            } else if (!solver.isKnownSafe(field)) {
+                unknownCount++;
+                if (isNextToNumber(field)) {
+                    if (frontierCount == frontierFields.length) {
+                        frontierFields = Arrays.copyOf(frontierFields, frontierCount * 2);
+                    }
+                    frontierIds[field] = frontierCount;
+                    frontierFields[frontierCount++] = field;
+                }
+            }
+        }
+        int remainingMines = game.getAmountOfMines() - knownMineCount;
+        int interiorCount = unknownCount - frontierCount;
+        double density = unknownCount == 0 ? 0 : (double) remainingMines / unknownCount;
+
+        // the fields that share a number belong to the same component
+        int[] parents = new int[frontierCount];
+        for (int i = 0; i < frontierCount; i++) {
+            parents[i] = i;
+        }
+        List<int[]> constraints = new ArrayList<>();
+        for (int field = 0; field < size; field++) {
+            if (isRevealed(field)) {
+                int[] constraint = toConstraint(field, frontierIds, solver);
+                if (constraint != null) {
+                    constraints.add(constraint);
+                    for (int i = 3; i < constraint.length; i++) {
+                        union(parents, constraint[2], constraint[i]);
+                    }
+                }
+            }
+        }
+        List<Component> components = toComponents(parents, frontierFields, frontierIds, constraints);
+
+        // the components that were counted before are taken from the cache, the others are counted in parallel
+        AtomicBoolean timedOut = new AtomicBoolean();
+        List<ForkJoinTask<ComponentResult>> tasks = new ArrayList<>();
+        for (Component component : components) {
+            component.result = cache.get(component.key);
+            tasks.add(component.result == null ? pool.submit(new CountTask(component, deadline, timedOut)) : null);
+        }
+        for (int i = 0; i < components.size(); i++) {
+            if (tasks.get(i) != null) {
+                components.get(i).result = tasks.get(i).join();
+            }
+        }
+        if (!timedOut.get()) {
+            for (Component component : components) {
+                cache.put(component.key, component.result);
+            }
+        }
+
+        exact = !timedOut.get() && combine(components, remainingMines, interiorCount, probabilities, frontierIds);
+        if (!exact) {
+            // if there wasn't enough time, every unknown field gets the same chance
+            for (int field = 0; field < size; field++) {
+                if (!isRevealed(field) && !solver.isKnownMine(field) && !solver.isKnownSafe(field)) {
+                    probabilities[field] = density;
+                }
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * This method returns whether or not the last calculation was exact, or had to fall back to the density of the remaining mines
+     *
+     * @return Whether or not the last calculation was exact
+     */
+    public boolean wasExact() {
+        return exact;
+    }
+
+    // combination methods
+
+    /**
+     * This method combines the counted components with the fields that aren't next to any number
+     * Every configuration is weighted with the amount of ways the remaining mines fit onto those fields
+     *
+     * @param components     The counted components
+     * @param remainingMines The amount of mines that aren't known yet
+     * @param interiorCount  The amount of unknown fields that aren't next to any number
+     * @param probabilities  The array the chances are written into
+     * @param frontierIds    The ids of the fields next to numbers
+     * @return Whether or not the combination worked, it doesn't if no configuration fits
+     */
+    private boolean combine(List<Component> components, int remainingMines, int interiorCount, double[] probabilities, int[] frontierIds) {
+        int componentCount = components.size();
+        int frontierMines = 0;
+        for (Component component : components) {
+            frontierMines += component.fields.length;
+        }
+        // the weight of every total amount of mines next to numbers, relative to the highest one, to avoid overflows
+        double[] weights = new double[frontierMines + 1];
+        double highestLogWeight = Double.NEGATIVE_INFINITY;
+        for (int mines = 0; mines <= frontierMines; mines++) {
+            int interiorMines = remainingMines - mines;
+            weights[mines] = interiorMines < 0 || interiorMines > interiorCount ? Double.NEGATIVE_INFINITY : logBinomial(interiorCount, interiorMines);
+            highestLogWeight = Math.max(highestLogWeight, weights[mines]);
+        }
+        if (highestLogWeight == Double.NEGATIVE_INFINITY) {
+            return false;
+        }
+        for (int mines = 0; mines <= frontierMines; mines++) {
+            weights[mines] = Math.exp(weights[mines] - highestLogWeight);
+        }
+
+        // backwards[c][m] is the weight of all the configurations of the components from c on, if the components before c have m mines
+        double[][] backwards = new double[componentCount + 1][];
+        backwards[componentCount] = weights;
+        int[] minesBefore = new int[componentCount + 1];
+        for (int c = 0; c < componentCount; c++) {
+            minesBefore[c + 1] = minesBefore[c] + components.get(c).fields.length;
+        }
+        for (int c = componentCount - 1; c >= 0; c--) {
+            double[] counts = components.get(c).result.counts;
+            double[] next = backwards[c + 1];
+            double[] current = new double[minesBefore[c] + 1];
+            for (int m = 0; m < current.length; m++) {
+                for (int k = 0; k < counts.length; k++) {
+                    current[m] += counts[k] * next[m + k];
+                }
+            }
+            backwards[c] = normalize(current);
+        }
+
+        // forwards is the amount of configurations of the components before the current one, for every amount of mines
+        double[] forwards = {1};
+        for (int c = 0; c < componentCount; c++) {
+            Component component = components.get(c);
+            double[] counts = component.result.counts;
+            double[] next = backwards[c + 1];
+            // the weight of every amount of mines of this component, together with every other component
+            double[] componentWeights = new double[counts.length];
+            double total = 0;
+            for (int k = 0; k < counts.length; k++) {
+                for (int m = 0; m < forwards.length; m++) {
+                    componentWeights[k] += forwards[m] * next[m + k];
+                }
+                total += counts[k] * componentWeights[k];
+            }
+            if (!(total > 0) || Double.isInfinite(total)) {
+                return false;
+            }
+            for (int i = 0; i < component.fields.length; i++) {
+                double mineWeight = 0;
+                for (int k = 0; k < counts.length; k++) {
+                    double[] mineCounts = component.result.mineCounts[k];
+                    if (mineCounts != null) {
+                        mineWeight += mineCounts[i] * componentWeights[k];
+                    }
+                }
+                probabilities[component.fields[i]] = mineWeight / total;
+            }
+            forwards = normalize(convolve(forwards, counts));
+        }
+
+        // the fields that aren't next to any number all have the same chance
+        if (interiorCount > 0) {
+            double interiorMines = 0;
+            double total = 0;
+            for (int m = 0; m < forwards.length; m++) {
+                interiorMines += forwards[m] * weights[m] * (remainingMines - m);
+                total += forwards[m] * weights[m];
+            }
+            if (!(total > 0)) {
+                return false;
+            }
+            double interiorProbability = interiorMines / total / interiorCount;
+            for (int field = 0; field < probabilities.length; field++) {
+                if (frontierIds[field] < 0 && !isRevealed(field) && !game.getSolver().isKnownMine(field) && !game.getSolver().isKnownSafe(field)) {
+                    probabilities[field] = interiorProbability;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method multiplies two polynomials, which are given by their coefficients
+     *
+     * @param first  The coefficients of the first polynomial
+     * @param second The coefficients of the second polynomial
+     * @return The coefficients of the product
+     */
+    private static double[] convolve(double[] first, double[] second) {
+        double[] product = new double[first.length + second.length - 1];
+        for (int i = 0; i < first.length; i++) {
+            for (int j = 0; j < second.length; j++) {
+                product[i + j] += first[i] * second[j];
+            }
+        }
+        return product;
+    }
+
+    /**
+     * This method divides all the values by the highest one, which doesn't change any chance, but avoids overflows
+     *
+     * @param values The values
+     * @return The same array
+     */
+    private static double[] normalize(double[] values) {
+        double highest = 0;
+        for (double value : values) {
+            highest = Math.max(highest, value);
+        }
+        if (highest > 0) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] /= highest;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * This method calculates the logarithm of the binomial coefficient, the factorials are remembered between calls
+     *
+     * @param n The size of the set
+     * @param k The size of the subsets
+     * @return The logarithm of n choose k
+     */
+    private double logBinomial(int n, int k) {
+        if (n >= logFactorials.length) {
+            int oldLength = logFactorials.length;
+            logFactorials = Arrays.copyOf(logFactorials, Math.max(n + 1, oldLength * 2));
+            for (int i = oldLength; i < logFactorials.length; i++) {
+                logFactorials[i] = logFactorials[i - 1] + Math.log(i);
+            }
+        }
+        return logFactorials[n] - logFactorials[k] - logFactorials[n - k];
+    }
+
+    // component methods
+
+    /**
+     * This method creates the constraint of the given number
+     * The constraint consists of the index of the number, the amount of mines it still needs and the ids of its unknown fields
+     *
+     * @param number      The index of the number
+     * @param frontierIds The ids of the fields next to numbers
+     * @param solver      The solver, which knows some of the mines and safe fields
+     * @return The constraint, or null if the number has no unknown field next to it
+     */
+    private int[] toConstraint(int number, int[] frontierIds, Solver solver) {
+        int mapWidth = game.getMapWidth();
+        int x = number / mapWidth;
+        int y = number % mapWidth;
+        int[] constraint = new int[10];
+        constraint[0] = number;
+        constraint[1] = game.getFieldOfShownMap(x, y).toInteger();
+        int length = 2;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l)) {
+                    int field = number + k * mapWidth + l;
+                    if (frontierIds[field] >= 0) {
+                        constraint[length++] = frontierIds[field];
+                    } else if (solver.isKnownMine(field)) {
+                        constraint[1]--;
+                    }
+                }
+            }
+        }
+        return length == 2 ? null : Arrays.copyOf(constraint, length);
+    }
+
+    /**
+     * This method groups the fields next to numbers and the constraints into components
+     *
+     * @param parents        The union-find parents of the fields
+     * @param frontierFields The indices of the fields next to numbers
+     * @param frontierIds    The ids of the fields next to numbers
+     * @param constraints    The constraints of the numbers
+     * @return The components
+     */
+    private static List<Component> toComponents(int[] parents, int[] frontierFields, int[] frontierIds, List<int[]> constraints) {
+        int frontierCount = parents.length;
+        int[] componentIds = new int[frontierCount];
+        Arrays.fill(componentIds, -1);
+        List<List<Integer>> componentFields = new ArrayList<>();
+        for (int i = 0; i < frontierCount; i++) {
+            int root = find(parents, i);
+            if (componentIds[root] < 0) {
+                componentIds[root] = componentFields.size();
+                componentFields.add(new ArrayList<>());
+            }
+            componentFields.get(componentIds[root]).add(i);
+        }
+        List<List<int[]>> componentConstraints = new ArrayList<>();
+        for (int i = 0; i < componentFields.size(); i++) {
+            componentConstraints.add(new ArrayList<>());
+        }
+        for (int[] constraint : constraints) {
+            componentConstraints.get(componentIds[find(parents, constraint[2])]).add(constraint);
+        }
+        List<Component> components = new ArrayList<>();
+        for (int c = 0; c < componentFields.size(); c++) {
+            components.add(new Component(componentFields.get(c), componentConstraints.get(c), frontierFields, frontierIds));
+        }
+        return components;
+    }
+
+    /**
+     * This method finds the root of the given field and shortens the path to it on the way
+     *
+     * @param parents The union-find parents of the fields
+     * @param field   The id of the field
+     * @return The id of the root
+     */
+    private static int find(int[] parents, int field) {
+        while (parents[field] != field) {
+            parents[field] = parents[parents[field]];
+            field = parents[field];
+        }
+        return field;
+    }
+
+    /**
+     * This method puts the two given fields into the same component
+     *
+     * @param parents The union-find parents of the fields
+     * @param first   The id of the first field
+     * @param second  The id of the second field
+     */
+    private static void union(int[] parents, int first, int second) {
+        parents[find(parents, first)] = find(parents, second);
+    }
+
+    // field methods
+
+    /**
+     * This method checks, whether or not the field with the given index shows a number
+     *
+     * @param field The index of the field
+     * @return Whether or not the field is revealed
+     */
+    private boolean isRevealed(int field) {
+        return game.getFieldOfShownMap(field / game.getMapWidth(), field % game.getMapWidth()).toInteger() >= 0;
+    }
+
+    /**
+     * This method checks, whether or not the field with the given index is next to a number
+     *
+     * @param field The index of the field
+     * @return Whether or not the field is next to a number
+     */
+    private boolean isNextToNumber(int field) {
+        int mapWidth = game.getMapWidth();
+        int x = field / mapWidth;
+        int y = field % mapWidth;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l) && isRevealed(field + k * mapWidth + l)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method checks, whether or not a given coordinate is on the map or not
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return Is in bounds
+     */
+    private boolean isInBounds(int x, int y) {
+        return x >= 0 && x < game.getMapHeight() && y >= 0 && y < game.getMapWidth();
+    }
+
+    /**
+     * This is the class for a component, which is a group of fields next to numbers and the numbers around them
+     */
+    private static class Component {
+        // The indices of the fields, in the order they are assigned in
+        private final int[] fields;
+        // The amount of mines every number still needs
+        private final int[] needed;
+        // The amount of fields next to every number
+        private final int[] unassigned;
+        // The numbers next to every field
+        private final int[][] fieldConstraints;
+        // The key, which is the same for every component with the same fields and numbers
+        private final ComponentKey key;
+        // The counted configurations of the component
+        private ComponentResult result;
+
+        /**
+         * This is the constructor method
+         *
+         * @param frontierIdsOfComponent The ids of the fields of the component
+         * @param constraints            The constraints of the numbers of the component
+         * @param frontierFields         The indices of the fields next to numbers
+         * @param frontierIds            The ids of the fields next to numbers
+         */
+        Component(List<Integer> frontierIdsOfComponent, List<int[]> constraints, int[] frontierFields, int[] frontierIds) {
+            int fieldCount = frontierIdsOfComponent.size();
+            // the fields are assigned in the order the numbers reach them, so the numbers are completed early and bad configurations are cut off early
+            int[] localIds = new int[frontierFields.length];
+            Arrays.fill(localIds, -1);
+            fields = new int[fieldCount];
+            int assigned = 0;
+            for (int[] constraint : constraints) {
+                for (int i = 2; i < constraint.length; i++) {
+                    if (localIds[constraint[i]] < 0) {
+                        localIds[constraint[i]] = assigned;
+                        fields[assigned++] = frontierFields[constraint[i]];
+                    }
+                }
+            }
+            needed = new int[constraints.size()];
+            unassigned = new int[constraints.size()];
+            int[] constraintsPerField = new int[fieldCount];
+            for (int[] constraint : constraints) {
+                for (int i = 2; i < constraint.length; i++) {
+                    constraintsPerField[localIds[constraint[i]]]++;
+                }
+            }
+            fieldConstraints = new int[fieldCount][];
+            for (int i = 0; i < fieldCount; i++) {
+                fieldConstraints[i] = new int[constraintsPerField[i]];
+                constraintsPerField[i] = 0;
+            }
+            int[] keyValues = new int[fieldCount + constraints.size() * 2];
+            for (int i = 0; i < fieldCount; i++) {
+                keyValues[i] = fields[i];
+            }
+            for (int c = 0; c < constraints.size(); c++) {
+                int[] constraint = constraints.get(c);
+                needed[c] = constraint[1];
+                unassigned[c] = constraint.length - 2;
+                for (int i = 2; i < constraint.length; i++) {
+                    int localId = localIds[constraint[i]];
+                    fieldConstraints[localId][constraintsPerField[localId]++] = c;
+                }
+                keyValues[fieldCount + c * 2] = constraint[0];
+                keyValues[fieldCount + c * 2 + 1] = constraint[1];
+            }
+            key = new ComponentKey(keyValues);
+        }
+    }
+
+    /**
+     * This is the class for the key of a component, the configurations only depend on its fields, its numbers and the mines they still need
+     */
+    private static class ComponentKey {
+        // The fields, followed by the index of every number and the amount of mines it still needs
+        private final int[] values;
+        // The hash of the values
+        private final int hash;
+
+        /**
+         * This is the constructor method
+         *
+         * @param values The fields, followed by the index of every number and the amount of mines it still needs
+         */
+        ComponentKey(int[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ComponentKey && Arrays.equals(values, ((ComponentKey) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * This is the class for the counted configurations of a component
+     */
+    private static class ComponentResult {
+        // The amount of configurations for every amount of mines
+        private final double[] counts;
+        // The amount of configurations with a mine on each field, for every amount of mines, null if there is no configuration
+        private final double[][] mineCounts;
+
+        /**
+         * This is the constructor method
+         *
+         * @param fieldCount The amount of fields of the component
+         */
+        ComponentResult(int fieldCount) {
+            counts = new double[fieldCount + 1];
+            mineCounts = new double[fieldCount + 1][];
+        }
+
+        /**
+         * This method adds the configurations of the given result to this one
+         *
+         * @param other The other result
+         */
+        void add(ComponentResult other) {
+            for (int k = 0; k < counts.length; k++) {
+                counts[k] += other.counts[k];
+                if (other.mineCounts[k] != null) {
+                    if (mineCounts[k] == null) {
+                        mineCounts[k] = other.mineCounts[k];
+                    } else {
+                        for (int i = 0; i < mineCounts[k].length; i++) {
+                            mineCounts[k][i] += other.mineCounts[k][i];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This is the task, which counts the configurations of a component, starting with some of its fields already assigned
+     * As long as a lot of fields are left, it splits itself into one task with a mine on the next field and one without
+     */
+    private static class CountTask extends RecursiveTask<ComponentResult> {
+        // The component that is counted
+        private final Component component;
+        // The time at which counting is given up
+        private final long deadline;
+        // Whether or not any task ran out of time
+        private final AtomicBoolean timedOut;
+        // The amount of mines every number still needs, after the fields before the first one of this task were assigned
+        private final int[] needed;
+        // The amount of unassigned fields next to every number
+        private final int[] unassigned;
+        // The fields with a mine on them, which are the first ones of the stack
+        private final int[] mineStack;
+        // The amount of fields with a mine on them
+        private int mineCount;
+        // The first field this task assigns
+        private final int firstField;
+        // The result of this task
+        private ComponentResult result;
+        // The amount of configurations searched since the time budget was checked last
+        private int searched;
+
+        /**
+         * This is the constructor method, which counts the whole component
+         *
+         * @param component The component
+         * @param deadline  The time at which counting is given up
+         * @param timedOut  Whether or not any task ran out of time
+         */
+        CountTask(Component component, long deadline, AtomicBoolean timedOut) {
+            this(component, deadline, timedOut, component.needed.clone(), component.unassigned.clone(), new int[component.fields.length], 0, 0);
+        }
+
+        /**
+         * This is the constructor method, which counts the component with the fields before the first one already assigned
+         *
+         * @param component  The component
+         * @param deadline   The time at which counting is given up
+         * @param timedOut   Whether or not any task ran out of time
+         * @param needed     The amount of mines every number still needs
+         * @param unassigned The amount of unassigned fields next to every number
+         * @param mineStack  The fields with a mine on them
+         * @param mineCount  The amount of fields with a mine on them
+         * @param firstField The first field this task assigns
+         */
+        private CountTask(Component component, long deadline, AtomicBoolean timedOut, int[] needed, int[] unassigned, int[] mineStack, int mineCount, int firstField) {
+            this.component = component;
+            this.deadline = deadline;
+            this.timedOut = timedOut;
+            this.needed = needed;
+            this.unassigned = unassigned;
+            this.mineStack = mineStack;
+            this.mineCount = mineCount;
+            this.firstField = firstField;
+        }
+
+        @Override
+        protected ComponentResult compute() {
+            result = new ComponentResult(component.fields.length);
+            if (component.fields.length - firstField > SEQUENTIAL_FIELDS * 2) {
+                // the next field is assigned in both ways, each by its own task
+                List<CountTask> subtasks = new ArrayList<>();
+                for (int mine = 0; mine < 2; mine++) {
+                    if (assign(firstField, mine)) {
+                        int[] subtaskMineStack = mineStack.clone();
+                        if (mine == 1) {
+                            subtaskMineStack[mineCount] = firstField;
+                        }
+                        subtasks.add(new CountTask(component, deadline, timedOut, needed.clone(), unassigned.clone(), subtaskMineStack, mineCount + mine, firstField + 1));
+                        unassign(firstField, mine);
+                    }
+                }
+                for (CountTask subtask : invokeAll(subtasks)) {
+                    result.add(subtask.join());
+                }
+            } else {
+                search(firstField);
+            }
+            return result;
+        }
+
+        /**
+         * This method assigns the given field in both ways and goes on with the next field, until every field is assigned
+         *
+         * @param field The field that is assigned
+         */
+        private void search(int field) {
+            if (++searched == DEADLINE_CHECK_INTERVAL) {
+                searched = 0;
+                if (System.nanoTime() > deadline) {
+                    timedOut.set(true);
+                }
+            }
+            if (timedOut.get()) {
+                return;
+            }
+            if (field == component.fields.length) {
+                record();
+                return;
+            }
+            for (int mine = 0; mine < 2; mine++) {
+                if (assign(field, mine)) {
+                    if (mine == 1) {
+                        mineStack[mineCount++] = field;
+                    }
+                    search(field + 1);
+                    if (mine == 1) {
+                        mineCount--;
+                    }
+                    unassign(field, mine);
+                }
+            }
+        }
+
+        /**
+         * This method assigns the given field, if every number next to it can still get the right amount of mines
+         *
+         * @param field The field
+         * @param mine  1 if the field gets a mine, 0 if not
+         * @return Whether or not the field was assigned
+         */
+        private boolean assign(int field, int mine) {
+            for (int constraint : component.fieldConstraints[field]) {
+                int stillNeeded = needed[constraint] - mine;
+                if (stillNeeded < 0 || stillNeeded > unassigned[constraint] - 1) {
+                    return false;
+                }
+            }
+            for (int constraint : component.fieldConstraints[field]) {
+                needed[constraint] -= mine;
+                unassigned[constraint]--;
+            }
+            return true;
+        }
+
+        /**
+         * This method takes back the assignment of the given field
+         *
+         * @param field The field
+         * @param mine  1 if the field got a mine, 0 if not
+         */
+        private void unassign(int field, int mine) {
+            for (int constraint : component.fieldConstraints[field]) {
+                needed[constraint] += mine;
+                unassigned[constraint]++;
+            }
+        }
+
+        /**
+         * This method counts the configuration, in which every field is assigned
+         */
+        private void record() {
+            result.counts[mineCount]++;
+            double[] mineCounts = result.mineCounts[mineCount];
+            if (mineCounts == null) {
+                mineCounts = new double[component.fields.length];
+                result.mineCounts[mineCount] = mineCounts;
+            }
+            for (int i = 0; i < mineCount; i++) {
+                mineCounts[mineStack[i]]++;
+            }
+        }
+    }
+}
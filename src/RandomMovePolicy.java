@@ -0,0 +1,37 @@
+import java.util.SplittableRandom;
+
+/**
+ * This is the move policy, which steps on a random undiscovered field every time
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class RandomMovePolicy implements MovePolicy {
+
+    /**
+     * The amount of random fields that are tried, before every field is checked one after another
+     */
+    private static final int MAXIMUM_RANDOM_TRIES = 64;
+
+    @Override
+    public int chooseField(Game game, SplittableRandom random) {
+        int mapWidth = game.getMapWidth();
+        int size = game.getMapHeight() * mapWidth;
+        // random fields are tried first, which is fast as long as a lot of the map is still undiscovered
+        for (int i = 0; i < MAXIMUM_RANDOM_TRIES; i++) {
+            int field = random.nextInt(size);
+            if (game.getFieldOfShownMap(field / mapWidth, field % mapWidth) == FieldContent.UNDISCOVERED) {
+                return field;
+            }
+        }
+        // close to the end of a game, the map is searched from a random starting point instead
+        int start = random.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int field = (start + i) % size;
+            if (game.getFieldOfShownMap(field / mapWidth, field % mapWidth) == FieldContent.UNDISCOVERED) {
+                return field;
+            }
+        }
+        return start;
+    }
+}
@@ -0,0 +1,20 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is the class for the flight recorder event, that is emitted when the map is drawn
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@Name("minesweeper.Repaint")
+@Label("Repaint")
+@Category("Minesweeper")
+@Description("The fields inside the area that has to be drawn again are drawn")
+public class RepaintEvent extends jdk.jfr.Event {
+
+    @Label("Fields Painted")
+    int fieldsPainted;
+}
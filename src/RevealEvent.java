@@ -0,0 +1,26 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is the class for the flight recorder event, that is emitted when a field is walked on, including the flood fill of a free area
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@Name("minesweeper.Reveal")
+@Label("Reveal")
+@Category("Minesweeper")
+@Description("A field is walked on and everything that comes with it is revealed")
+public class RevealEvent extends jdk.jfr.Event {
+
+    @Label("X")
+    int x;
+    @Label("Y")
+    int y;
+    @Label("Fields Revealed")
+    int fieldsRevealed;
+    @Label("Game State")
+    String gameState;
+}
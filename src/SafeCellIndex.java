@@ -0,0 +1,105 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This is the class for the set of the fields without a mine, that aren't revealed yet, from which the hints pick a random field
+ * The fields are packed at the front of an int array and a second array maps every field to its position in the first one,
+ * so a field is added at the end, removed by moving the last field into its place, and a random field is picked with a single random number
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class SafeCellIndex {
+
+    // The fields of the set, packed at the front of the array
+    private final int[] fields;
+    // The position of every field in the packed array, or -1 if the field isn't in the set
+    private final int[] positions;
+    // The amount of fields in the set
+    private int count;
+
+    /**
+     * This is the constructor method, which creates an empty set
+     *
+     * @param size The amount of fields of the map
+     */
+    public SafeCellIndex(int size) {
+        fields = new int[size];
+        positions = new int[size];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * This method adds the field with the given index, if it isn't in the set yet
+     *
+     * @param index The index of the field
+     */
+    public void add(int index) {
+        if (positions[index] >= 0) {
+            return;
+        }
+        fields[count] = index;
+        positions[index] = count;
+        count++;
+    }
+
+    /**
+     * This method removes the field with the given index, if it is in the set
+     * The last field of the packed array is moved into its place, so the array doesn't have any gaps
+     *
+     * @param index The index of the field
+     */
+    public void remove(int index) {
+        int position = positions[index];
+        if (position < 0) {
+            return;
+        }
+        int lastField = fields[--count];
+        fields[position] = lastField;
+        positions[lastField] = position;
+        positions[index] = -1;
+    }
+
+    /**
+     * This method checks, whether or not the field with the given index is in the set
+     *
+     * @param index The index of the field
+     * @return Whether or not the field is in the set
+     */
+    public boolean contains(int index) {
+        return positions[index] >= 0;
+    }
+
+    /**
+     * This method removes every field from the set
+     * Only the positions of the fields in the set are reset, so clearing an almost empty set is fast on a huge map
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            positions[fields[i]] = -1;
+        }
+        count = 0;
+    }
+
+    /**
+     * This method picks a random field of the set
+     *
+     * @param random The generator of the random number
+     * @return The index of the field, or -1 if the set is empty
+     */
+    public int randomField(SplittableRandom random) {
+        if (count == 0) {
+            return -1;
+        }
+        return fields[random.nextInt(count)];
+    }
+
+    /**
+     * This method returns the amount of fields in the set
+     *
+     * @return The amount of fields
+     */
+    public int size() {
+        return count;
+    }
+}
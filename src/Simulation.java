@@ -0,0 +1,259 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * This is the class for the headless simulation, which plays a lot of games on every core and reports how fast the engine is
+ * It never opens a window, so it can be run on machines without a screen
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class Simulation {
+
+    /**
+     * The amount of games a single task plays, before the range of games is not split up any further
+     */
+    private static final int GAMES_PER_TASK = 256;
+    /**
+     * The default configurations in the format height x width : mines ( beginner, intermediate and expert )
+     */
+    private static final String DEFAULT_CONFIGURATIONS = "9x9:10,16x16:40,16x30:99";
+    /**
+     * The amount of games that are played for every configuration by default
+     */
+    private static final long DEFAULT_AMOUNT_OF_GAMES = 100_000;
+
+    /**
+     * Private constructor to avoid object generation.
+     */
+    private Simulation() {
+        throw new IllegalStateException("Utility-class constructor.");
+    }
+
+    /**
+     * The main method of the simulation
+     * The arguments are optional and given in the order: games-per-configuration configurations threads policy
+     * the policy is either random or solver
+     * for example: 1000000 9x9:10,16x30:99 8 random
+     */
+    public static void main(String[] args) {
+        long amountOfGames = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_AMOUNT_OF_GAMES;
+        String configurations = args.length > 1 ? args[1] : DEFAULT_CONFIGURATIONS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Supplier<MovePolicy> policy = toPolicy(args.length > 3 ? args[3] : "random");
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.printf("%-14s %10s %8s %12s %12s %9s %9s %9s %9s %9s%n",
+                "board", "games", "win-rate", "games/s", "moves/s", "p50 ns", "p90 ns", "p99 ns", "p99.9 ns", "max ns");
+        for (String configuration : configurations.split(",")) {
+            String[] sizeAndMines = configuration.split(":");
+            String[] size = sizeAndMines[0].split("x");
+            int mapHeight = Integer.parseInt(size[0]);
+            int mapWidth = Integer.parseInt(size[1]);
+            int amountOfMines = Integer.parseInt(sizeAndMines[1]);
+
+            long start = System.nanoTime();
+            SimulationResult result = run(mapHeight, mapWidth, amountOfMines, amountOfGames, policy, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            printResult(configuration, result, seconds);
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * This method plays the given amount of games with the given configuration on the given pool
+     *
+     * @param mapHeight     The height of the map
+     * @param mapWidth      The width of the map
+     * @param amountOfMines The amount of mines on the map
+     * @param amountOfGames The amount of games that are getting played
+     * @param policy        The supplier of the policy every task uses to choose its moves
+     * @param pool          The pool the games are played on
+     * @return The combined result of every game
+     */
+    public static SimulationResult run(int mapHeight, int mapWidth, int amountOfMines, long amountOfGames, Supplier<MovePolicy> policy, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(mapHeight, mapWidth, amountOfMines, 0, amountOfGames, policy));
+    }
+
+    /**
+     * This method prints the result of a configuration as a single line
+     *
+     * @param configuration The configuration, which was played
+     * @param result        The result of the configuration
+     * @param seconds       The amount of seconds it took to play every game
+     */
+    private static void printResult(String configuration, SimulationResult result, double seconds) {
+        LatencyHistogram latencies = result.getMoveLatencies();
+        System.out.printf("%-14s %10d %7.2f%% %12.0f %12.0f %9d %9d %9d %9d %9d%n",
+                configuration,
+                result.getGames(),
+                100.0 * result.getWins() / Math.max(1, result.getGames()),
+                result.getGames() / seconds,
+                result.getMoves() / seconds,
+                latencies.getValueAtPercentile(50),
+                latencies.getValueAtPercentile(90),
+                latencies.getValueAtPercentile(99),
+                latencies.getValueAtPercentile(99.9),
+                latencies.getMaximum());
+    }
+
+    /**
+     * This method gives back the policy with the given name
+     *
+     * @param name The name of the policy
+     * @return The supplier of the policy
+     */
+    private static Supplier<MovePolicy> toPolicy(String name) {
+        if (name.equals("random")) {
+            return RandomMovePolicy::new;
+        }
+        if (name.equals("solver")) {
+            return SolverMovePolicy::new;
+        }
+        throw new IllegalArgumentException("Unknown policy: " + name);
+    }
+
+    /**
+     * This is the task, which plays a range of games or splits it up into smaller tasks
+     */
+    private static class SimulationTask extends RecursiveTask<SimulationResult> {
+        // The configuration of the games
+        private final int mapHeight;
+        private final int mapWidth;
+        private final int amountOfMines;
+        // The range of games this task plays
+        private final long firstGame;
+        private final long lastGame;
+        // The supplier of the policy that is used to choose the moves
+        private final Supplier<MovePolicy> policy;
+
+        /**
+         * This is the constructor method
+         *
+         * @param mapHeight     The height of the map
+         * @param mapWidth      The width of the map
+         * @param amountOfMines The amount of mines on the map
+         * @param firstGame     The number of the first game of the range
+         * @param lastGame      The number after the last game of the range
+         * @param policy        The supplier of the policy that is used to choose the moves
+         */
+        SimulationTask(int mapHeight, int mapWidth, int amountOfMines, long firstGame, long lastGame, Supplier<MovePolicy> policy) {
+            this.mapHeight = mapHeight;
+            this.mapWidth = mapWidth;
+            this.amountOfMines = amountOfMines;
+            this.firstGame = firstGame;
+            this.lastGame = lastGame;
+            this.policy = policy;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            // the range is split in half, until it is small enough to be played by a single thread
+            if (lastGame - firstGame > GAMES_PER_TASK) {
+                long middle = (firstGame + lastGame) >>> 1;
+                SimulationTask firstHalf = new SimulationTask(mapHeight, mapWidth, amountOfMines, firstGame, middle, policy);
+                SimulationTask secondHalf = new SimulationTask(mapHeight, mapWidth, amountOfMines, middle, lastGame, policy);
+                firstHalf.fork();
+                SimulationResult result = secondHalf.compute();
+                result.add(firstHalf.join());
+                return result;
+            }
+            return playGames();
+        }
+
+        /**
+         * This method plays every game of the range one after another, on the same game-object
+         *
+         * @return The result of the games
+         */
+        private SimulationResult playGames() {
+            SimulationResult result = new SimulationResult();
+            SplittableRandom random = new SplittableRandom(firstGame);
+            MovePolicy movePolicy = policy.get();
+            Game game = new Game(mapHeight, mapWidth, amountOfMines);
+            // the latencies of the moves are measured here, the histograms of the game would only measure themselves
+            game.setInstrumented(false);
+            for (long i = firstGame; i < lastGame; i++) {
+                // the number of the game is its seed, so every game of a simulation can be reproduced
+                game.startNewGame(i);
+                GameState gameState = GameState.DEFAULT;
+                while (gameState == GameState.DEFAULT) {
+                    int field = movePolicy.chooseField(game, random);
+                    long start = System.nanoTime();
+                    gameState = game.walkOnField(field / mapWidth, field % mapWidth);
+                    result.getMoveLatencies().record(System.nanoTime() - start);
+                    result.moves++;
+                }
+                result.games++;
+                if (gameState == GameState.WON) {
+                    result.wins++;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * This is the class for the combined result of a range of games
+     */
+    public static class SimulationResult {
+        // The latencies of every single move
+        private final LatencyHistogram moveLatencies = new LatencyHistogram();
+        // The amount of games that were played
+        private long games;
+        // The amount of games that were won
+        private long wins;
+        // The amount of moves that were made
+        private long moves;
+
+        /**
+         * This method adds the given result to this one
+         *
+         * @param other The result that is getting added
+         */
+        void add(SimulationResult other) {
+            moveLatencies.add(other.moveLatencies);
+            games += other.games;
+            wins += other.wins;
+            moves += other.moves;
+        }
+
+        /**
+         * This method returns the latencies of every move
+         *
+         * @return The latencies of every move
+         */
+        public LatencyHistogram getMoveLatencies() {
+            return moveLatencies;
+        }
+
+        /**
+         * This method returns the amount of games that were played
+         *
+         * @return The amount of games that were played
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * This method returns the amount of games that were won
+         *
+         * @return The amount of games that were won
+         */
+        public long getWins() {
+            return wins;
+        }
+
+        /**
+         * This method returns the amount of moves that were made
+         *
+         * @return The amount of moves that were made
+         */
+        public long getMoves() {
+            return moves;
+        }
+    }
+}
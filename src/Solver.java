@@ -0,0 +1,385 @@
+import java.util.Arrays;
+
+/**
+ * This is the class for the solver, which deduces safe fields and mines from the numbers the player can see
+ * It only uses what is shown on the map, so every safe field it finds could have been found by the player as well
+ * Between moves it only looks at the numbers around the fields that changed, instead of the whole map
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class Solver implements FieldChangeListener {
+
+    // The game that is solved
+    private final Game game;
+    // The width of the map
+    private final int mapWidth;
+    // The height of the map
+    private final int mapHeight;
+    // The plane that has a bit set for every field that is known to have a mine on it
+    private final long[] knownMines;
+    // The plane that has a bit set for every field that is known to be safe
+    private final long[] knownSafe;
+    // The plane that has a bit set for every number that is waiting in the worklist
+    private final long[] queued;
+    // The numbers that have to be looked at again, because something around them changed
+    private int[] worklist = new int[64];
+    // The amount of numbers in the worklist
+    private int worklistSize;
+    // The fields that are known to be safe, in the order they were found in
+    private int[] safeFields = new int[64];
+    // The amount of safe fields in the list
+    private int safeFieldCount;
+    // Whether or not the whole map has to be looked at again, because it changed at once
+    private boolean needsFullScan = true;
+    // The unknown fields and the remaining mines around the number that is looked at and around the one it is compared to
+    private final int[] unknownFields = new int[8];
+    private final int[] otherUnknownFields = new int[8];
+
+    /**
+     * This is the constructor method, the solver listens to the changes of the game from then on
+     *
+     * @param game The game that is solved
+     */
+    public Solver(Game game) {
+        this.game = game;
+        this.mapWidth = game.getMapWidth();
+        this.mapHeight = game.getMapHeight();
+        int planeLength = (mapWidth * mapHeight + 63) / 64;
+        knownMines = new long[planeLength];
+        knownSafe = new long[planeLength];
+        queued = new long[planeLength];
+        game.addFieldChangeListener(this);
+    }
+
+    // listener methods
+
+    @Override
+    public void fieldsChanged(Game game, int[] fields, int amountOfFields) {
+        // the changed fields and the numbers around them have to be looked at again
+        for (int i = 0; i < amountOfFields; i++) {
+            queueNumbersAround(fields[i]);
+        }
+    }
+
+    @Override
+    public void mapChanged(Game game) {
+        // a new round started or the whole map was revealed, so everything that is known is forgotten
+        needsFullScan = true;
+    }
+
+    // solving methods
+
+    /**
+     * This method gives back a field that is known to be safe and is not revealed yet
+     *
+     * @return The index of the field, which is x * map-width + y, or -1 if no field can be proven to be safe
+     */
+    public int findSafeField() {
+        deduce();
+        // the fields that were revealed in the meantime are skipped, the field that is returned stays in the list until it is revealed
+        while (safeFieldCount > 0) {
+            int field = safeFields[safeFieldCount - 1];
+            if (!isRevealed(field)) {
+                return field;
+            }
+            safeFieldCount--;
+        }
+        return -1;
+    }
+
+    /**
+     * This method deduces everything it can from the numbers in the worklist
+     */
+    public void deduce() {
+        if (needsFullScan) {
+            scanWholeMap();
+        }
+        while (worklistSize > 0) {
+            int number = worklist[--worklistSize];
+            queued[number >>> 6] &= ~(1L << number);
+            if (isRevealed(number)) {
+                deduceFromNumber(number);
+            }
+        }
+    }
+
+    /**
+     * This method forgets everything that is known and puts every revealed number into the worklist
+     */
+    private void scanWholeMap() {
+        needsFullScan = false;
+        Arrays.fill(knownMines, 0L);
+        Arrays.fill(knownSafe, 0L);
+        Arrays.fill(queued, 0L);
+        worklistSize = 0;
+        safeFieldCount = 0;
+        // a new round has no revealed fields, so there is nothing to look at
+        if (game.getRevealedCount() == 0 || game.getGameState() != GameState.DEFAULT) {
+            return;
+        }
+        for (int field = 0; field < mapWidth * mapHeight; field++) {
+            if (isRevealed(field)) {
+                queue(field);
+            }
+        }
+    }
+
+    /**
+     * This method deduces safe fields and mines from a single number, on its own and together with the numbers close to it
+     *
+     * @param number The index of the number
+     */
+    private void deduceFromNumber(int number) {
+        int unknownCount = collectUnknownFields(number, unknownFields);
+        if (unknownCount == 0) {
+            return;
+        }
+        int remainingMines = countRemainingMines(number);
+        // if the number has all its mines, every other field around it is safe
+        // if the number needs every unknown field as a mine, they all are mines
+        if (remainingMines == 0) {
+            for (int i = 0; i < unknownCount; i++) {
+                markSafe(unknownFields[i]);
+            }
+            return;
+        }
+        if (remainingMines == unknownCount) {
+            for (int i = 0; i < unknownCount; i++) {
+                markMine(unknownFields[i]);
+            }
+            return;
+        }
+        // every number that shares unknown fields with this one is within two fields of it
+        int x = number / mapWidth;
+        int y = number % mapWidth;
+        for (int k = -2; k < 3; k++) {
+            for (int l = -2; l < 3; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l)) {
+                    int other = number + k * mapWidth + l;
+                    if (isRevealed(other) && compareNumbers(number, unknownCount, remainingMines, other)) {
+                        // the unknown fields of this number changed, so it is looked at again later
+                        queue(number);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method compares two numbers that share unknown fields
+     * If the mines that this number has more than the other one can only be in the fields that only this number touches,
+     * those fields are all mines and the fields that only the other number touches are all safe
+     *
+     * @param number         The index of this number
+     * @param unknownCount   The amount of unknown fields around this number
+     * @param remainingMines The amount of mines this number still needs
+     * @param other          The index of the other number
+     * @return Whether or not something new was deduced
+     */
+    private boolean compareNumbers(int number, int unknownCount, int remainingMines, int other) {
+        int otherUnknownCount = collectUnknownFields(other, otherUnknownFields);
+        if (otherUnknownCount == 0) {
+            return false;
+        }
+        int otherRemainingMines = countRemainingMines(other);
+        int onlyThisCount = 0;
+        int sharedCount = 0;
+        for (int i = 0; i < unknownCount; i++) {
+            if (contains(otherUnknownFields, otherUnknownCount, unknownFields[i])) {
+                sharedCount++;
+            } else {
+                onlyThisCount++;
+            }
+        }
+        if (sharedCount == 0 || remainingMines - otherRemainingMines != onlyThisCount) {
+            return false;
+        }
+        boolean deducedSomething = false;
+        for (int i = 0; i < unknownCount; i++) {
+            if (!contains(otherUnknownFields, otherUnknownCount, unknownFields[i])) {
+                deducedSomething |= markMine(unknownFields[i]);
+            }
+        }
+        for (int i = 0; i < otherUnknownCount; i++) {
+            if (!contains(unknownFields, unknownCount, otherUnknownFields[i])) {
+                deducedSomething |= markSafe(otherUnknownFields[i]);
+            }
+        }
+        return deducedSomething;
+    }
+
+    /**
+     * This method remembers that the given field has a mine on it
+     *
+     * @param field The index of the field
+     * @return Whether or not this wasn't known before
+     */
+    private boolean markMine(int field) {
+        if ((knownMines[field >>> 6] & (1L << field)) != 0) {
+            return false;
+        }
+        knownMines[field >>> 6] |= 1L << field;
+        queueNumbersAround(field);
+        return true;
+    }
+
+    /**
+     * This method remembers that the given field is safe
+     *
+     * @param field The index of the field
+     * @return Whether or not this wasn't known before
+     */
+    private boolean markSafe(int field) {
+        if ((knownSafe[field >>> 6] & (1L << field)) != 0) {
+            return false;
+        }
+        knownSafe[field >>> 6] |= 1L << field;
+        if (safeFieldCount == safeFields.length) {
+            safeFields = Arrays.copyOf(safeFields, safeFieldCount * 2);
+        }
+        safeFields[safeFieldCount++] = field;
+        queueNumbersAround(field);
+        return true;
+    }
+
+    // worklist methods
+
+    /**
+     * This method puts the given field and the revealed fields around it into the worklist
+     *
+     * @param field The index of the field
+     */
+    private void queueNumbersAround(int field) {
+        int x = field / mapWidth;
+        int y = field % mapWidth;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if (isInBounds(x + k, y + l)) {
+                    queue(field + k * mapWidth + l);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method puts the given field into the worklist, if it isn't in there already
+     *
+     * @param field The index of the field
+     */
+    private void queue(int field) {
+        if ((queued[field >>> 6] & (1L << field)) != 0) {
+            return;
+        }
+        queued[field >>> 6] |= 1L << field;
+        if (worklistSize == worklist.length) {
+            worklist = Arrays.copyOf(worklist, worklistSize * 2);
+        }
+        worklist[worklistSize++] = field;
+    }
+
+    // field methods
+
+    /**
+     * This method collects the fields around the given number, that are neither revealed nor known
+     *
+     * @param number        The index of the number
+     * @param unknownFields The array the fields are collected in
+     * @return The amount of unknown fields
+     */
+    private int collectUnknownFields(int number, int[] unknownFields) {
+        int x = number / mapWidth;
+        int y = number % mapWidth;
+        int unknownCount = 0;
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l)) {
+                    int field = number + k * mapWidth + l;
+                    if (!isRevealed(field) && !isKnownMine(field) && !isKnownSafe(field)) {
+                        unknownFields[unknownCount++] = field;
+                    }
+                }
+            }
+        }
+        return unknownCount;
+    }
+
+    /**
+     * This method counts the mines the given number still needs, apart from the mines that are already known
+     *
+     * @param number The index of the number
+     * @return The amount of remaining mines
+     */
+    private int countRemainingMines(int number) {
+        int x = number / mapWidth;
+        int y = number % mapWidth;
+        int remainingMines = game.getFieldOfShownMap(x, y).toInteger();
+        for (int k = -1; k < 2; k++) {
+            for (int l = -1; l < 2; l++) {
+                if ((k != 0 || l != 0) && isInBounds(x + k, y + l) && isKnownMine(number + k * mapWidth + l)) {
+                    remainingMines--;
+                }
+            }
+        }
+        return remainingMines;
+    }
+
+    /**
+     * This method checks, whether or not the field with the given index shows a number ( a free field counts as the number zero )
+     *
+     * @param field The index of the field
+     * @return Whether or not the field is revealed
+     */
+    private boolean isRevealed(int field) {
+        return game.getFieldOfShownMap(field / mapWidth, field % mapWidth).toInteger() >= 0;
+    }
+
+    /**
+     * This method checks, whether or not the field with the given index is known to have a mine on it
+     *
+     * @param field The index of the field
+     * @return Whether or not the field is a known mine
+     */
+    public boolean isKnownMine(int field) {
+        return (knownMines[field >>> 6] & (1L << field)) != 0;
+    }
+
+    /**
+     * This method checks, whether or not the field with the given index is known to be safe
+     *
+     * @param field The index of the field
+     * @return Whether or not the field is known to be safe
+     */
+    public boolean isKnownSafe(int field) {
+        return (knownSafe[field >>> 6] & (1L << field)) != 0;
+    }
+
+    /**
+     * This method checks, whether or not a given coordinate is on the map or not
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return Is in bounds
+     */
+    private boolean isInBounds(int x, int y) {
+        return x >= 0 && x < mapHeight && y >= 0 && y < mapWidth;
+    }
+
+    /**
+     * This method checks, whether or not the given field is one of the first fields of the given array
+     *
+     * @param fields         The array
+     * @param amountOfFields The amount of fields in the array
+     * @param field          The field
+     * @return Whether or not the field is in the array
+     */
+    private static boolean contains(int[] fields, int amountOfFields, int field) {
+        for (int i = 0; i < amountOfFields; i++) {
+            if (fields[i] == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.SplittableRandom;
+
+/**
+ * This is the move policy, which steps on the fields the solver can prove to be safe
+ * Only if there is no such field, it guesses a random undiscovered field, that isn't known to have a mine on it
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class SolverMovePolicy implements MovePolicy {
+
+    /**
+     * The policy that is used to guess, when the solver doesn't know a safe field
+     */
+    private final RandomMovePolicy guessPolicy = new RandomMovePolicy();
+
+    @Override
+    public int chooseField(Game game, SplittableRandom random) {
+        Solver solver = game.getSolver();
+        int safeField = solver.findSafeField();
+        if (safeField >= 0) {
+            return safeField;
+        }
+        // the known mines are avoided, as long as a few guesses find another field
+        int field = guessPolicy.chooseField(game, random);
+        for (int i = 0; i < 8 && solver.isKnownMine(field); i++) {
+            field = guessPolicy.chooseField(game, random);
+        }
+        return field;
+    }
+}
@@ -0,0 +1,229 @@
+import java.util.Arrays;
+
+/**
+ * This is the class for a batch of changes of a game, which the engine thread hands over to the event dispatch thread
+ * The batch holds the shown content of every changed field as it was when the change happened, so the window never has to read the game,
+ * while the engine thread might be changing it
+ * The changes of several inputs are merged into the same batch, as long as the event dispatch thread didn't take it yet
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+public class ViewUpdate {
+
+    /**
+     * The bit of the view of a field, that is set if a flag is placed on the field
+     */
+    private static final int FLAG_PLACED = 0x80;
+    /**
+     * The bits of the view of a field, that hold the ordinal of its shown content
+     */
+    private static final int CONTENT_MASK = 0x7F;
+    /**
+     * Every field-content, where the index is the ordinal
+     */
+    private static final FieldContent[] FIELD_CONTENTS = FieldContent.values();
+
+    // The indices of the changed fields, in the order they changed in
+    private int[] fields = new int[64];
+    // The view of every changed field
+    private byte[] views = new byte[64];
+    // The amount of changed fields
+    private int amountOfFields;
+    // The view of every field, if the whole map changed, or null if only single fields changed
+    private byte[] wholeMap;
+    // The game-state after the last input of the batch
+    private GameState gameState = GameState.DEFAULT;
+    // The amount of flags remaining after the last input of the batch
+    private int flagsRemaining;
+    // Whether or not the mines were placed after the last input of the batch
+    private boolean minesPlaced;
+    // The index of the field with the mine the player stepped on, or -1 if the player didn't step on a mine
+    private int explodedField = -1;
+
+    // collecting methods, which are called by the engine thread
+
+    /**
+     * This method adds the given fields of the given game to the batch
+     *
+     * @param game           The game
+     * @param changedFields  The indices of the changed fields
+     * @param amountOfFields The amount of changed fields
+     */
+    public void addFields(Game game, int[] changedFields, int amountOfFields) {
+        if (wholeMap != null) {
+            // the view of the whole map is changed directly, instead of remembering the fields
+            for (int i = 0; i < amountOfFields; i++) {
+                wholeMap[changedFields[i]] = toView(game, changedFields[i]);
+            }
+            return;
+        }
+        if (this.amountOfFields + amountOfFields > fields.length) {
+            int length = Math.max(fields.length * 2, this.amountOfFields + amountOfFields);
+            fields = Arrays.copyOf(fields, length);
+            views = Arrays.copyOf(views, length);
+        }
+        for (int i = 0; i < amountOfFields; i++) {
+            fields[this.amountOfFields] = changedFields[i];
+            views[this.amountOfFields++] = toView(game, changedFields[i]);
+        }
+    }
+
+    /**
+     * This method replaces every change of the batch with the view of the whole map of the given game
+     *
+     * @param game The game
+     */
+    public void setWholeMap(Game game) {
+        wholeMap = snapshot(game);
+        amountOfFields = 0;
+    }
+
+    /**
+     * This method takes over the game-state, the flags and the exploded field of the given game, which is done after every input
+     *
+     * @param game The game
+     */
+    public void setState(Game game) {
+        gameState = game.getGameState();
+        flagsRemaining = game.getFlagsRemaining();
+        minesPlaced = game.areMinesPlaced();
+        explodedField = game.getExplodedField();
+    }
+
+    // view methods
+
+    /**
+     * This method gives back the view of every field of the given game
+     *
+     * @param game The game
+     * @return The view of every field, where the index is x * map-width + y
+     */
+    public static byte[] snapshot(Game game) {
+        byte[] map = new byte[game.getMapHeight() * game.getMapWidth()];
+        for (int index = 0; index < map.length; index++) {
+            map[index] = toView(game, index);
+        }
+        return map;
+    }
+
+    /**
+     * This method gives back the view of the field with the given index, which is its shown content and whether or not a flag is placed on it
+     *
+     * @param game  The game
+     * @param index The index of the field
+     * @return The view of the field
+     */
+    private static byte toView(Game game, int index) {
+        int x = index / game.getMapWidth();
+        int y = index % game.getMapWidth();
+        int view = game.getFieldOfShownMap(x, y).ordinal();
+        if (game.isFlagPlaced(x, y)) {
+            view |= FLAG_PLACED;
+        }
+        return (byte) view;
+    }
+
+    /**
+     * This method gives back the shown content of a field from its view
+     *
+     * @param view The view of the field
+     * @return The shown content
+     */
+    public static FieldContent toFieldContent(byte view) {
+        return FIELD_CONTENTS[view & CONTENT_MASK];
+    }
+
+    /**
+     * This method checks, whether or not a flag is placed on a field, from its view
+     *
+     * @param view The view of the field
+     * @return Whether or not a flag is placed on the field
+     */
+    public static boolean isFlagPlaced(byte view) {
+        return (view & FLAG_PLACED) != 0;
+    }
+
+    // getter methods
+
+    /**
+     * This method returns the indices of the changed fields
+     *
+     * @return The indices of the changed fields
+     */
+    public int[] getFields() {
+        return fields;
+    }
+
+    /**
+     * This method returns the view of every changed field, in the same order as the indices
+     *
+     * @return The views of the changed fields
+     */
+    public byte[] getViews() {
+        return views;
+    }
+
+    /**
+     * This method returns the amount of changed fields
+     *
+     * @return The amount of changed fields
+     */
+    public int getAmountOfFields() {
+        return amountOfFields;
+    }
+
+    /**
+     * This method returns the view of every field, if the whole map changed
+     *
+     * @return The view of every field, or null if only single fields changed
+     */
+    public byte[] getWholeMap() {
+        return wholeMap;
+    }
+
+    /**
+     * This method checks, whether or not any field changed in the batch
+     *
+     * @return Whether or not there are changed fields
+     */
+    public boolean hasChangedFields() {
+        return wholeMap != null || amountOfFields > 0;
+    }
+
+    /**
+     * This method returns the game-state after the last input of the batch
+     *
+     * @return The game-state
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * This method returns the amount of flags remaining after the last input of the batch
+     *
+     * @return The amount of flags remaining
+     */
+    public int getFlagsRemaining() {
+        return flagsRemaining;
+    }
+
+    /**
+     * This method returns whether or not the mines were placed after the last input of the batch
+     *
+     * @return Whether or not the mines were placed
+     */
+    public boolean areMinesPlaced() {
+        return minesPlaced;
+    }
+
+    /**
+     * This method returns the field with the mine the player stepped on
+     *
+     * @return The index of the field, or -1 if the player didn't step on a mine
+     */
+    public int getExplodedField() {
+        return explodedField;
+    }
+}
@@ -0,0 +1,20 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is the class for the flight recorder event, that is emitted when the game checks whether every safe field has been discovered
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+@Name("minesweeper.WinCheck")
+@Label("Win Check")
+@Category("Minesweeper")
+@Description("The game checks whether every safe field has been discovered")
+public class WinCheckEvent extends jdk.jfr.Event {
+
+    @Label("Won")
+    boolean won;
+}
@@ -1,10 +1,19 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is the class that handles the game window
+ * Every input is handed to the engine thread of the game, the window only draws the batches of changes the engine thread sends back,
+ * so a long input like placing the mines of a huge map or revealing a big area doesn't freeze the window
  *
  * @author Jonathan Matscheko
  * @version 1.0
@@ -12,17 +21,17 @@ import java.awt.event.MouseListener;
 public class Window extends JFrame {
 
     /**
-     * The height of the map
+     * The game that is played in this window, which is only read and changed by the engine thread
      */
-    private static int mapHeight;
+    private final Game game;
     /**
-     * The width of the map
+     * The engine thread, which handles every input in the order they came in
      */
-    private static int mapWidth;
+    private final GameExecutor gameExecutor;
     /**
      * The current game-state
      */
-    private static GameState gameState = GameState.DEFAULT;
+    private GameState gameState = GameState.DEFAULT;
     /**
      * The dimensions of the field-buttons
      */
@@ -30,51 +39,76 @@ public class Window extends JFrame {
     /**
      * The gridBagConstraints
      */
-    private static GridBagConstraints gbc;
+    private GridBagConstraints gbc;
     // components
     /**
      * The panel that contains the menu buttons
      */
-    private static JPanel menuPanel;
+    private JPanel menuPanel;
     /**
-     * The panel that contains the map buttons
+     * The scroll pane that contains the map
      */
-    private static JPanel mapPanel;
+    private JScrollPane mapPanel;
     // sub components
     /**
      * The hint button
      */
-    private static JButton hintButton;
+    private JButton hintButton;
+    /**
+     * The button that shows or hides the heatmap
+     */
+    private JToggleButton heatmapButton;
     /**
      * The reset button
      */
-    private static JButton resetButton;
+    private JButton resetButton;
     /**
      * The flag label
      */
-    private static JLabel flagLabel;
+    private JLabel flagLabel;
     /**
-     * The two-dimensional array of all the field-buttons
+     * The progress bar, which is shown while the engine thread is busy with a long input
      */
-    private static SquareJButton[][] mineMap;
+    private JProgressBar progressBar;
+    /**
+     * The component that draws the map
+     */
+    private BoardComponent boardComponent;
     // miscellaneous value
     /**
      * Whether or not the next / current click is the first one this round
      */
-    private static boolean firstClick = true;
+    private boolean firstClick = true;
+    /**
+     * The amount of flags remaining, as of the last batch of the engine thread
+     */
+    private int flagsRemaining;
+    /**
+     * The engine that calculates the chances of the heatmap, which is created the first time the heatmap is shown
+     */
+    private ProbabilityEngine probabilityEngine;
+    /**
+     * Whether or not the heatmap is calculated again after the current input
+     */
+    private boolean heatmapUpdateQueued;
+    /**
+     * The replay that is stepped through in this window, or null if the game is played
+     */
+    private JournalReplay replay;
 
     /**
      * This is the main window method, which creates the game-window
      *
-     * @param title     The title of the window
-     * @param mapHeight The height of the map
-     * @param mapWidth  The width of the map
+     * @param title The title of the window
+     * @param game  The game that is played in the window
      */
-    public Window(String title, int mapHeight, int mapWidth) {
+    public Window(String title, Game game) {
         super(title);
-        Window.mapHeight = mapHeight;
-        Window.mapWidth = mapWidth;
-        mineMap = new SquareJButton[mapHeight][mapWidth];
+        this.game = game;
+        // a resumed game can already be in the middle of a round
+        this.gameState = game.getGameState();
+        this.firstClick = !game.areMinesPlaced();
+        this.flagsRemaining = game.getFlagsRemaining();
 
         // Set Layout manager
         GridBagLayout layout = new GridBagLayout();
@@ -86,7 +120,6 @@ public class Window extends JFrame {
         menuPanel = new JPanel();
         initializeMenuPanel();
         // setup of the map panel
-        mapPanel = new JPanel();
         initializeMapPanel();
 
         // placement of the panels
@@ -96,11 +129,23 @@ public class Window extends JFrame {
         gbc.weightx = 1;
         add(menuPanel, gbc);
         gbc.insets = new Insets(5, 0, 0, 0);
-        // placement of the map panel
-        gbc.gridwidth = mapWidth;
+        // placement of the map panel, which takes up the rest of the window and scrolls if the map doesn't fit
         gbc.gridx = 0;
         gbc.gridy = 1;
+        gbc.weighty = 1;
+        gbc.fill = GridBagConstraints.BOTH;
         add(mapPanel, gbc);
+        gbc.fill = GridBagConstraints.NONE;
+
+        // the player can undo moves, which the games without a window don't need
+        game.setUndoEnabled(true);
+        // only the fields that changed are updated after an input, instead of the whole map
+        // from here on the game is only touched by the engine thread
+        gameExecutor = new GameExecutor(game, this::applyUpdate);
+        initializeKeyBindings();
+        // the progress bar is only shown, if an input takes long enough for the player to notice
+        new Timer(Constants.PROGRESS_BAR_DELAY, e -> progressBar.setVisible(
+                gameExecutor.isBusyFor(TimeUnit.MILLISECONDS.toNanos(Constants.PROGRESS_BAR_DELAY)))).start();
     }
 
     /**
@@ -149,24 +194,26 @@ public class Window extends JFrame {
         flagLabel = new JLabel();
         initializeFlagLabel();
         placeComponentOnCoordinatesWithGBC(flagLabel, 2, 0, menuPanel);
+        // placement of the heatmap button
+        heatmapButton = new JToggleButton();
+        initializeHeatmapButton();
+        placeComponentOnCoordinatesWithGBC(heatmapButton, 3, 0, menuPanel);
+        // placement of the progress bar
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+        placeComponentOnCoordinatesWithGBC(progressBar, 4, 0, menuPanel);
     }
 
     /**
      * This method initializes the map panel
      */
     private void initializeMapPanel() {
-        // creates and assigns a layout to the map-panel
-        GridLayout panelLayout = new GridLayout(mapHeight, mapWidth);
-        mapPanel.setLayout(panelLayout);
-        // fills the mine-map with buttons, which are initialized before being added to the map-panel
-        for (int x = 0; x < mapHeight; x++) {
-            for (int y = 0; y < mapWidth; y++) {
-                SquareJButton button = new SquareJButton();
-                mineMap[x][y] = button;
-                initializeFieldButton(x, y);
-                placeComponentOnCoordinatesWithGBC(button, x, y, mapPanel);
-            }
-        }
+        // the whole map is drawn by a single component, which gets a single mouse-listener for every field
+        boardComponent = new BoardComponent(game, Constants.FIELD_SIZE);
+        boardComponent.addFieldMouseListener(setupFieldMouseListener());
+        mapPanel = new JScrollPane(boardComponent);
+        mapPanel.setBorder(BorderFactory.createEmptyBorder());
     }
 
     /**
@@ -186,17 +233,19 @@ public class Window extends JFrame {
 
             @Override
             public void mousePressed(MouseEvent e) {
-                if (gameState != GameState.LOST && gameState != GameState.WON && !firstClick) {
-                    Main.showOrHideHint(true);
-                    updateMap();
+                if (replay == null && gameState != GameState.LOST && gameState != GameState.WON && !firstClick) {
+                    gameExecutor.submit(() -> {
+                        if (game.getGameState() == GameState.DEFAULT) {
+                            game.showOrHideHint(true);
+                        }
+                    });
                 }
             }
 
             @Override
             public void mouseReleased(MouseEvent e) {
-                if (gameState != GameState.LOST && gameState != GameState.WON && !firstClick) {
-                    Main.showOrHideHint(false);
-                    updateMap();
+                if (replay == null && gameState != GameState.LOST && gameState != GameState.WON && !firstClick) {
+                    gameExecutor.submit(() -> game.showOrHideHint(false));
                 }
             }
 
@@ -210,6 +259,66 @@ public class Window extends JFrame {
         });
     }
 
+    /**
+     * This method initializes the key bindings of the window
+     */
+    private void initializeKeyBindings() {
+        // Ctrl+S saves the game, so it can be resumed later
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_S, InputEvent.CTRL_DOWN_MASK), "save");
+        getRootPane().getActionMap().put("save", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                saveGame();
+            }
+        });
+        // Ctrl+Z undoes the last move and Ctrl+Y redoes it, which is done by the engine thread like every other move
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+        getRootPane().getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (replay == null) {
+                    gameExecutor.submit(game::undo);
+                }
+            }
+        });
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+        getRootPane().getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (replay == null) {
+                    gameExecutor.submit(game::redo);
+                }
+            }
+        });
+        // in a replay, the right arrow key replays the next move and the end key replays every remaining move
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_RIGHT, 0), "replayStep");
+        getRootPane().getActionMap().put("replayStep", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                stepReplay(false);
+            }
+        });
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_END, 0), "replayToEnd");
+        getRootPane().getActionMap().put("replayToEnd", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                stepReplay(true);
+            }
+        });
+    }
+
+    /**
+     * This method initializes the heatmap button
+     */
+    private void initializeHeatmapButton() {
+        // assigns the correct values and an action-listener to the heatmap-button
+        heatmapButton.setSize(FIELD_BUTTON_DIMENSION);
+        heatmapButton.setBackground(Constants.COLOR_HEATMAP);
+        heatmapButton.setText(Constants.BUTTON_STRING_HEATMAP);
+        heatmapButton.setFocusPainted(false);
+        heatmapButton.addActionListener(e -> updateHeatmap());
+    }
+
     /**
      * This method initializes the reset button
      */
@@ -219,7 +328,11 @@ public class Window extends JFrame {
         resetButton.setBackground(Constants.COLOR_EMOTE_DEFAULT);
         resetButton.setText(Constants.BUTTON_STRING_RESET_DEFAULT);
         resetButton.setFocusPainted(false);
-        resetButton.addActionListener(e -> pressResetButton());
+        resetButton.addActionListener(e -> {
+            if (replay == null) {
+                pressResetButton();
+            }
+        });
     }
 
     /**
@@ -232,61 +345,39 @@ public class Window extends JFrame {
     }
 
     /**
-     * This method initializes a field button
-     */
-    private void initializeFieldButton(int x, int y) {
-        // creates a button, places it on the map and assigns the correct values and a mouse-listener to it
-        SquareJButton button = mineMap[x][y];
-        button.setSize(FIELD_BUTTON_DIMENSION);
-        button.setText(Constants.DISPLAY_UNDISCOVERED);
-        button.setBackground(Constants.COLOR_FIELD_UNDISCOVERED);
-        button.setFocusPainted(false);
-        // the mouse-listener is added in a separate method to keep this one smaller
-        button.addMouseListener(setupFieldMouseListener(x, y));
-    }
-
-    /**
-     * This method gives back the mouse-listener for a field button
+     * This method gives back the mouse-listener for the fields of the map
      *
-     * @param x The vertical position of the field button on the field
-     * @param y The horizontal position of the field button on the field
-     * @return The mouse-listener of the field button
+     * @return The mouse-listener of the map
      */
-    private MouseListener setupFieldMouseListener(int x, int y) {
-        return new MouseListener() {
+    private BoardComponent.FieldMouseListener setupFieldMouseListener() {
+        return new BoardComponent.FieldMouseListener() {
             @Override
-            public void mouseClicked(MouseEvent e) {
-
-            }
-
-            @Override
-            public void mousePressed(MouseEvent e) {
+            public void fieldPressed(MouseEvent e, int x, int y) {
+                // the moves of a replay come from the journal only
+                if (replay != null) {
+                    return;
+                }
                 if (SwingUtilities.isLeftMouseButton(e)) {
                     pressFieldButtonLeft(x, y);
                 }
                 if (SwingUtilities.isRightMouseButton(e)) {
                     pressFieldButtonRight(x, y);
                 }
-                updateEmoticonButton();
-                updateMap();
+                updateMenu();
             }
 
             @Override
-            public void mouseReleased(MouseEvent e) {
+            public void fieldReleased(MouseEvent e, int x, int y) {
+                if (replay != null) {
+                    return;
+                }
                 if (SwingUtilities.isLeftMouseButton(e)) {
                     releaseFieldButtonLeft(x, y);
                 }
-                updateMap();
-            }
-
-            @Override
-            public void mouseEntered(MouseEvent e) {
-
-            }
-
-            @Override
-            public void mouseExited(MouseEvent e) {
-
+                if (SwingUtilities.isMiddleMouseButton(e)) {
+                    releaseFieldButtonMiddle(x, y);
+                }
+                updateMenu();
             }
         };
     }
@@ -300,14 +391,18 @@ public class Window extends JFrame {
      * @param y The horizontal position of the field button on the field
      */
     private void pressFieldButtonLeft(int x, int y) {
-        SquareJButton button = mineMap[x][y];
+        String fieldText = BoardComponent.toDisplayText(boardComponent.getShownContent(x, y));
         if (firstClick) {
             // the field is calculated after the first click to ensure that the first click isn't on a mine
-            Main.placeMinesAfterClick(x, y);
+            gameExecutor.submit(() -> {
+                if (!game.areMinesPlaced()) {
+                    game.placeMinesAfterClick(x, y);
+                }
+            });
             firstClick = false;
         } else {
             // to only change the face into a scared one, when it is needed
-            if (gameState == GameState.DEFAULT && !button.getText().matches(Constants.REGEX_NOT_SCARED)) {
+            if (gameState == GameState.DEFAULT && !fieldText.matches(Constants.REGEX_NOT_SCARED)) {
                 gameState = GameState.CLICKED;
                 updateEmoticonButton();
             }
@@ -315,7 +410,7 @@ public class Window extends JFrame {
     }
 
     private void pressFieldButtonRight(int x, int y) {
-        Main.placeRemoveFlag(x, y);
+        gameExecutor.submit(() -> game.placeRemoveFlag(x, y));
     }
 
     /**
@@ -326,26 +421,118 @@ public class Window extends JFrame {
      */
     private void releaseFieldButtonLeft(int x, int y) {
         if (gameState != GameState.LOST && gameState != GameState.WON) {
-            // the default case
-            gameState = Main.walkOnField(x, y);
-            // to indicate the mine that exploded
-            if (gameState.equals(GameState.LOST)) {
-                mineMap[x][y].setForeground(Constants.COLOR_TEXT_EXPLOSION);
-            }
+            // the default case, the game is checked again by the engine thread, since an input before this one might have ended the round
+            gameExecutor.submit(() -> {
+                if (game.getGameState() == GameState.DEFAULT) {
+                    game.walkOnField(x, y);
+                }
+            });
         } else {
             // if a new game has to be started
             pressResetButton();
         }
     }
 
+    /**
+     * This method handles the middle mouse click of the field button on the given coordinates, which chords on the field
+     *
+     * @param x The vertical position of the field button on the field
+     * @param y The horizontal position of the field button on the field
+     */
+    private void releaseFieldButtonMiddle(int x, int y) {
+        if (gameState != GameState.LOST && gameState != GameState.WON && !firstClick) {
+            gameExecutor.submit(() -> game.chordOnField(x, y));
+        }
+    }
+
     /**
      * This method issues the start of a new game
+     * The inputs, that are still queued for the old round, are cancelled, so the new round starts right after the current input
      */
     private void pressResetButton() {
-        Main.startNewGame();
+        gameExecutor.cancelQueuedInputs();
         gameState = GameState.DEFAULT;
         firstClick = true;
-        updateMap();
+        // a calculation of the heatmap, that was queued for the old round, might have been cancelled
+        heatmapUpdateQueued = false;
+        // the new map is shown by the batch of the engine thread
+        gameExecutor.submit(game::startNewGame);
+        updateMenu();
+    }
+
+    /**
+     * This method saves the game into the save file
+     */
+    private void saveGame() {
+        gameExecutor.submit(() -> {
+            try {
+                GameFile.save(game, Paths.get(Constants.FILE_LOCATION_SAVE), Constants.SAVE_COMPRESSED);
+            } catch (IOException e) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "The game couldn't be saved: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * This method turns the window into a viewer of the given replay, the moves are then replayed with the keyboard instead of being played
+     *
+     * @param replay The replay, which has to replay the game of this window
+     */
+    public void setReplay(JournalReplay replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * This method waits until the engine thread has handled every queued input, for example before the journal is written at the end
+     */
+    public void awaitQueuedInputs() {
+        gameExecutor.awaitQueuedInputs();
+    }
+
+    /**
+     * This method replays the next move or every remaining move of the replay
+     *
+     * @param toEnd Whether or not every remaining move is replayed
+     */
+    private void stepReplay(boolean toEnd) {
+        JournalReplay currentReplay = replay;
+        if (currentReplay == null) {
+            return;
+        }
+        gameExecutor.submit(() -> {
+            try {
+                if (toEnd) {
+                    currentReplay.fastForward();
+                } else {
+                    currentReplay.step();
+                }
+            } catch (IOException e) {
+                SwingUtilities.invokeLater(() -> {
+                    JOptionPane.showMessageDialog(this, "The replay couldn't go on: " + e.getMessage());
+                    replay = null;
+                });
+            }
+        });
+    }
+
+    /**
+     * This method takes over a batch of changes of the engine thread, which is called on the event dispatch thread
+     *
+     * @param update The batch
+     */
+    private void applyUpdate(ViewUpdate update) {
+        boardComponent.applyUpdate(update);
+        // the scared face stays, while the mouse button is still pressed
+        if (gameState != GameState.CLICKED || update.getGameState() != GameState.DEFAULT) {
+            gameState = update.getGameState();
+        }
+        firstClick = !update.areMinesPlaced();
+        flagsRemaining = update.getFlagsRemaining();
+        updateMenu();
+        // the heatmap only changes with the fields, the batch of its own calculation doesn't change any
+        if (update.hasChangedFields()) {
+            queueHeatmapUpdate();
+        }
     }
 
     /**
@@ -375,8 +562,8 @@ public class Window extends JFrame {
     /**
      * This method updates the flag label
      */
-    private static void updateFlagLabel() {
-        int flagsRemainingInt = Main.getFlagsRemaining();
+    private void updateFlagLabel() {
+        int flagsRemainingInt = flagsRemaining;
         String flagsRemainingString = String.valueOf(flagsRemainingInt);
         String flagOrFlags = Constants.BUTTON_STRING_FLAG_PLURAL;
         // to change the text to reflect, that there is a single flag remaining
@@ -394,14 +581,9 @@ public class Window extends JFrame {
     }
 
     /**
-     * This method updates the contents of every field of the map
+     * This method updates the emoticon button and the flag label
      */
-    private void updateMap() {
-        for (int i = 0; i < mapHeight; i++) {
-            for (int j = 0; j < mapWidth; j++) {
-                updateField(i, j);
-            }
-        }
+    private void updateMenu() {
         updateEmoticonButton();
         // to let the player see in the finished screen how many flags they placed
         if (!gameState.equals(GameState.LOST) && !gameState.equals(GameState.WON)) {
@@ -409,81 +591,37 @@ public class Window extends JFrame {
         }
     }
 
-    private static void updateField(int i, int j) {
-        SquareJButton button = mineMap[i][j];
-        Color backGroundColor;
-        Color foreGroundColor = Constants.COLOR_TEXT_DEFAULT;
-        String fieldText;
-        // sets the appearance of the field, depending on the content of the field
-        switch (Main.getFieldOfShownMap(i, j)) {
-            case MINE -> {
-                backGroundColor = Constants.COLOR_FIELD_MINE;
-                fieldText = Constants.DISPLAY_MINE;
-            }
-            case FREE -> {
-                backGroundColor = Constants.COLOR_FIELD_FREE;
-                fieldText = Constants.DISPLAY_FREE;
-            }
-            case ONE -> {
-                backGroundColor = Constants.COLOR_FIELD_ONE;
-                fieldText = Constants.DISPLAY_ONE;
-            }
-            case TWO -> {
-                backGroundColor = Constants.COLOR_FIELD_TWO;
-                fieldText = Constants.DISPLAY_TWO;
-            }
-            case THREE -> {
-                backGroundColor = Constants.COLOR_FIELD_THREE;
-                fieldText = Constants.DISPLAY_THREE;
-            }
-            case FOUR -> {
-                backGroundColor = Constants.COLOR_FIELD_FOUR;
-                fieldText = Constants.DISPLAY_FOUR;
-            }
-            case FIVE -> {
-                backGroundColor = Constants.COLOR_FIELD_FIVE;
-                fieldText = Constants.DISPLAY_FIVE;
-            }
-            case SIX -> {
-                backGroundColor = Constants.COLOR_FIELD_SIX;
-                fieldText = Constants.DISPLAY_SIX;
-            }
-            case SEVEN -> {
-                backGroundColor = Constants.COLOR_FIELD_SEVEN;
-                fieldText = Constants.DISPLAY_SEVEN;
-            }
-            case EIGHT -> {
-                backGroundColor = Constants.COLOR_FIELD_EIGHT;
-                fieldText = Constants.DISPLAY_EIGHT;
-            }
-            case FLAG -> {
-                backGroundColor = Constants.COLOR_FIELD_FLAG;
-                fieldText = Constants.DISPLAY_FLAG;
-            }
-            default -> {
-                backGroundColor = Constants.COLOR_FIELD_UNDISCOVERED;
-                fieldText = Constants.DISPLAY_UNDISCOVERED;
-            }
-        }
-        // if the game is over, every flag that was placed is indicated by
-        // either a white text color of the numbers and the mines or a black text color in case of free fields
-        if (gameState.equals(GameState.LOST) || gameState.equals(GameState.WON)) {
-            if (button.getText().equals(Constants.DISPLAY_FLAG)) {
-                foreGroundColor = Constants.COLOR_TEXT_CONTRAST;
-                if (fieldText.equals(Constants.DISPLAY_FREE)) {
-                    foreGroundColor = Constants.COLOR_TEXT_DEFAULT;
-                    fieldText = Constants.DISPLAY_FLAG;
+    /**
+     * This method lets the engine thread calculate the heatmap again, once it has handled the inputs before
+     * Batches that come in before the heatmap is calculated are covered by the same calculation
+     */
+    private void queueHeatmapUpdate() {
+        if (heatmapButton.isSelected() && !heatmapUpdateQueued) {
+            heatmapUpdateQueued = true;
+            gameExecutor.submit(() -> {
+                if (probabilityEngine == null) {
+                    probabilityEngine = new ProbabilityEngine(game, ForkJoinPool.commonPool(), TimeUnit.MILLISECONDS.toNanos(Constants.HEATMAP_TIME_BUDGET));
                 }
-            }
-            // to not change the color of the field with the exploding bomb
-            if (button.getForeground().equals(Constants.COLOR_TEXT_EXPLOSION)) {
-                foreGroundColor = Constants.COLOR_TEXT_EXPLOSION;
-            }
+                double[] mineProbabilities = probabilityEngine.computeProbabilities();
+                SwingUtilities.invokeLater(() -> {
+                    heatmapUpdateQueued = false;
+                    if (heatmapButton.isSelected()) {
+                        boardComponent.setMineProbabilities(mineProbabilities);
+                    }
+                });
+            });
+        }
+    }
+
+    /**
+     * This method shows the chance of every undiscovered field to have a mine on it, if the heatmap is turned on, or removes the heatmap
+     */
+    private void updateHeatmap() {
+        if (!heatmapButton.isSelected()) {
+            boardComponent.setMineProbabilities(null);
+            return;
         }
-        // updates the button with the final values
-        button.setBackground(backGroundColor);
-        button.setForeground(foreGroundColor);
-        button.setText(fieldText);
+        queueHeatmapUpdate();
     }
 
     // Miscellaneous Methods
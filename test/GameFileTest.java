@@ -0,0 +1,110 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This is the class for the tests of saving a game into a file and resuming it from there
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+class GameFileTest {
+
+    // The directory the save files are written into
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumesARunningRound() throws IOException {
+        Game game = TestGames.startedGame(1);
+        TestGames.stepOnSafeFields(game, 5);
+        TestGames.flagMines(game, 3);
+        for (boolean compress : new boolean[]{false, true}) {
+            Path path = directory.resolve("running-" + compress + ".msw");
+            GameFile.save(game, path, compress);
+            Game resumed = GameFile.load(path);
+            TestGames.assertSameRound(game, resumed);
+            assertEquals(GameState.DEFAULT, resumed.getGameState());
+            assertEquals(37, resumed.getFlagsRemaining());
+        }
+    }
+
+    @Test
+    void resumesALostRoundWithTheExplodedMine() throws IOException {
+        Game game = TestGames.startedGame(2);
+        int mine = TestGames.stepOnMine(game);
+        Path path = directory.resolve("lost.msw");
+        GameFile.save(game, path, true);
+        Game resumed = GameFile.load(path);
+        TestGames.assertSameRound(game, resumed);
+        assertEquals(GameState.LOST, resumed.getGameState());
+        assertEquals(mine, resumed.getExplodedField());
+    }
+
+    @Test
+    void resumesARoundBeforeTheFirstClick() throws IOException {
+        Game game = new Game(9, 9, 10, 10, 3);
+        Path path = directory.resolve("new.msw");
+        GameFile.save(game, path, false);
+        Game resumed = GameFile.load(path);
+        TestGames.assertSameRound(game, resumed);
+        // the first click places the same mines, since they only depend on the seed and the click
+        game.walkOnField(4, 4);
+        resumed.walkOnField(4, 4);
+        TestGames.assertSameRound(game, resumed);
+    }
+
+    @Test
+    void rejectsAMapFullOfMines() throws IOException {
+        Path path = saveAndPatch(new Game(10, 10, 10, 10, 4), 16, 100);
+        assertThrows(IOException.class, () -> GameFile.load(path));
+    }
+
+    @Test
+    void rejectsFlagsThatDontMatchTheHeader() throws IOException {
+        Game game = new Game(10, 10, 10, 10, 5);
+        game.walkOnField(5, 5);
+        TestGames.flagMines(game, 2);
+        // the header tells, that only one flag was placed
+        Path path = saveAndPatch(game, 24, 9);
+        assertThrows(IOException.class, () -> GameFile.load(path));
+    }
+
+    @Test
+    void rejectsBitsAfterTheLastField() throws IOException {
+        Game game = new Game(10, 10, 10, 10, 6);
+        Path path = directory.resolve("padding.msw");
+        GameFile.save(game, path, false);
+        byte[] bytes = Files.readAllBytes(path);
+        // the highest bit of the second word of the mine plane belongs to no field, since the map only has 100 fields
+        bytes[56 + 15] |= (byte) 0x80;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> GameFile.load(path));
+    }
+
+    /**
+     * This method saves the given game without compression and replaces an int of the header
+     *
+     * @param game   The game
+     * @param offset The offset of the int in the header
+     * @param value  The new value of the int
+     * @return The file
+     * @throws IOException If the file can't be written
+     */
+    private Path saveAndPatch(Game game, int offset, int value) throws IOException {
+        Path path = directory.resolve("patched.msw");
+        GameFile.save(game, path, false);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        Files.write(path, bytes);
+        return path;
+    }
+}
@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This is the class for the tests of the high-score store, its log and the compaction of the log into the snapshot
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+class HighScoreStoreTest {
+
+    // The directory the log and the snapshot are written into
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsEveryResultAcrossCompactions() throws IOException {
+        Path logPath = directory.resolve("scores.log");
+        Path snapshotPath = directory.resolve("scores.snapshot");
+        HighScoreStore store = new HighScoreStore(logPath, snapshotPath, 4);
+        for (int i = 0; i < 50; i++) {
+            // the durations aren't in order, so the leaderboard has to sort them
+            store.record(result(i, (i * 37) % 50, i % 3 != 0));
+        }
+        List<GameResult> leaderboard = store.getLeaderboard(16, 16, 40, 100);
+        HighScoreStore.Statistics statistics = store.getStatistics(16, 16, 40);
+        store.close();
+        assertTrue(Files.exists(snapshotPath));
+        // some results were compacted into the snapshot, the rest are still in the log
+        assertTrue(Files.size(logPath) < Files.size(snapshotPath));
+
+        HighScoreStore reopened = new HighScoreStore(logPath, snapshotPath, 4);
+        assertEquals(50, reopened.getSize());
+        assertSameResults(leaderboard, reopened.getLeaderboard(16, 16, 40, 100));
+        assertEquals(statistics.getGames(), reopened.getStatistics(16, 16, 40).getGames());
+        assertEquals(statistics.getWins(), reopened.getStatistics(16, 16, 40).getWins());
+        assertEquals(statistics.getBestDuration(), reopened.getStatistics(16, 16, 40).getBestDuration());
+        reopened.close();
+    }
+
+    @Test
+    void sortsTheLeaderboardByDuration() throws IOException {
+        HighScoreStore store = new HighScoreStore(directory.resolve("scores.log"), directory.resolve("scores.snapshot"), 1000);
+        for (int i = 0; i < 20; i++) {
+            store.record(result(i, 20 - i, true));
+        }
+        List<GameResult> leaderboard = store.getLeaderboard(16, 16, 40, 5);
+        assertEquals(5, leaderboard.size());
+        for (int i = 0; i < leaderboard.size(); i++) {
+            assertEquals(i + 1, leaderboard.get(i).getDurationMillis());
+        }
+        store.close();
+    }
+
+    @Test
+    void startsOverALogWithATruncatedHeader() throws IOException {
+        Path logPath = directory.resolve("scores.log");
+        Path snapshotPath = directory.resolve("scores.snapshot");
+        HighScoreStore store = new HighScoreStore(logPath, snapshotPath, 4);
+        for (int i = 0; i < 10; i++) {
+            store.record(result(i, i, true));
+        }
+        int size = store.getSize();
+        store.close();
+        // a store with an empty log only holds the results of the snapshot
+        HighScoreStore snapshotOnly = new HighScoreStore(directory.resolve("other.log"), snapshotPath, 4);
+        int inSnapshot = snapshotOnly.getSize();
+        snapshotOnly.close();
+        // the program ended while the log was started over, after the snapshot was written
+        Files.write(logPath, new byte[5]);
+
+        HighScoreStore reopened = new HighScoreStore(logPath, snapshotPath, 4);
+        assertEquals(inSnapshot, reopened.getSize());
+        assertTrue(reopened.getSize() <= size);
+        reopened.record(result(10, 10, true));
+        reopened.close();
+        HighScoreStore again = new HighScoreStore(logPath, snapshotPath, 4);
+        assertEquals(inSnapshot + 1, again.getSize());
+        again.close();
+    }
+
+    /**
+     * This method creates a result of the default difficulty
+     *
+     * @param finishedAt     The time the round was finished at
+     * @param durationMillis The time the round took
+     * @param won            Whether or not the round was won
+     * @return The result
+     */
+    private static GameResult result(long finishedAt, long durationMillis, boolean won) {
+        return new GameResult(finishedAt, durationMillis, 16, 16, 40, won, 100, 120, 1, finishedAt * 31);
+    }
+
+    /**
+     * This method checks, that both lists hold the same results in the same order
+     *
+     * @param expected The expected results
+     * @param actual   The actual results
+     */
+    private static void assertSameResults(List<GameResult> expected, List<GameResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getFinishedAt(), actual.get(i).getFinishedAt());
+            assertEquals(expected.get(i).getDurationMillis(), actual.get(i).getDurationMillis());
+            assertEquals(expected.get(i).getSeed(), actual.get(i).getSeed());
+        }
+    }
+}
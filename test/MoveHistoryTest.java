@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This is the class for the tests of undoing and redoing the moves of a round
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+class MoveHistoryTest {
+
+    @Test
+    void undoAndRedoRestoreTheSameBoard() {
+        Game game = new Game(16, 16, 40, 40, 11);
+        game.setUndoEnabled(true);
+        List<String> snapshots = new ArrayList<>();
+        snapshots.add(TestGames.snapshot(game));
+        game.walkOnField(8, 8);
+        snapshots.add(TestGames.snapshot(game));
+        for (int i = 0; i < 3; i++) {
+            TestGames.stepOnSafeFields(game, 1);
+            snapshots.add(TestGames.snapshot(game));
+            TestGames.flagMines(game, 1);
+            snapshots.add(TestGames.snapshot(game));
+        }
+        TestGames.stepOnMine(game);
+        snapshots.add(TestGames.snapshot(game));
+
+        for (int i = snapshots.size() - 2; i >= 0; i--) {
+            assertTrue(game.undo());
+            assertEquals(snapshots.get(i), TestGames.snapshot(game));
+        }
+        assertFalse(game.undo());
+        for (int i = 1; i < snapshots.size(); i++) {
+            assertTrue(game.redo());
+            assertEquals(snapshots.get(i), TestGames.snapshot(game));
+        }
+        assertFalse(game.redo());
+    }
+
+    @Test
+    void undoOfTheFirstClickRemovesTheMines() {
+        Game game = new Game(9, 9, 10, 10, 12);
+        game.setUndoEnabled(true);
+        game.walkOnField(4, 4);
+        String afterFirstClick = TestGames.snapshot(game);
+        assertTrue(game.undo());
+        assertFalse(game.areMinesPlaced());
+        for (int field = 0; field < game.getBoard().getSize(); field++) {
+            assertFalse(game.getBoard().isMine(field));
+        }
+        assertTrue(game.redo());
+        assertEquals(afterFirstClick, TestGames.snapshot(game));
+    }
+
+    @Test
+    void aMoveThatChangesNothingKeepsTheRedo() {
+        Game game = TestGames.startedGame(13);
+        TestGames.stepOnSafeFields(game, 1);
+        String afterStep = TestGames.snapshot(game);
+        game.undo();
+        // stepping on a field that is already revealed doesn't change anything
+        game.walkOnField(8, 8);
+        assertTrue(game.canRedo());
+        assertTrue(game.redo());
+        assertEquals(afterStep, TestGames.snapshot(game));
+    }
+
+    @Test
+    void undoIsOffUntilItIsEnabled() {
+        Game game = new Game(9, 9, 10, 10, 15);
+        game.walkOnField(4, 4);
+        assertFalse(game.canUndo());
+        assertFalse(game.undo());
+    }
+
+    @Test
+    void undoHidesTheHintFirst() {
+        Game game = TestGames.startedGame(14);
+        TestGames.stepOnSafeFields(game, 1);
+        String beforeStep = TestGames.snapshot(game);
+        TestGames.stepOnSafeFields(game, 1);
+        game.showOrHideHint(true);
+        assertTrue(game.undo());
+        assertEquals(-1, game.getHintField());
+        assertEquals(beforeStep, TestGames.snapshot(game));
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This is the class for the tests of recording the moves of a game and replaying them
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+class MoveJournalTest {
+
+    @Test
+    void replaysEveryKindOfMove() throws IOException {
+        Game game = new Game(16, 16, 40, 40, 7);
+        game.setUndoEnabled(true);
+        MoveJournal journal = new MoveJournal(game, null);
+        game.walkOnField(8, 8);
+        TestGames.stepOnSafeFields(game, 3);
+        TestGames.flagMines(game, 2);
+        chordOnFirstNumber(game);
+        game.showOrHideHint(true);
+        game.showOrHideHint(false);
+        game.undo();
+        game.undo();
+        game.redo();
+        TestGames.stepOnSafeFields(game, 2);
+
+        JournalReplay replay = new JournalReplay(ByteBuffer.wrap(journal.toByteArray()));
+        replay.fastForward();
+        assertTrue(replay.isFinished());
+        TestGames.assertSameRound(game, replay.getGame());
+    }
+
+    @Test
+    void replaysEveryRound() throws IOException {
+        Game game = new Game(9, 9, 10, 10, 8);
+        MoveJournal journal = new MoveJournal(game, null);
+        game.walkOnField(4, 4);
+        TestGames.stepOnMine(game);
+        game.startNewGame();
+        game.walkOnField(0, 0);
+        TestGames.stepOnSafeFields(game, 4);
+
+        JournalReplay replay = new JournalReplay(ByteBuffer.wrap(journal.toByteArray()));
+        replay.fastForward();
+        TestGames.assertSameRound(game, replay.getGame());
+    }
+
+    @Test
+    void rejectsAnUnknownVersion() {
+        byte[] bytes = new MoveJournal(new Game(9, 9, 10, 10, 9), null).toByteArray();
+        // the version is the single byte after the magic bytes
+        bytes[4] = (byte) (MoveJournal.VERSION + 1);
+        assertThrows(IOException.class, () -> new JournalReplay(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void rejectsMovesTheVersionCantHold() throws IOException {
+        Game game = new Game(9, 9, 10, 10, 10);
+        game.setUndoEnabled(true);
+        MoveJournal journal = new MoveJournal(game, null);
+        game.walkOnField(4, 4);
+        game.undo();
+        byte[] bytes = journal.toByteArray();
+        // the first version didn't know undo yet
+        bytes[4] = 1;
+        JournalReplay replay = new JournalReplay(ByteBuffer.wrap(bytes));
+        assertThrows(IOException.class, replay::fastForward);
+    }
+
+    /**
+     * This method chords on the first revealed number, after flagging every mine around it
+     *
+     * @param game The game
+     */
+    private static void chordOnFirstNumber(Game game) {
+        Board board = game.getBoard();
+        int mapWidth = game.getMapWidth();
+        for (int field = 0; field < board.getSize(); field++) {
+            if (board.isRevealed(field) && !board.isMine(field) && board.getNeighbourCount(field) > 0) {
+                int x = field / mapWidth;
+                int y = field % mapWidth;
+                for (int i = Math.max(0, x - 1); i <= Math.min(game.getMapHeight() - 1, x + 1); i++) {
+                    for (int j = Math.max(0, y - 1); j <= Math.min(mapWidth - 1, y + 1); j++) {
+                        if (board.isMine(board.toIndex(i, j)) && !game.isFlagPlaced(i, j)) {
+                            game.placeRemoveFlag(i, j);
+                        }
+                    }
+                }
+                game.chordOnField(x, y);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This is the class for the games the tests play and the checks they share
+ *
+ * @author Jonathan Matscheko
+ * @version 1.0
+ */
+final class TestGames {
+
+    /**
+     * This is the constructor method, which is private, since this is a utility-class
+     */
+    private TestGames() {
+        throw new IllegalStateException("Utility-class constructor.");
+    }
+
+    /**
+     * This method creates a game with a fixed seed and the history of the moves, whose mines are placed by a first click in the middle of the map
+     *
+     * @param seed The seed of the first round
+     * @return The game
+     */
+    static Game startedGame(long seed) {
+        Game game = new Game(16, 16, 40, 40, seed);
+        game.setUndoEnabled(true);
+        game.walkOnField(8, 8);
+        return game;
+    }
+
+    /**
+     * This method steps on the given amount of undiscovered fields without a mine, as long as there are any
+     *
+     * @param game  The game
+     * @param steps The amount of steps
+     */
+    static void stepOnSafeFields(Game game, int steps) {
+        Board board = game.getBoard();
+        for (int field = 0; field < board.getSize() && steps > 0 && game.getGameState() == GameState.DEFAULT; field++) {
+            if (!board.isMine(field) && !board.isRevealed(field) && !board.isFlagged(field)) {
+                game.walkOnField(field / game.getMapWidth(), field % game.getMapWidth());
+                steps--;
+            }
+        }
+    }
+
+    /**
+     * This method places flags on the given amount of undiscovered mines
+     *
+     * @param game  The game
+     * @param flags The amount of flags
+     */
+    static void flagMines(Game game, int flags) {
+        Board board = game.getBoard();
+        for (int field = 0; field < board.getSize() && flags > 0; field++) {
+            if (board.isMine(field) && !board.isFlagged(field)) {
+                game.placeRemoveFlag(field / game.getMapWidth(), field % game.getMapWidth());
+                flags--;
+            }
+        }
+    }
+
+    /**
+     * This method steps on the first mine, which loses the round
+     *
+     * @param game The game
+     * @return The index of the field of the mine
+     */
+    static int stepOnMine(Game game) {
+        Board board = game.getBoard();
+        for (int field = 0; field < board.getSize(); field++) {
+            if (board.isMine(field) && !board.isFlagged(field)) {
+                game.walkOnField(field / game.getMapWidth(), field % game.getMapWidth());
+                return field;
+            }
+        }
+        throw new IllegalStateException("The map has no mine without a flag");
+    }
+
+    /**
+     * This method takes a picture of everything the player can see of the round and of the state the round is in
+     *
+     * @param game The game
+     * @return The picture, which can be compared with equals
+     */
+    static String snapshot(Game game) {
+        StringBuilder snapshot = new StringBuilder();
+        snapshot.append(game.getGameState()).append(' ').append(game.getFlagsRemaining()).append(' ')
+                .append(game.getExplodedField()).append(' ').append(game.areMinesPlaced()).append('\n');
+        for (int x = 0; x < game.getMapHeight(); x++) {
+            for (int y = 0; y < game.getMapWidth(); y++) {
+                snapshot.append(game.getFieldOfShownMap(x, y).ordinal()).append(game.isFlagPlaced(x, y) ? 'f' : ' ');
+            }
+            snapshot.append('\n');
+        }
+        return snapshot.toString();
+    }
+
+    /**
+     * This method checks, that both games have the same round: the same mines, the same shown map and the same state
+     *
+     * @param expected The game that was played
+     * @param actual   The game that was restored
+     */
+    static void assertSameRound(Game expected, Game actual) {
+        assertEquals(expected.getMapHeight(), actual.getMapHeight());
+        assertEquals(expected.getMapWidth(), actual.getMapWidth());
+        assertEquals(expected.getAmountOfMines(), actual.getAmountOfMines());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(snapshot(expected), snapshot(actual));
+        for (int field = 0; field < expected.getBoard().getSize(); field++) {
+            assertEquals(expected.getBoard().isMine(field), actual.getBoard().isMine(field), "mine on field " + field);
+        }
+    }
+}